@@ -90,7 +90,7 @@ function setParameters<T extends CompressedDataHolder>(
         if (this.data._parameter_cache !== undefined) {
             return this.data._parameter_cache as DocWrapper[];
         }
-        this.data._parameter_cache = getAsArray(this.data[PROPERTY.PARAMETERS] as number[] | number).map(
+        this.data._parameter_cache = getParameterIds(this.data[PROPERTY.PARAMETERS]).map(
             mapParameter
         );
         return this.data._parameter_cache as DocWrapper[];
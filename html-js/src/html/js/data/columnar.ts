@@ -0,0 +1,98 @@
+/**
+ * Columnar output support.
+ *
+ * When the documentation is generated with columnar encoding, methods, fields and constructors are written as columns
+ * of base64 zigzag varints instead of one string per entity, each value stored as the difference from the one before
+ * it. Single values are columns where negative values are missing or stored as lists, and lists are found through a
+ * column of byte offsets into their values. Entities are decoded from the columns the first time they are accessed.
+ */
+function isColumnarCollection(value: unknown): value is ColumnarCollection {
+    return exists(value) && !Array.isArray(value) && typeof value === 'object' && exists((value as ColumnarCollection).columns);
+}
+
+function decodeBase64Bytes(encoded: string): Uint8Array {
+    const binary = atob(encoded);
+    const bytes = new Uint8Array(binary.length);
+    for (let i = 0; i < binary.length; i++) {
+        bytes[i] = binary.charCodeAt(i);
+    }
+    return bytes;
+}
+
+function readVarints(bytes: Uint8Array, start: number, end: number, output: { push(value: number): unknown }) {
+    let previous = 0;
+    let position = start;
+    while (position < end) {
+        let zigzag = 0;
+        let shift = 0;
+        let byte: number;
+        do {
+            byte = bytes[position++];
+            zigzag |= (byte & 0x7F) << shift;
+            shift += 7;
+        } while ((byte & 0x80) !== 0);
+        previous += (zigzag >>> 1) ^ -(zigzag & 1);
+        output.push(previous);
+    }
+}
+
+function decodeColumn(encoded: string, length: number): Int32Array {
+    const bytes = decodeBase64Bytes(encoded);
+    const values = new Int32Array(length);
+    let count = 0;
+    readVarints(bytes, 0, bytes.length, {push: (value: number) => values[count++] = value});
+    return values;
+}
+
+function createColumnarCollection(descriptor: ColumnarCollection): EntityData[] {
+    // The columns are expanded up front, while the list values stay encoded until an entity needs them.
+    const columns: [string, Int32Array][] = Object.entries(descriptor.columns)
+        .map(([key, encoded]) => [key, decodeColumn(encoded, descriptor.length)]);
+    const lists: [string, Int32Array, Uint8Array][] = Object.entries(descriptor.lists)
+        .map(([key, list]) => [key, decodeColumn(list.offsets, descriptor.length + 1), decodeBase64Bytes(list.values)]);
+    const entities: EntityData[] = new Array(descriptor.length);
+
+    function decodeRow(index: number): EntityData {
+        const row: EntityData = {};
+        for (const [key, values] of columns) {
+            // -1 marks a missing value, and -2 a value that was written with the lists.
+            if (values[index] >= 0) {
+                row[key] = values[index];
+            }
+        }
+        for (const [key, offsets, values] of lists) {
+            if (offsets[index] !== offsets[index + 1]) {
+                const list: number[] = [];
+                readVarints(values, offsets[index], offsets[index + 1], list);
+                row[key] = list;
+            }
+        }
+        return row;
+    }
+
+    return new Proxy(entities, {
+        get(target, property, receiver) {
+            const index = toArrayIndex(property, descriptor.length);
+            if (index >= 0 && !exists(target[index])) {
+                target[index] = decodeRow(index);
+            }
+            return Reflect.get(target, property, receiver);
+        },
+        has(target, property) {
+            return toArrayIndex(property, descriptor.length) >= 0 || Reflect.has(target, property);
+        }
+    });
+}
+
+function installColumnarCollections() {
+    const data = DATA as unknown as Record<string, unknown>;
+    for (const collection of Object.keys(data)) {
+        const descriptor = data[collection];
+        if (isColumnarCollection(descriptor)) {
+            data[collection] = createColumnarCollection(descriptor);
+        }
+    }
+}
+
+// DATA may still be inflating, so the columns are only decoded once it is ready.
+trackPayloadTask(whenPayloadReady().then(installColumnarCollections));
@@ -15,3 +15,17 @@ function getParameterData(id: number) {
 
     return DATA.parameters[id];
 }
+
+/**
+ * Executables reference the shared list of their parameters by its id, which is resolved to the parameter ids here.
+ * Plain arrays of parameter ids are still accepted.
+ */
+function getParameterIds(parameters: unknown): number[] {
+    if (typeof parameters === 'number') {
+        if (parameters < 0 || parameters >= DATA.parameterLists.length) {
+            throw new Error('Parameter list id not within range: ' + parameters);
+        }
+        return DATA.parameterLists[parameters];
+    }
+    return getAsArray(parameters as number[] | null | undefined);
+}
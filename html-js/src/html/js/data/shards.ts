@@ -0,0 +1,123 @@
+/**
+ * Sharded output support.
+ *
+ * When the documentation is generated with a data shard size, the largest collections of DATA are replaced by a
+ * descriptor, and their entities are written to sibling script files that each call registerDataShard with the JSON
+ * of one shard. The JSON is only parsed when an entity of that shard is first accessed.
+ */
+const DATA_SHARDS: Record<string, string[]> = {};
+
+function registerDataShard(collection: string, shard: number, json: string) {
+    (DATA_SHARDS[collection] ??= [])[shard] = json;
+}
+
+function isShardedCollection(value: unknown): value is ShardedCollection {
+    return exists(value) && !Array.isArray(value) && typeof value === 'object' && Array.isArray((value as ShardedCollection).files);
+}
+
+function createShardedCollection(collection: keyof DocumentationData, descriptor: ShardedCollection): unknown[] {
+    const entities: unknown[] = new Array(descriptor.length);
+    const loaded: boolean[] = new Array(descriptor.files.length).fill(false);
+    let remaining = descriptor.files.length;
+
+    function loadShardOf(index: number) {
+        // offsets holds the first index of every shard, followed by the total length.
+        let low = 0;
+        let high = descriptor.files.length - 1;
+        while (low < high) {
+            const middle = (low + high + 1) >> 1;
+            if (descriptor.offsets[middle] <= index) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        if (loaded[low]) {
+            return;
+        }
+        const json = DATA_SHARDS[collection]?.[low];
+        if (!exists(json)) {
+            throw new Error(`Data shard ${descriptor.files[low]} has not been loaded`);
+        }
+        const values: unknown[] = JSON.parse(json);
+        const start = descriptor.offsets[low];
+        for (let i = 0; i < values.length; i++) {
+            entities[start + i] = values[i];
+        }
+        loaded[low] = true;
+        remaining--;
+        if (remaining === 0) {
+            // Once everything is parsed, the plain array is faster than going through the proxy.
+            (DATA as unknown as Record<string, unknown>)[collection] = entities;
+        }
+    }
+
+    if (remaining === 0) {
+        return entities;
+    }
+    return new Proxy(entities, {
+        get(target, property, receiver) {
+            const index = toArrayIndex(property, descriptor.length);
+            if (index >= 0) {
+                loadShardOf(index);
+            }
+            return Reflect.get(target, property, receiver);
+        },
+        has(target, property) {
+            const index = toArrayIndex(property, descriptor.length);
+            if (index >= 0) {
+                loadShardOf(index);
+            }
+            return Reflect.has(target, property);
+        },
+        set(target, property, value, receiver) {
+            const index = toArrayIndex(property, descriptor.length);
+            if (index >= 0) {
+                loadShardOf(index);
+            }
+            return Reflect.set(target, property, value, receiver);
+        }
+    });
+}
+
+/**
+ * Script text that registers every shard again, for the optimization worker which cannot load the shard files itself.
+ */
+function getDataShardScript(): string {
+    const parts: string[] = [];
+    for (const collection of Object.keys(DATA_SHARDS)) {
+        DATA_SHARDS[collection].forEach((json, shard) => {
+            parts.push(`registerDataShard(${JSON.stringify(collection)}, ${shard}, ${JSON.stringify(json)});`);
+        });
+    }
+    return parts.join('\n');
+}
+
+function installDataShards(): Promise<unknown> {
+    const data = DATA as unknown as Record<string, unknown>;
+    const loading: Promise<unknown>[] = [];
+    for (const collection of Object.keys(data)) {
+        const descriptor = data[collection];
+        if (!isShardedCollection(descriptor)) {
+            continue;
+        }
+        data[collection] = createShardedCollection(collection as keyof DocumentationData, descriptor);
+        if (typeof document === 'undefined') {
+            continue;
+        }
+        for (const file of descriptor.files) {
+            const script = document.createElement('script');
+            script.src = file;
+            script.async = false;
+            loading.push(new Promise((resolve, reject) => {
+                script.onload = resolve;
+                script.onerror = () => reject(new Error(`Failed to load data shard ${file}`));
+            }));
+            document.head.appendChild(script);
+        }
+    }
+    return Promise.all(loading);
+}
+
+// DATA may still be inflating, so the shards are installed once it is ready, and the page logic waits for them.
+trackPayloadTask(whenPayloadReady().then(installDataShards));
@@ -12,6 +12,20 @@ function getAsArray<T>(value: T | T[] | null | undefined): T[] {
     return [value];
 }
 
+/**
+ * @returns The array index a property key refers to, or -1 if it is not an index below the length.
+ */
+function toArrayIndex(property: string | symbol, length: number): number {
+    if (typeof property !== 'string') {
+        return -1;
+    }
+    const index = Number(property);
+    if (!Number.isInteger(index) || index < 0 || index >= length || String(index) !== property) {
+        return -1;
+    }
+    return index;
+}
+
 function applyToAllClasses(action: (classData: JavaType) => void) {
     for (let i = 0; i < DATA.types.length; i++) {
         try {
@@ -89,7 +89,8 @@ const DATA = {
     fields: [],
     packages: [],
     names: [],
-    annotations: []
+    annotations: [],
+    parameterLists: []
 }
 
 const STRING_COMPRESSION_DATA = []
@@ -717,7 +717,8 @@ function calculateDataVersion(data) {
         data.fields ? data.fields.length : 0,
         data.packages ? data.packages.length : 0,
         data.names ? data.names.length : 0,
-        data.annotations ? data.annotations.length : 0
+        data.annotations ? data.annotations.length : 0,
+        data.parameterLists ? data.parameterLists.length : 0
     ];
     
     // Create a version string from the parts
@@ -119,6 +119,7 @@ async function writeOptimizedDataToIndexedDB(dataVersion) {
 
 self.onmessage = async function (e) {
     try {
+        await whenPayloadReady();
         if (e.data.task === TASKS.OPTIMIZE) {
             // Calculate data version IMMEDIATELY after DATA is loaded, before any modifications
             // This ensures we capture the pristine state before optimization or runtime changes
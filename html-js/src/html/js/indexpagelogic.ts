@@ -522,6 +522,7 @@ function DecodeURL() {
 function createOptimizationWorkerThread() {
     const parts = [];
 
+    parts.push(document.getElementById('payload-tools').innerText);
     parts.push(document.getElementById('data').innerText);
     parts.push(document.getElementById('bindings').innerText);
     parts.push(document.getElementById('property').innerText);
@@ -538,6 +539,8 @@ function createOptimizationWorkerThread() {
         console.warn("indexeddb-tools script not found. Worker may not function correctly.");
     }
     [...document.getElementsByClassName('data-holding-script')].map((script => script.innerText)).forEach((script) => parts.push(script));
+    // Sharded data is loaded from sibling files, which the worker cannot read, so it is handed over as script text.
+    parts.push(getDataShardScript());
     parts.push(document.getElementById('worker-script').innerText);
 
     return new Worker(URL.createObjectURL(new Blob(parts, {type: 'application/javascript'})));
@@ -592,6 +595,7 @@ async function loadRelationshipGraphIntoMemory(progressCallback = null) {
 
 async function onWindowLoad() {
     try {
+        await whenPayloadReady();
         console.log("Window Loaded. Initializing IndexedDB and optimizing data.");
         
         // Calculate data version early to determine which database to use
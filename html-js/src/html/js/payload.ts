@@ -0,0 +1,46 @@
+/**
+ * Loading of the JSON constants.
+ *
+ * Constants written in compressed mode are deflated base64 blocks. Each block is inflated in parallel with
+ * DecompressionStream, and the constant is filled in once every block is inflated. Anything else that has to finish
+ * before the page logic runs can be tracked here as well.
+ */
+const PAYLOAD_TASKS: Promise<unknown>[] = [];
+
+function inflateConstant<T extends object>(blocks: string[], target: T): T {
+    const started = performance.now();
+    PAYLOAD_TASKS.push(
+        Promise.all(blocks.map(inflateBlock)).then((parts) => {
+            const bytes = new Uint8Array(parts.reduce((total, part) => total + part.length, 0));
+            let offset = 0;
+            for (const part of parts) {
+                bytes.set(part, offset);
+                offset += part.length;
+            }
+            Object.assign(target, JSON.parse(new TextDecoder().decode(bytes)));
+            console.info(`Inflated ${bytes.length} bytes from ${blocks.length} blocks in ${Math.round(performance.now() - started)}ms`);
+        })
+    );
+    return target;
+}
+
+async function inflateBlock(block: string): Promise<Uint8Array> {
+    const binary = atob(block);
+    const bytes = new Uint8Array(binary.length);
+    for (let i = 0; i < binary.length; i++) {
+        bytes[i] = binary.charCodeAt(i);
+    }
+    const stream = new Blob([bytes]).stream().pipeThrough(new DecompressionStream('deflate'));
+    return new Uint8Array(await new Response(stream).arrayBuffer());
+}
+
+/**
+ * Resolves once every task tracked so far has finished.
+ */
+function whenPayloadReady(): Promise<void> {
+    return Promise.all(PAYLOAD_TASKS.slice()).then(() => undefined);
+}
+
+function trackPayloadTask(task: Promise<unknown>) {
+    PAYLOAD_TASKS.push(task);
+}
@@ -110,7 +110,7 @@ function readMethodReturnTypeAndParameterIds(methodData) {
     if (typeof methodData === 'object') {
         return {
             returnType: methodData[PROPERTY.METHOD_RETURN_TYPE],
-            parameterIds: getAsArray(methodData[PROPERTY.PARAMETERS]),
+            parameterIds: getParameterIds(methodData[PROPERTY.PARAMETERS]),
         };
     }
     if (typeof methodData === 'string') {
@@ -122,7 +122,7 @@ function readMethodReturnTypeAndParameterIds(methodData) {
         const parameterIds = decodePart(values[4].trim(), null);
         return {
             returnType: typeof returnType === 'number' ? returnType : null,
-            parameterIds: getAsArray(parameterIds),
+            parameterIds: getParameterIds(parameterIds),
         };
     }
     return { returnType: null, parameterIds: [] };
@@ -156,14 +156,14 @@ function readConstructorParameterIdsFromCompressedData(constructorData) {
         return [];
     }
     if (typeof constructorData === 'object') {
-        return getAsArray(constructorData[PROPERTY.PARAMETERS]);
+        return getParameterIds(constructorData[PROPERTY.PARAMETERS]);
     }
     if (typeof constructorData === 'string') {
         const values = constructorData.split(',');
         if (values.length < 5) {
             return [];
         }
-        return getAsArray(decodePart(values[4].trim(), null));
+        return getParameterIds(decodePart(values[4].trim(), null));
     }
     return [];
 }
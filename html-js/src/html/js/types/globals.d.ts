@@ -645,6 +645,10 @@ declare function getParameterData(id: number): CompressedEntityRow;
 
 
 
+declare function getParameterIds(parameters: unknown): number[];
+
+
+
 declare function getMethodData(id: number): CompressedEntityRow;
 
 
@@ -731,6 +735,8 @@ interface DocumentationData {
 
   parameters: CompressedEntityRow[];
 
+  parameterLists: number[][];
+
   methods: CompressedEntityRow[];
 
   fields: CompressedEntityRow[];
@@ -763,6 +769,54 @@ declare const DATA: DocumentationData;
 
 
 
+interface ShardedCollection {
+
+  length: number;
+
+  files: string[];
+
+  offsets: number[];
+
+}
+
+
+
+declare function registerDataShard(collection: string, shard: number, json: string): void;
+
+
+
+declare function getDataShardScript(): string;
+
+
+
+interface ColumnarCollection {
+
+  length: number;
+
+  columns: Record<string, string>;
+
+  lists: Record<string, { offsets: string; values: string }>;
+
+}
+
+
+
+declare function toArrayIndex(property: string | symbol, length: number): number;
+
+
+
+declare function inflateConstant<T extends object>(blocks: string[], target: T): T;
+
+
+
+declare function whenPayloadReady(): Promise<void>;
+
+
+
+declare function trackPayloadTask(task: Promise<unknown>): void;
+
+
+
 interface String {
 
   equals(other: string): boolean;
@@ -0,0 +1,63 @@
+package pie.ilikepiefoo.kubejsoffline.benchmark;
+
+import pie.ilikepiefoo.kubejsoffline.SyntheticCorpus;
+import pie.ilikepiefoo.kubejsoffline.core.impl.CollectionGroup;
+import pie.ilikepiefoo.kubejsoffline.core.impl.TypeManager;
+import pie.ilikepiefoo.kubejsoffline.core.util.SafeOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The classes the benchmarks document, taken from the {@code java.base} module or from a {@link SyntheticCorpus}.
+ */
+public final class BenchmarkCorpus {
+    public static final String JAVA_BASE = SyntheticCorpus.JAVA_BASE;
+    public static final String SYNTHETIC = "synthetic";
+
+    private BenchmarkCorpus() {
+    }
+
+    /**
+     * Picks the classes of a corpus.
+     *
+     * @param corpus {@value #JAVA_BASE} to spread the picked classes evenly across {@code java.base}, so that small
+     *               corpora still cover many packages, or {@value #SYNTHETIC} to generate them.
+     * @param size   The number of classes to pick.
+     * @return At most the given number of classes, always in the same order.
+     */
+    public static List<Class<?>> classes(String corpus, int size) {
+        if (SYNTHETIC.equals(corpus)) {
+            return SyntheticCorpus.synthetic(size);
+        }
+        if (!JAVA_BASE.equals(corpus)) {
+            throw new IllegalArgumentException("Unknown corpus " + corpus);
+        }
+        List<Class<?>> all = SyntheticCorpus.javaBase();
+        if (size >= all.size()) {
+            return all;
+        }
+        List<Class<?>> classes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            classes.add(all.get((int) ((long) i * all.size() / size)));
+        }
+        return classes;
+    }
+
+    /**
+     * Clears every collection, cached type and type verdict left behind by a previous generation.
+     */
+    public static void reset() {
+        CollectionGroup.INSTANCE.clear();
+        SafeOperations.clearVerdicts();
+    }
+
+    /**
+     * Adds the given classes to the collections, the same way the documentation provider adds the scanned classes.
+     */
+    public static void register(List<Class<?>> classes) {
+        for (Class<?> clazz : classes) {
+            SafeOperations.tryGet(() -> TypeManager.INSTANCE.getID(clazz));
+        }
+    }
+}
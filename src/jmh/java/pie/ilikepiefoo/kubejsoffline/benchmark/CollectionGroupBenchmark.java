@@ -0,0 +1,64 @@
+package pie.ilikepiefoo.kubejsoffline.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pie.ilikepiefoo.kubejsoffline.core.impl.CollectionGroup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link CollectionGroup#index()} expanding every registered class into the full entity graph, both on the
+ * calling thread and on a work-stealing pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class CollectionGroupBenchmark {
+    @Param({BenchmarkCorpus.JAVA_BASE, BenchmarkCorpus.SYNTHETIC})
+    public String corpus;
+    @Param({"100", "500", "2000"})
+    public int size;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void createPool() {
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @Setup(Level.Iteration)
+    public void registerCorpus() {
+        BenchmarkCorpus.reset();
+        BenchmarkCorpus.register(BenchmarkCorpus.classes(corpus, size));
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdownPool() {
+        pool.shutdown();
+        BenchmarkCorpus.reset();
+    }
+
+    @Benchmark
+    public int index() {
+        CollectionGroup.INSTANCE.index();
+        return CollectionGroup.INSTANCE.types().getTwoWayMap().size();
+    }
+
+    @Benchmark
+    public int indexInParallel() {
+        CollectionGroup.INSTANCE.index(pool);
+        return CollectionGroup.INSTANCE.types().getTwoWayMap().size();
+    }
+}
@@ -0,0 +1,66 @@
+package pie.ilikepiefoo.kubejsoffline.benchmark;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import pie.ilikepiefoo.kubejsoffline.core.api.JSONSerializable;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link JSONSerializable#compressObject} with rows shaped like the ones written for methods: an index, a
+ * modifier, a flag and a few arrays of indexes, some of them empty or missing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CompressObjectBenchmark {
+    private static final JSONSerializable SERIALIZER = () -> JsonNull.INSTANCE;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+    private JsonElement[][] rows;
+
+    @Setup(Level.Trial)
+    public void createRows() {
+        Random random = new Random(42);
+        rows = new JsonElement[size][];
+        for (int i = 0; i < size; i++) {
+            rows[i] = new JsonElement[]{
+                    new JsonPrimitive(random.nextInt(size)),
+                    new JsonPrimitive(random.nextInt(4096)),
+                    new JsonPrimitive(random.nextBoolean()),
+                    createIndexes(random, random.nextInt(6)),
+                    createIndexes(random, random.nextInt(3)),
+                    random.nextBoolean() ? JsonNull.INSTANCE : createIndexes(random, 1)
+            };
+        }
+    }
+
+    @Benchmark
+    public void compressObject(Blackhole blackhole) {
+        for (JsonElement[] row : rows) {
+            blackhole.consume(SERIALIZER.compressObject(row));
+        }
+    }
+
+    private JsonArray createIndexes(Random random, int count) {
+        JsonArray indexes = new JsonArray();
+        for (int i = 0; i < count; i++) {
+            indexes.add(random.nextInt(size));
+        }
+        return indexes;
+    }
+}
@@ -0,0 +1,97 @@
+package pie.ilikepiefoo.kubejsoffline.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import pie.ilikepiefoo.kubejsoffline.core.api.DocumentationBridge;
+import pie.ilikepiefoo.kubejsoffline.core.html.page.IndexPage;
+import pie.ilikepiefoo.kubejsoffline.core.impl.CollectionGroup;
+import pie.ilikepiefoo.kubejsoffline.core.util.json.GlobalConstants;
+import pie.ilikepiefoo.kubejsoffline.core.util.json.JSONProperty;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link IndexPage#writeHTML} writing the documentation page of an indexed corpus.
+ * The page is written to a writer that only counts characters, so that disk speed does not affect the results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class IndexPageBenchmark {
+    private static final DocumentationBridge BRIDGE = new DocumentationBridge() {
+        @Override
+        public void sendMessage(String message) {
+        }
+
+        @Override
+        public void sendMessageWithLink(String message, String linkText, String link) {
+        }
+    };
+
+    @Param({BenchmarkCorpus.JAVA_BASE, BenchmarkCorpus.SYNTHETIC})
+    public String corpus;
+    @Param({"100", "500", "2000"})
+    public int size;
+    private final Gson gson = new GsonBuilder().create();
+
+    @Setup(Level.Trial)
+    public void indexCorpus() {
+        BenchmarkCorpus.reset();
+        GlobalConstants.INSTANCE.setSerializableConstant("DATA", CollectionGroup.INSTANCE);
+        GlobalConstants.INSTANCE.setConstant("PROPERTY", JSONProperty::createTranslation);
+        BenchmarkCorpus.register(BenchmarkCorpus.classes(corpus, size));
+        CollectionGroup.INSTANCE.index();
+    }
+
+    @TearDown(Level.Trial)
+    public void reset() {
+        BenchmarkCorpus.reset();
+        GlobalConstants.INSTANCE.clear();
+    }
+
+    @Benchmark
+    public long writeHTML() throws IOException {
+        CountingWriter writer = new CountingWriter();
+        new IndexPage(gson, BRIDGE).writeHTML(writer);
+        return writer.count;
+    }
+
+    private static class CountingWriter extends Writer {
+        private long count;
+
+        @Override
+        public void write(int c) {
+            count++;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            count += length;
+        }
+
+        @Override
+        public void write(String string, int offset, int length) {
+            count += length;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
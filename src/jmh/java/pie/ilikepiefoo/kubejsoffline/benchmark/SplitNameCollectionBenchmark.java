@@ -0,0 +1,58 @@
+package pie.ilikepiefoo.kubejsoffline.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pie.ilikepiefoo.kubejsoffline.core.impl.collection.SplitNameCollection;
+import pie.ilikepiefoo.kubejsoffline.core.util.SafeOperations;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SplitNameCollection#addName} with the class, method and field names of the corpus.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SplitNameCollectionBenchmark {
+    @Param({BenchmarkCorpus.JAVA_BASE, BenchmarkCorpus.SYNTHETIC})
+    public String corpus;
+    @Param({"100", "500", "2000"})
+    public int size;
+    private List<String> names;
+    private SplitNameCollection collection;
+
+    @Setup(Level.Trial)
+    public void collectNames() {
+        names = new ArrayList<>();
+        for (Class<?> clazz : BenchmarkCorpus.classes(corpus, size)) {
+            names.add(clazz.getSimpleName());
+            SafeOperations.tryGet(clazz::getDeclaredMethods).stream().flatMap(Arrays::stream).filter((method) -> !method.isSynthetic()).map(Method::getName).forEach(names::add);
+            SafeOperations.tryGet(clazz::getDeclaredFields).stream().flatMap(Arrays::stream).filter((field) -> !field.isSynthetic()).map(Field::getName).forEach(names::add);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createCollection() {
+        collection = new SplitNameCollection();
+    }
+
+    @Benchmark
+    public SplitNameCollection addNames() {
+        for (String name : names) {
+            collection.addName(name);
+        }
+        return collection;
+    }
+}
@@ -0,0 +1,74 @@
+package pie.ilikepiefoo.kubejsoffline.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pie.ilikepiefoo.kubejsoffline.core.api.identifier.NameID;
+import pie.ilikepiefoo.kubejsoffline.core.impl.collection.DenseTwoWayMap;
+import pie.ilikepiefoo.kubejsoffline.core.impl.collection.NamesWrapper;
+import pie.ilikepiefoo.kubejsoffline.core.impl.collection.TwoWayMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link TwoWayMap#add} and {@link TwoWayMap#reorganize} for both map implementations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TwoWayMapBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int size;
+    @Param({"tree", "dense"})
+    public String implementation;
+    private List<String> values;
+    private TwoWayMap<NameID, String> emptyMap;
+    private TwoWayMap<NameID, String> filledMap;
+
+    @Setup(Level.Trial)
+    public void createValues() {
+        values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add("name" + i);
+        }
+        // A fixed seed keeps the insertion order, and so the amount of work reorganize does, the same between runs.
+        Collections.shuffle(values, new Random(42));
+    }
+
+    @Setup(Level.Invocation)
+    public void createMaps() {
+        emptyMap = createMap();
+        filledMap = createMap();
+        values.forEach(filledMap::add);
+    }
+
+    @Benchmark
+    public TwoWayMap<NameID, String> add() {
+        values.forEach(emptyMap::add);
+        return emptyMap;
+    }
+
+    @Benchmark
+    public TwoWayMap<NameID, String> reorganize() {
+        filledMap.reorganize(Comparator.comparing(String::length).thenComparing(Comparator.naturalOrder()));
+        return filledMap;
+    }
+
+    private TwoWayMap<NameID, String> createMap() {
+        if ("dense".equals(implementation)) {
+            return new DenseTwoWayMap<>(NamesWrapper.NameIdentifier::new);
+        }
+        return new TwoWayMap<>(NamesWrapper.NameIdentifier::new);
+    }
+}
@@ -0,0 +1,81 @@
+package pie.ilikepiefoo.kubejsoffline.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import pie.ilikepiefoo.kubejsoffline.core.impl.CollectionGroup;
+import pie.ilikepiefoo.kubejsoffline.core.impl.TypeManager;
+import pie.ilikepiefoo.kubejsoffline.core.util.SafeOperations;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link TypeManager#getID} for types that have to be verified and registered, and for types that are cached.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TypeManagerBenchmark {
+
+    @Benchmark
+    public int registerTypes(ColdState state) {
+        BenchmarkCorpus.register(state.classes);
+        return CollectionGroup.INSTANCE.types().getTwoWayMap().size();
+    }
+
+    @Benchmark
+    public void lookupCachedTypes(WarmState state, Blackhole blackhole) {
+        for (Class<?> clazz : state.classes) {
+            blackhole.consume(TypeManager.INSTANCE.getID(clazz));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ColdState {
+        @Param({BenchmarkCorpus.JAVA_BASE, BenchmarkCorpus.SYNTHETIC})
+        public String corpus;
+        @Param({"100", "500", "2000"})
+        public int size;
+        public List<Class<?>> classes;
+
+        @Setup(Level.Trial)
+        public void loadCorpus() {
+            classes = BenchmarkCorpus.classes(corpus, size);
+        }
+
+        @Setup(Level.Invocation)
+        public void reset() {
+            BenchmarkCorpus.reset();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class WarmState {
+        @Param({BenchmarkCorpus.JAVA_BASE, BenchmarkCorpus.SYNTHETIC})
+        public String corpus;
+        @Param({"100", "500", "2000"})
+        public int size;
+        public List<Class<?>> classes;
+
+        @Setup(Level.Trial)
+        public void registerCorpus() {
+            BenchmarkCorpus.reset();
+            classes = BenchmarkCorpus.classes(corpus, size).stream()
+                    .filter((clazz) -> SafeOperations.tryGet(() -> TypeManager.INSTANCE.getID(clazz)).isPresent())
+                    .toList();
+        }
+
+        @TearDown(Level.Trial)
+        public void reset() {
+            BenchmarkCorpus.reset();
+        }
+    }
+}
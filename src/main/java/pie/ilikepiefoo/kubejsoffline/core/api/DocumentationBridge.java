@@ -25,4 +25,23 @@ public interface DocumentationBridge {
 
     void sendMessageWithLink(final String message, final String linkText, final String link);
 
+    /**
+     * Called after every stage of the documentation generation, with what the stage cost.
+     * The chat messages sent for a stage carry a subset of the same numbers.
+     *
+     * @param metrics The metrics of the stage that completed.
+     */
+    default void onStageCompleted(final StageMetrics metrics) {
+    }
+
+    /**
+     * Raised by the server while documentation generation should pause, for example while ticks are running behind.
+     * Only used when generation is throttled, and polled often, so it has to be cheap.
+     *
+     * @return True while generation should pause.
+     */
+    default boolean isBusy() {
+        return false;
+    }
+
 }
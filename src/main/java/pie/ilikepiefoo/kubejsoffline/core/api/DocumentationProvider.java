@@ -4,12 +4,25 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import pie.ilikepiefoo.kubejsoffline.core.api.collection.EntityCollections;
 import pie.ilikepiefoo.kubejsoffline.core.api.context.BindingsProvider;
 import pie.ilikepiefoo.kubejsoffline.core.api.context.TypeWrapperProvider;
 import pie.ilikepiefoo.kubejsoffline.core.html.page.IndexPage;
 import pie.ilikepiefoo.kubejsoffline.core.impl.CollectionGroup;
+import pie.ilikepiefoo.kubejsoffline.core.impl.ColumnarEntityCollections;
+import pie.ilikepiefoo.kubejsoffline.core.impl.EntityFingerprints;
+import pie.ilikepiefoo.kubejsoffline.core.impl.GenerationProfiler;
+import pie.ilikepiefoo.kubejsoffline.core.impl.MappedEntityStore;
+import pie.ilikepiefoo.kubejsoffline.core.impl.RegenerationManifest;
+import pie.ilikepiefoo.kubejsoffline.core.impl.ShardedEntityCollections;
 import pie.ilikepiefoo.kubejsoffline.core.impl.TypeManager;
+import pie.ilikepiefoo.kubejsoffline.core.util.ClassWatchdog;
+import pie.ilikepiefoo.kubejsoffline.core.util.DocumentationPool;
+import pie.ilikepiefoo.kubejsoffline.core.util.GenerationThrottle;
+import pie.ilikepiefoo.kubejsoffline.core.util.HeapGuard;
+import pie.ilikepiefoo.kubejsoffline.core.util.HeapPressureException;
 import pie.ilikepiefoo.kubejsoffline.core.util.SafeOperations;
+import pie.ilikepiefoo.kubejsoffline.core.util.StageTimer;
 import pie.ilikepiefoo.kubejsoffline.core.util.json.GlobalConstants;
 import pie.ilikepiefoo.kubejsoffline.core.util.json.JSONProperty;
 
@@ -22,7 +35,10 @@ import java.io.Writer;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.StreamSupport;
 
 public interface DocumentationProvider {
@@ -37,6 +53,53 @@ public interface DocumentationProvider {
      */
     @Nullable
     default File generateDocumentation(File outputFile) {
+        final ForkJoinPool providedPool = getGenerationPool();
+        final ForkJoinPool pool = null == providedPool ? DocumentationPool.create(getGenerationParallelism()) : providedPool;
+        try {
+            // Enabled inside the try, so invalid settings still disable whatever was already enabled and shut the pool down.
+            if (getThrottleWorkMillis() > 0) {
+                GenerationThrottle.INSTANCE.enable(getThrottleWorkMillis(), getThrottlePeriodMillis(), getDocumentationBridge()::isBusy);
+            }
+            if (getHeapPressureThreshold() > 0) {
+                HeapGuard.INSTANCE.enable(getHeapPressureThreshold(), getDocumentationBridge());
+            }
+            if (null == providedPool) {
+                HeapGuard.INSTANCE.register(pool);
+            }
+            ClassWatchdog.INSTANCE.enable(getClassTimeLimitMillis(), getExcludedClasses(), getDocumentationBridge());
+            if (isProfilingOutput()) {
+                GenerationProfiler.INSTANCE.enable();
+            }
+            // Parallel work started from inside the pool stays on it, rather than running on the common pool.
+            return pool.submit(() -> generateOnPool(outputFile)).join();
+        } finally {
+            GenerationThrottle.INSTANCE.disable();
+            HeapGuard.INSTANCE.disable();
+            ClassWatchdog.INSTANCE.disable();
+            GenerationProfiler.INSTANCE.disable();
+            if (null == providedPool) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Nullable
+    private File generateOnPool(File outputFile) {
+        try {
+            return writeDocumentation(outputFile);
+        } catch (final HeapPressureException e) {
+            LOG.error("Documentation generation was aborted to protect the heap", e);
+            CollectionGroup.INSTANCE.clear();
+            GlobalConstants.INSTANCE.clear();
+            SafeOperations.setTypeMapper(null);
+            getDocumentationBridge().sendMessage("[KJS Offline] " + e.getMessage() + " Try again with more memory, or once the server is less busy.");
+            return null;
+        }
+    }
+
+    @Nullable
+    @SuppressWarnings("try")
+    private File writeDocumentation(File outputFile) {
         Gson GSON = getGson();
         ReflectionHelper reflectionHelper = getReflectionHelper();
         DocumentationBridge bridge = getDocumentationBridge();
@@ -48,104 +111,204 @@ public interface DocumentationProvider {
         GlobalConstants.INSTANCE.setConstant("BINDINGS", getBindingsProvider()::toJSON);
         GlobalConstants.INSTANCE.setConstant("EVENTS", reflectionHelper::getEventClassesAsJson);
         GlobalConstants.INSTANCE.setConstant("TYPE_WRAPPER", getTypeWrapperProvider()::toJSON);
-        GlobalConstants.INSTANCE.setConstant("DATA", CollectionGroup.INSTANCE::toJSON);
+        GlobalConstants.INSTANCE.setSerializableConstant("DATA", CollectionGroup.INSTANCE);
         GlobalConstants.INSTANCE.setConstant("PROPERTY", JSONProperty::createTranslation);
         // Log the bindings.
         int step = 0;
         final int totalSteps = 8;
         bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] Initializing Reflections Library...", ++step, totalSteps));
-        final long start = System.currentTimeMillis();
-        long timeMillis = System.currentTimeMillis();
+        final StageTimer totalTimer = StageTimer.start();
+        StageTimer timer = StageTimer.start();
 
         // Initialize the Reflections Library
         var classes = reflectionHelper.getClasses();
 
-        timeMillis = System.currentTimeMillis() - timeMillis;
-        bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] Reflections Library setup in %,dms", ++step, totalSteps, timeMillis));
+        StageMetrics metrics = timer.finish(DocumentationStage.REFLECTION, ++step, totalSteps, Map.of("classes", classes.length), 0);
+        bridge.onStageCompleted(metrics);
+        bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] Reflections Library setup in %,dms", step, totalSteps, metrics.wallTimeMillis()));
+
+        RegenerationManifest manifest = null;
+        if (isIncrementalRegeneration()) {
+            manifest = RegenerationManifest.create(classes, reflectionHelper.getEventClasses(), this);
+            var changedPartitions = manifest.getChangedPartitions(RegenerationManifest.read(RegenerationManifest.getManifestFile(outputFile)));
+            if (changedPartitions.isEmpty() && RegenerationManifest.isOutputComplete(outputFile, this)) {
+                GlobalConstants.INSTANCE.clear();
+                SafeOperations.setTypeMapper(null);
+                bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] None of the %,d code sources changed since the last run, reusing the existing documentation page.", step, totalSteps, manifest.getPartitionCount()));
+                bridge.sendMessageWithLink(String.format("[KJS Offline] [Step %d/%d] The Documentation page can be found at kubejs/documentation/index.html or by clicking ", step, totalSteps), "here", "kubejs/documentation/index.html");
+                return outputFile;
+            }
+            LOG.info("Code sources changed since the last run: {}", changedPartitions);
+            bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] %,d of %,d code sources changed since the last run, regenerating the documentation page.", step, totalSteps, changedPartitions.size(), manifest.getPartitionCount()));
+        }
 
         // Start the ClassFinder
         bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] Now adding classes to indexer...", ++step, totalSteps));
-        timeMillis = System.currentTimeMillis();
+        timer = StageTimer.start();
 
         StreamSupport
                 .stream(getBindingsProvider().getBindings().spliterator(), true)
-                .forEach((binding) -> SafeOperations.tryGet(() -> TypeManager.INSTANCE.getID(binding.getType())));
+                .forEach((binding) -> {
+                    try (var ignored = GenerationProfiler.INSTANCE.enter(binding.getType().getTypeName())) {
+                        SafeOperations.tryGet(() -> TypeManager.INSTANCE.getID(binding.getType()));
+                    }
+                });
         StreamSupport
                 .stream(getTypeWrapperProvider().getTypeWrappers().spliterator(), true)
                 .forEach((wrapper) -> {
-                    SafeOperations.tryGet(() -> TypeManager.INSTANCE.getID(wrapper.getWrappedType()));
-                    long supportedTypes = SafeOperations.tryGet(wrapper::getSupportedTypes)
-                            .stream()
-                            .parallel()
-                            .flatMap((types) -> Arrays.stream(types.toArray(Type[]::new)))
-                            .map((type) -> SafeOperations.tryGet(() -> TypeManager.INSTANCE.getID(type)))
-                            .filter(Optional::isPresent)
-                            .count();
-                    if (supportedTypes == 0) {
-                        LOG.info("Type wrapper {} has no supported types!", wrapper.getWrappedType());
+                    try (var ignored = GenerationProfiler.INSTANCE.enter(wrapper.getWrappedType().getTypeName())) {
+                        SafeOperations.tryGet(() -> TypeManager.INSTANCE.getID(wrapper.getWrappedType()));
+                        // Sequential, so the supported types are attributed to the wrapper. The stream holds a single collection, so it never split anyway.
+                        long supportedTypes = SafeOperations.tryGet(wrapper::getSupportedTypes)
+                                .stream()
+                                .flatMap((types) -> Arrays.stream(types.toArray(Type[]::new)))
+                                .map((type) -> SafeOperations.tryGet(() -> TypeManager.INSTANCE.getID(type)))
+                                .filter(Optional::isPresent)
+                                .count();
+                        if (supportedTypes == 0) {
+                            LOG.info("Type wrapper {} has no supported types!", wrapper.getWrappedType());
+                        }
                     }
                 });
 
-        Arrays.stream(reflectionHelper.getEventClasses()).parallel().forEach((clazz) -> SafeOperations.tryGet(() -> TypeManager.INSTANCE.getID(clazz)));
+        Arrays.stream(reflectionHelper.getEventClasses()).parallel().forEach((clazz) -> {
+            try (var ignored = GenerationProfiler.INSTANCE.enter(clazz.getName())) {
+                SafeOperations.tryGet(() -> TypeManager.INSTANCE.getID(clazz));
+            }
+        });
 
-        Arrays.stream(classes).parallel().forEach((clazz) -> SafeOperations.tryGet(() -> TypeManager.INSTANCE.getID(clazz)));
+        Arrays.stream(classes).parallel().filter((clazz) -> !ClassWatchdog.INSTANCE.isExcluded(clazz)).forEach((clazz) -> {
+            try (var ignored = ClassWatchdog.INSTANCE.watch(clazz, DocumentationStage.REGISTRATION); var profiled = GenerationProfiler.INSTANCE.enter(clazz.getName())) {
+                SafeOperations.tryGet(() -> TypeManager.INSTANCE.getID(clazz));
+            }
+        });
+        // Registration swallows every failure, so a request to stop is only seen once it finishes.
+        HeapGuard.INSTANCE.checkpoint();
 
-        timeMillis = System.currentTimeMillis() - timeMillis;
-        int totalClasses = CollectionGroup.INSTANCE.types().getAllTypes().size();
-        bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] Finished adding classes to indexer in %,dms. A total of %,d classes were found. Now searching classes for all nested connections...", ++step, totalSteps, timeMillis, CollectionGroup.INSTANCE.types().getAllTypes().size()));
-        timeMillis = System.currentTimeMillis();
+        metrics = timer.finish(DocumentationStage.REGISTRATION, ++step, totalSteps, CollectionGroup.INSTANCE.getEntityCounts(), 0);
+        bridge.onStageCompleted(metrics);
+        int totalClasses = metrics.getEntityCount("types");
+        bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] Finished adding classes to indexer in %,dms. A total of %,d classes were found. Now searching classes for all nested connections...", step, totalSteps, metrics.wallTimeMillis(), totalClasses));
+        timer = StageTimer.start();
 
-        CollectionGroup.INSTANCE.index();
+        if (getIndexingParallelism() > 1) {
+            // Generation already runs on its own pool, so indexing shares it rather than starting more threads.
+            CollectionGroup.INSTANCE.index(DocumentationPool.current());
+        } else {
+            CollectionGroup.INSTANCE.index();
+        }
 
-        timeMillis = System.currentTimeMillis() - timeMillis;
-        int newClasses = CollectionGroup.INSTANCE.types().getAllTypes().size();
-        int difference = newClasses - totalClasses;
-        bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] Finished adding %s classes to indexer in %,dms. A total of %,d additional classes were found.", step, totalSteps, classes.length, timeMillis, difference));
+        metrics = timer.finish(DocumentationStage.INDEXING, step, totalSteps, CollectionGroup.INSTANCE.getEntityCounts(), 0);
+        bridge.onStageCompleted(metrics);
+        int difference = metrics.getEntityCount("types") - totalClasses;
+        bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] Finished adding %s classes to indexer in %,dms. A total of %,d additional classes were found.", step, totalSteps, classes.length, metrics.wallTimeMillis(), difference));
+        final StageMetrics indexMetrics = metrics;
+        final File slowClassReport = ClassWatchdog.getReportFile(outputFile);
+        if (ClassWatchdog.INSTANCE.getFailedClassCount() > 0) {
+            ClassWatchdog.INSTANCE.writeReport(slowClassReport);
+            bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] %,d classes took too long to reflect on and were skipped, they are listed in %s.", step, totalSteps, ClassWatchdog.INSTANCE.getFailedClassCount(), slowClassReport.getName()));
+        } else if (slowClassReport.isFile() && !slowClassReport.delete()) {
+            LOG.warn("Failed to delete the outdated slow class report {}", slowClassReport);
+        }
+        if (GenerationProfiler.INSTANCE.isEnabled()) {
+            GenerationProfiler.INSTANCE.measureOutput(CollectionGroup.INSTANCE);
+            GenerationProfiler.INSTANCE.writeReports(outputFile);
+            bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] The cost of %,d root classes was written to %s.", step, totalSteps, GenerationProfiler.INSTANCE.getRootCount(), GenerationProfiler.getTextReportFile(outputFile).getName()));
+        }
+        if (isFingerprintOutput()) {
+            EntityFingerprints.write(CollectionGroup.INSTANCE, EntityFingerprints.getFingerprintFile(outputFile));
+        }
+        MappedEntityStore entityStore = null;
+        EntityCollections data = CollectionGroup.INSTANCE;
+        final boolean shedHeap = HeapGuard.INSTANCE.getPressure().compareTo(HeapGuard.Pressure.HIGH) >= 0;
+        if (isOffHeapEntityStore() || shedHeap) {
+            if (shedHeap && !isOffHeapEntityStore()) {
+                bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] The heap is under pressure, moving the indexed entities off the heap before writing them.", step, totalSteps));
+            }
+            try {
+                entityStore = MappedEntityStore.spill(CollectionGroup.INSTANCE, GSON, MappedEntityStore.getStoreFile(outputFile).toPath());
+                data = entityStore;
+            } catch (final IOException e) {
+                LOG.warn("Failed to move the indexed entities off the heap, they will be written from memory instead.", e);
+            }
+        }
+        if (isColumnarEncoding()) {
+            data = new ColumnarEntityCollections(data);
+        }
+        ShardedEntityCollections shardedData = null;
+        if (getDataShardSize() > 0) {
+            shardedData = new ShardedEntityCollections(data, ShardedEntityCollections.getShardDirectory(outputFile), getDataShardSize(), GSON);
+        }
+        GlobalConstants.INSTANCE.setSerializableConstant("DATA", null == shardedData ? data : shardedData);
 
         // Create index.html
         bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] Generating index.html and transforming all dependants... (this may take a while)", ++step, totalSteps));
-        timeMillis = System.currentTimeMillis();
+        timer = StageTimer.start();
         File output;
-        final IndexPage page = new IndexPage(GSON, bridge);
+        final IndexPage page = new IndexPage(GSON, bridge, isCompressedOutput());
         try (final Writer writer = new FileWriter(outputFile, StandardCharsets.UTF_8)) {
             page.writeHTML(writer);
             writer.flush();
             output = outputFile;
+        } catch (final HeapPressureException e) {
+            // A partly written page is worse than none.
+            if (!outputFile.delete()) {
+                LOG.warn("Failed to delete the partly written documentation page {}", outputFile);
+            }
+            throw e;
         } catch (final IOException e) {
             LOG.error("Failed to write file: index.html to {}", outputFile.toString(), e);
             output = null;
+        } finally {
+            if (null != entityStore) {
+                entityStore.close();
+            }
         }
-        timeMillis = System.currentTimeMillis() - timeMillis;
+        final long outputBytes = null == output ? 0 : output.length() + (null == shardedData ? 0 : shardedData.getWrittenBytes());
+        final StageMetrics writeMetrics = timer.finish(DocumentationStage.WRITING, step, totalSteps, indexMetrics.entityCounts(), outputBytes);
+        bridge.onStageCompleted(writeMetrics);
         if (null != output) {
-            bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] index.html generated in %,dms", step, totalSteps, timeMillis));
+            final File manifestFile = RegenerationManifest.getManifestFile(output);
+            if (ClassWatchdog.INSTANCE.getFailedClassCount() > 0) {
+                // A page with classes left out is never reused, so the next run tries them again.
+                if (manifestFile.isFile() && !manifestFile.delete()) {
+                    LOG.warn("Failed to delete the regeneration manifest {}", manifestFile);
+                }
+            } else if (null != manifest) {
+                manifest.write(manifestFile);
+            }
+            bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] index.html generated in %,dms", step, totalSteps, writeMetrics.wallTimeMillis()));
         } else {
-            bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] index.html failed to generate after %,dms!", step, totalSteps, timeMillis));
+            bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] index.html failed to generate after %,dms!", step, totalSteps, writeMetrics.wallTimeMillis()));
         }
 
-        final int totalTypesSize = CollectionGroup.INSTANCE.types().getAllTypes().size();
-        final int totalRawClassSize = CollectionGroup.INSTANCE.types().getAllRawTypes().size();
-        final int totalWildcardSize = CollectionGroup.INSTANCE.types().getAllWildcardTypes().size();
-        final int totalParameterizedTypeSize = CollectionGroup.INSTANCE.types().getAllParameterizedTypes().size();
-        final int totalTypeVariableSize = CollectionGroup.INSTANCE.types().getAllTypeVariables().size();
-        final int totalParameterSize = CollectionGroup.INSTANCE.parameters().getAllParameters().size();
-        final int totalMethodSize = CollectionGroup.INSTANCE.methods().getAllMethods().size();
-        final int totalFieldSize = CollectionGroup.INSTANCE.fields().getAllFields().size();
-        final int totalConstructorSize = CollectionGroup.INSTANCE.constructors().getAllConstructors().size();
-        final int totalNameSize = CollectionGroup.INSTANCE.names().getAllNames().size();
-        final int totalAnnotationSize = CollectionGroup.INSTANCE.annotations().getAllAnnotations().size();
-        final int totalPackageSize = CollectionGroup.INSTANCE.packages().getAllPackages().size();
+        final int totalTypesSize = writeMetrics.getEntityCount("types");
+        final int totalRawClassSize = writeMetrics.getEntityCount("rawTypes");
+        final int totalWildcardSize = writeMetrics.getEntityCount("wildcardTypes");
+        final int totalParameterizedTypeSize = writeMetrics.getEntityCount("parameterizedTypes");
+        final int totalTypeVariableSize = writeMetrics.getEntityCount("typeVariables");
+        final int totalParameterSize = writeMetrics.getEntityCount("parameters");
+        final int totalMethodSize = writeMetrics.getEntityCount("methods");
+        final int totalFieldSize = writeMetrics.getEntityCount("fields");
+        final int totalConstructorSize = writeMetrics.getEntityCount("constructors");
+        final int totalNameSize = writeMetrics.getEntityCount("names");
+        final int totalAnnotationSize = writeMetrics.getEntityCount("annotations");
+        final int totalPackageSize = writeMetrics.getEntityCount("packages");
+        final long savedTypeVerifications = SafeOperations.getSavedVerifications();
 
 
         // Clear and de-reference any data that is no longer needed.
         bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] Clearing and de-referencing data...", ++step, totalSteps));
-        timeMillis = System.currentTimeMillis();
+        timer = StageTimer.start();
         CollectionGroup.INSTANCE.clear();
         GlobalConstants.INSTANCE.clear();
         SafeOperations.setTypeMapper(null);
-        timeMillis = System.currentTimeMillis() - timeMillis;
-        bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] Data cleared and de-referenced in %,dms", step, totalSteps, timeMillis));
-        final long end = System.currentTimeMillis();
-        bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] Documentation Thread finished in %,dms", ++step, totalSteps, end - start));
+        metrics = timer.finish(DocumentationStage.CLEANUP, step, totalSteps, Map.of(), outputBytes);
+        bridge.onStageCompleted(metrics);
+        bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] Data cleared and de-referenced in %,dms", step, totalSteps, metrics.wallTimeMillis()));
+        metrics = totalTimer.finish(DocumentationStage.TOTAL, ++step, totalSteps, writeMetrics.entityCounts(), outputBytes);
+        bridge.onStageCompleted(metrics);
+        bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] Documentation Thread finished in %,dms", step, totalSteps, metrics.wallTimeMillis()));
         bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] Data Collection Summary: %d", step, totalSteps, totalTypesSize));
         bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] Total Types: %d", step, totalSteps, totalTypesSize));
         bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] Total Raw Types: %d", step, totalSteps, totalRawClassSize));
@@ -159,9 +322,13 @@ public interface DocumentationProvider {
         bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] Total Names: %d", step, totalSteps, totalNameSize));
         bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] Total Packages: %d", step, totalSteps, totalPackageSize));
         bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] Total Annotations: %d", step, totalSteps, totalAnnotationSize));
+        bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] Type Verifications Saved: %,d", step, totalSteps, savedTypeVerifications));
         if (null != output) {
             bridge.sendMessageWithLink(String.format("[KJS Offline] [Step %d/%d] The Documentation page can be found at kubejs/documentation/index.html or by clicking ", step, totalSteps), "here", "kubejs/documentation/index.html");
-            bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] Total File Size: ~%,.3fMb", ++step, totalSteps, (double) output.length() / 1024.0 / 1024.0));
+            bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] Total File Size: ~%,.3fMb", ++step, totalSteps, (double) outputBytes / 1024.0 / 1024.0));
+            if (page.getUncompressedConstantBytes() > 0) {
+                bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] Compressed Data: ~%,.3fMb of data stored in ~%,.3fMb (%.1f%% smaller, the page inflates it before rendering)", step, totalSteps, (double) page.getUncompressedConstantBytes() / 1024.0 / 1024.0, (double) page.getCompressedConstantBytes() / 1024.0 / 1024.0, 100.0 - 100.0 * page.getCompressedConstantBytes() / page.getUncompressedConstantBytes()));
+            }
         } else {
             bridge.sendMessage(String.format("[KJS Offline] [Step %d/%d] Documentation page failed to generate!", step, totalSteps - 1));
         }
@@ -225,4 +392,159 @@ public interface DocumentationProvider {
     default TypeWrapperProvider getTypeWrapperProvider() {
         return TypeWrapperProvider.of();
     }
+
+    /**
+     * Gets whether to search classes for nested connections in parallel. A value greater than 1 indexes on the
+     * generation pool, so at most {@link #getGenerationParallelism()} classes are indexed at once.
+     * A value of 1 or less indexes everything on the calling thread.
+     *
+     * @return The indexing parallelism for this provider.
+     */
+    default int getIndexingParallelism() {
+        return 1;
+    }
+
+    /**
+     * Gets the number of worker threads for every other parallel part of generation. The workers are low priority
+     * daemon threads of a pool dedicated to generation, so they do not compete with the game for the common pool.
+     *
+     * @return The generation parallelism for this provider.
+     */
+    default int getGenerationParallelism() {
+        return ForkJoinPool.getCommonPoolParallelism();
+    }
+
+    /**
+     * Gets a pool to run generation on instead of creating one. A provided pool is not shut down after generation.
+     *
+     * @return The pool to generate documentation on, or null to create one.
+     */
+    @Nullable
+    default ForkJoinPool getGenerationPool() {
+        return null;
+    }
+
+    /**
+     * Gets how much CPU time indexing and writing may use in every throttle period, shared by all generation threads,
+     * so generation leaves the server enough CPU time. While {@link DocumentationBridge#isBusy()} is raised they pause entirely. The output is the same
+     * as without throttling. A value of 0 or less turns throttling off.
+     *
+     * @return The work budget of every throttle period in milliseconds.
+     */
+    default int getThrottleWorkMillis() {
+        return 0;
+    }
+
+    /**
+     * @return The length of a throttle period in milliseconds, which has to be longer than the work budget.
+     */
+    default int getThrottlePeriodMillis() {
+        return 50;
+    }
+
+    /**
+     * Gets the share of the heap that may stay in use after a garbage collection before generation adapts to protect
+     * the server. Past it generation shrinks to a single thread, closer to a full heap it moves the indexed entities
+     * off the heap early, and right before the heap is exhausted it stops. A value of 0 or less turns the guard off,
+     * which is the default.
+     *
+     * @return The heap pressure threshold, between 0 and 1.
+     */
+    default double getHeapPressureThreshold() {
+        return 0;
+    }
+
+    /**
+     * Gets how much CPU time a single class may use to register or index before it is given up on. The members of a
+     * class that runs out of time are left out of the documentation, and the class is listed in a report next to the
+     * page. A value of 0 or less never gives up on a class and only tracks the time classes take, which is the default.
+     *
+     * @return The CPU time limit of each class in milliseconds.
+     */
+    default int getClassTimeLimitMillis() {
+        return 0;
+    }
+
+    /**
+     * Gets the names of the classes to never reflect on, such as the classes of an earlier slow class report. Excluded
+     * classes are documented without their members, and only where other classes refer to them.
+     *
+     * @return The binary names of the excluded classes.
+     */
+    @Nonnull
+    default Set<String> getExcludedClasses() {
+        return Set.of();
+    }
+
+    /**
+     * Whether to attribute the time, allocations and output size of generation to the classes that caused them, and
+     * write the most expensive ones to a text and a JSON report next to the page. Profiling slows generation down.
+     *
+     * @return True if the generation profile should be written.
+     */
+    default boolean isProfilingOutput() {
+        return false;
+    }
+
+    /**
+     * Whether to skip regenerating the documentation page when none of the code sources, bindings, type wrappers, event
+     * classes or output settings changed since the page was last written.
+     *
+     * @return True if unchanged documentation pages should be reused.
+     */
+    default boolean isIncrementalRegeneration() {
+        return false;
+    }
+
+    /**
+     * Whether to move the indexed entities into a memory-mapped file before writing the documentation page, instead of
+     * keeping them on the heap until the page is written. Useful for very large packs on servers with a tight heap.
+     *
+     * @return True if the indexed entities should be stored off the heap.
+     */
+    default boolean isOffHeapEntityStore() {
+        return false;
+    }
+
+    /**
+     * Gets the number of types, methods and fields to write to each data shard. Data shards are script files next to
+     * the documentation page that the page only parses once they are needed. A value of 0 or less writes all the data
+     * into the page itself, so it can be shared as a single file.
+     *
+     * @return The number of entities per data shard.
+     */
+    default int getDataShardSize() {
+        return 0;
+    }
+
+    /**
+     * Whether to deflate the JSON constants of the documentation page. The constants are compressed in parallel blocks
+     * and inflated by the browser before the page logic runs, which makes the page much smaller on disk.
+     *
+     * @return True if the JSON constants should be compressed.
+     */
+    default boolean isCompressedOutput() {
+        return false;
+    }
+
+    /**
+     * Whether to write methods, fields and constructors as columns of typed arrays instead of one string per entity.
+     * The page decodes each entity from the columns when it is first accessed, which skips parsing the strings and
+     * keeps the page smaller.
+     *
+     * @return True if the member collections should be written in columns.
+     */
+    default boolean isColumnarEncoding() {
+        return false;
+    }
+
+    /**
+     * Whether to write the stable fingerprint of every entity to a file next to the documentation page, so other tools
+     * can recognise the same entities across runs.
+     *
+     * @return True if the fingerprints should be written.
+     */
+    default boolean isFingerprintOutput() {
+        return false;
+    }
 }
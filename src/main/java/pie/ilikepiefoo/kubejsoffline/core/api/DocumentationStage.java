@@ -0,0 +1,41 @@
+package pie.ilikepiefoo.kubejsoffline.core.api;
+
+/**
+ * The stages of {@link DocumentationProvider#generateDocumentation}, in the order they run.
+ */
+public enum DocumentationStage {
+    /**
+     * Finding the classes to document with the {@link ReflectionHelper}.
+     */
+    REFLECTION("reflection"),
+    /**
+     * Adding the bindings, type wrappers, event classes and found classes to the collections.
+     */
+    REGISTRATION("registration"),
+    /**
+     * Following every reflective connection of the registered classes.
+     */
+    INDEXING("indexing"),
+    /**
+     * Writing the documentation page.
+     */
+    WRITING("writing"),
+    /**
+     * Clearing the collections for the next run.
+     */
+    CLEANUP("cleanup"),
+    /**
+     * The whole generation, from the first stage to the last.
+     */
+    TOTAL("total");
+
+    private final String id;
+
+    DocumentationStage(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+}
@@ -4,10 +4,14 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonWriter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import pie.ilikepiefoo.kubejsoffline.core.util.GenerationThrottle;
 
+import java.io.IOException;
 import java.util.Collection;
+import java.util.Map;
 import java.util.StringJoiner;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -18,6 +22,7 @@ public interface JSONSerializable {
     static <S extends JSONSerializable> JsonArray of(Collection<S> jsonSerializableList) {
         JsonArray jsonArray = new JsonArray();
         for (JSONSerializable jsonSerializable : jsonSerializableList) {
+            GenerationThrottle.INSTANCE.checkpoint();
             try {
                 jsonArray.add(jsonSerializable.toJSON());
             } catch (final Throwable e) {
@@ -27,8 +32,78 @@ public interface JSONSerializable {
         return jsonArray;
     }
 
+    /**
+     * Writes every element of the given collection to the writer as a JSON array, one element at a time.
+     * Elements that fail to serialize are skipped, just like {@link #of(Collection)}.
+     *
+     * @param writer                The writer to write to.
+     * @param jsonSerializableList  The elements to write.
+     * @throws IOException If the writer fails.
+     */
+    static <S extends JSONSerializable> void writeAll(JsonWriter writer, Iterable<S> jsonSerializableList) throws IOException {
+        writer.beginArray();
+        for (JSONSerializable jsonSerializable : jsonSerializableList) {
+            GenerationThrottle.INSTANCE.checkpoint();
+            try {
+                jsonSerializable.writeTo(writer);
+            } catch (final IOException e) {
+                throw e;
+            } catch (final Throwable e) {
+                LOG.warn("Failed to convert JSONSerializable to JSONElement", e);
+            }
+        }
+        writer.endArray();
+    }
+
+    /**
+     * Writes a JSON tree to the writer, the same way Gson would.
+     *
+     * @param writer      The writer to write to.
+     * @param jsonElement The element to write.
+     * @throws IOException If the writer fails.
+     */
+    static void write(JsonWriter writer, JsonElement jsonElement) throws IOException {
+        if (jsonElement == null || jsonElement.isJsonNull()) {
+            writer.nullValue();
+        } else if (jsonElement.isJsonPrimitive()) {
+            JsonPrimitive primitive = jsonElement.getAsJsonPrimitive();
+            if (primitive.isNumber()) {
+                writer.value(primitive.getAsNumber());
+            } else if (primitive.isBoolean()) {
+                writer.value(primitive.getAsBoolean());
+            } else {
+                writer.value(primitive.getAsString());
+            }
+        } else if (jsonElement.isJsonArray()) {
+            writer.beginArray();
+            for (JsonElement element : jsonElement.getAsJsonArray()) {
+                write(writer, element);
+            }
+            writer.endArray();
+        } else {
+            writer.beginObject();
+            for (Map.Entry<String, JsonElement> entry : jsonElement.getAsJsonObject().entrySet()) {
+                writer.name(entry.getKey());
+                write(writer, entry.getValue());
+            }
+            writer.endObject();
+        }
+    }
+
     JsonElement toJSON();
 
+    /**
+     * Writes this object to the given writer.
+     * By default this writes the tree built by {@link #toJSON()}, collections should override it to write their
+     * elements one at a time so that the whole tree is never held in memory.
+     *
+     * @param writer The writer to write to.
+     * @throws IOException If the writer fails.
+     */
+    default void writeTo(JsonWriter writer) throws IOException {
+        write(writer, toJSON());
+    }
+
     default <S extends JSONSerializable> void addTo(JsonElement jsonElement, Supplier<S> supplier) {
         addTo(jsonElement, null, supplier);
     }
@@ -0,0 +1,52 @@
+package pie.ilikepiefoo.kubejsoffline.core.api;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.Map;
+
+/**
+ * What a single stage of the documentation generation cost.
+ *
+ * @param stage            The stage that completed.
+ * @param step             The step the stage was reported as in the chat messages.
+ * @param totalSteps       The number of steps in the chat messages.
+ * @param wallTimeMillis   The time the stage took.
+ * @param cpuTimeNanos     The CPU time the generation threads spent during the stage, or -1 if it could not be
+ *                         measured.
+ * @param allocatedBytes   The bytes allocated by the generation threads during the stage, or -1 if they could not be
+ *                         measured.
+ * @param entityCounts     The number of entities in each collection once the stage completed.
+ * @param outputBytes      The size of the documentation page, or 0 if it has not been written.
+ */
+public record StageMetrics(
+        DocumentationStage stage,
+        int step,
+        int totalSteps,
+        long wallTimeMillis,
+        long cpuTimeNanos,
+        long allocatedBytes,
+        Map<String, Integer> entityCounts,
+        long outputBytes
+) implements JSONSerializable {
+
+    public int getEntityCount(String collection) {
+        return entityCounts.getOrDefault(collection, 0);
+    }
+
+    @Override
+    public JsonElement toJSON() {
+        JsonObject json = new JsonObject();
+        json.addProperty("stage", stage.getId());
+        json.addProperty("step", step);
+        json.addProperty("totalSteps", totalSteps);
+        json.addProperty("wallTimeMillis", wallTimeMillis);
+        json.addProperty("cpuTimeNanos", cpuTimeNanos);
+        json.addProperty("allocatedBytes", allocatedBytes);
+        JsonObject counts = new JsonObject();
+        entityCounts.forEach(counts::addProperty);
+        json.add("entityCounts", counts);
+        json.addProperty("outputBytes", outputBytes);
+        return json;
+    }
+}
@@ -0,0 +1,62 @@
+package pie.ilikepiefoo.kubejsoffline.core.api.collection;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+import pie.ilikepiefoo.kubejsoffline.core.api.JSONSerializable;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The collections that make up the DATA constant of the documentation page, written as a JSON object with one array
+ * per collection.
+ */
+public interface EntityCollections extends JSONSerializable {
+    /**
+     * @return The name of every collection, in the order they are written.
+     */
+    List<String> getCollectionNames();
+
+    /**
+     * @param name The name of the collection.
+     * @return The collection, which serializes to a JSON array.
+     */
+    JSONSerializable getCollection(String name);
+
+    /**
+     * Names are written as plain strings rather than entities, so they are only available through
+     * {@link #getCollection(String)}.
+     *
+     * @param name The name of the collection.
+     * @return The entities of the collection, in array index order.
+     */
+    List<? extends JSONSerializable> getEntities(String name);
+
+    /**
+     * @param name The name of the collection.
+     * @return True if the collection is written as an array with one element per entity.
+     */
+    default boolean isWrittenAsEntities(String name) {
+        return !"names".equals(name);
+    }
+
+    @Override
+    default JsonElement toJSON() {
+        var json = new JsonObject();
+        for (String name : getCollectionNames()) {
+            json.add(name, getCollection(name).toJSON());
+        }
+        return json;
+    }
+
+    @Override
+    default void writeTo(JsonWriter writer) throws IOException {
+        writer.beginObject();
+        for (String name : getCollectionNames()) {
+            writer.name(name);
+            getCollection(name).writeTo(writer);
+        }
+        writer.endObject();
+    }
+}
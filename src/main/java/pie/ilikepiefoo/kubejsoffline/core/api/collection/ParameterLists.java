@@ -0,0 +1,27 @@
+package pie.ilikepiefoo.kubejsoffline.core.api.collection;
+
+import pie.ilikepiefoo.kubejsoffline.core.api.JSONSerializable;
+import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.ParameterListData;
+import pie.ilikepiefoo.kubejsoffline.core.api.identifier.ParameterListID;
+
+import java.util.List;
+import java.util.NavigableMap;
+
+public interface ParameterLists extends JSONSerializable, Iterable<ParameterListData>, Lockable, TwoWayMapHolder<ParameterListID, ParameterListData> {
+    NavigableMap<ParameterListID, ParameterListData> getAllParameterLists();
+
+    ParameterListID addParameterList(ParameterListData data);
+
+    boolean contains(ParameterListData data);
+
+    ParameterListID getID(ParameterListData data);
+
+    ParameterListData getParameterList(ParameterListID id);
+
+    /**
+     * @return The lists shared by more than one executable, which are the only ones written.
+     */
+    List<ParameterListData> getSharedParameterLists();
+
+    void clear();
+}
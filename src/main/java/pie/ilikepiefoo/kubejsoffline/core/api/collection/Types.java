@@ -10,6 +10,7 @@ import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeOrTypeVariableID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeVariableID;
 
+import java.util.List;
 import java.util.NavigableMap;
 
 public interface Types extends JSONSerializable, Iterable<TypeData>, Lockable, TwoWayMapHolder<TypeOrTypeVariableID, TypeData> {
@@ -39,5 +40,10 @@ public interface Types extends JSONSerializable, Iterable<TypeData>, Lockable, T
 
     TypeData getType(TypeID id);
 
+    /**
+     * @return Every type whose index matches its position, in array index order.
+     */
+    List<TypeData> getOrderedValues();
+
     void clear();
 }
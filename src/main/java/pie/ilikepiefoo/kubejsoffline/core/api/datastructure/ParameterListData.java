@@ -0,0 +1,38 @@
+package pie.ilikepiefoo.kubejsoffline.core.api.datastructure;
+
+import com.google.gson.JsonElement;
+import pie.ilikepiefoo.kubejsoffline.core.api.JSONSerializable;
+import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.property.IndexedData;
+import pie.ilikepiefoo.kubejsoffline.core.api.identifier.ParameterID;
+import pie.ilikepiefoo.kubejsoffline.core.api.identifier.ParameterListID;
+
+import java.util.List;
+
+/**
+ * The parameters of a method or constructor, shared by every executable with the same parameters.
+ */
+public interface ParameterListData extends IndexedData<ParameterListID> {
+    List<ParameterID> getParameters();
+
+    /**
+     * @return The number of distinct executables with these parameters.
+     */
+    int getUsages();
+
+    void addUsage();
+
+    /**
+     * Lists used by a single executable are cheaper to write in place than to reference, so only shared lists are
+     * written to the parameter list collection.
+     */
+    default boolean isShared() {
+        return getUsages() > 1;
+    }
+
+    /**
+     * @return The ID of this list if it is shared, otherwise the parameters themselves.
+     */
+    default JsonElement toReference() {
+        return isShared() ? getIndex().toJSON() : JSONSerializable.of(getParameters());
+    }
+}
@@ -2,6 +2,7 @@ package pie.ilikepiefoo.kubejsoffline.core.api.datastructure.property;
 
 import pie.ilikepiefoo.kubejsoffline.core.api.JSONSerializable;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.ParameterID;
+import pie.ilikepiefoo.kubejsoffline.core.api.identifier.ParameterListID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeVariableID;
 
@@ -13,4 +14,9 @@ public interface ExecutableData extends JSONSerializable {
     List<TypeID> getExceptions();
 
     List<ParameterID> getParameters();
+
+    /**
+     * @return The shared list of the parameters, or null if there are no parameters.
+     */
+    ParameterListID getParameterList();
 }
@@ -12,4 +12,11 @@ public interface IndexedData<INDEX_TYPE extends Index> extends JSONSerializable,
     INDEX_TYPE getIndex();
 
     IndexedData<INDEX_TYPE> setIndex(INDEX_TYPE index);
+
+    /**
+     * A 64-bit fingerprint of the structure of this entity that is stable across runs.
+     *
+     * @see pie.ilikepiefoo.kubejsoffline.core.util.Fingerprint
+     */
+    long getFingerprint();
 }
@@ -16,4 +16,11 @@ public interface Index extends Comparable<Index>, JSONSerializable {
     Index getSelfWithReference();
 
     long getReferenceCount();
+
+    /**
+     * @return The structural fingerprint of the entity this index refers to.
+     */
+    long getFingerprint();
+
+    void setFingerprint(long fingerprint);
 }
@@ -0,0 +1,6 @@
+package pie.ilikepiefoo.kubejsoffline.core.api.identifier;
+
+public interface ParameterListID extends Index {
+    @Override
+    ParameterListID getSelfWithReference();
+}
@@ -0,0 +1,52 @@
+package pie.ilikepiefoo.kubejsoffline.core.html.tag.collection;
+
+import com.google.gson.Gson;
+import pie.ilikepiefoo.kubejsoffline.core.api.JSONSerializable;
+import pie.ilikepiefoo.kubejsoffline.core.util.DocumentationPool;
+import pie.ilikepiefoo.kubejsoffline.core.util.json.BlockDeflater;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A JSON constant that is written as deflated base64 blocks, which the page inflates with {@code inflateConstant}
+ * before the page logic runs.
+ */
+public class CompressedJSONDataTag extends JSONDataTag {
+    private long uncompressedBytes;
+    private long compressedBytes;
+
+    public CompressedJSONDataTag(String variableName, JSONSerializable value, Gson gson) {
+        super(variableName, value, gson);
+    }
+
+    @Override
+    protected void writeValue(Writer writer) throws IOException {
+        writer.write("inflateConstant([");
+        ForkJoinPool pool = DocumentationPool.current();
+        var deflater = new BlockDeflater(writer, pool, pool.getParallelism());
+        // Closing the JSON writer would only close the deflater, so it is flushed instead.
+        Writer json = new BufferedWriter(new OutputStreamWriter(deflater, StandardCharsets.UTF_8));
+        super.writeValue(json);
+        json.flush();
+        deflater.finish();
+        // The constant is filled in once it has been inflated, so it starts out as an empty value of the same shape.
+        writer.write("], ");
+        writer.write(deflater.getFirstByte() == '[' ? "[]" : "{}");
+        writer.write(")");
+        uncompressedBytes = deflater.getUncompressedBytes();
+        compressedBytes = deflater.getCompressedBytes();
+    }
+
+    public long getUncompressedBytes() {
+        return uncompressedBytes;
+    }
+
+    public long getCompressedBytes() {
+        return compressedBytes;
+    }
+}
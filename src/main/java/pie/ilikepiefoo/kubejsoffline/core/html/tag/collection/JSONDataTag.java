@@ -2,28 +2,56 @@ package pie.ilikepiefoo.kubejsoffline.core.html.tag.collection;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
+import pie.ilikepiefoo.kubejsoffline.core.api.JSONSerializable;
 import pie.ilikepiefoo.kubejsoffline.core.html.tag.CustomTag;
+import pie.ilikepiefoo.kubejsoffline.core.util.jfr.JSONWriteEvent;
 
 import java.io.IOException;
 import java.io.Writer;
 
 public class JSONDataTag extends CustomTag {
     private final String variableName;
-    private final JsonElement jsonElement;
+    private final JSONSerializable value;
     private final Gson gson;
 
     public JSONDataTag(String variableName, JsonElement element, Gson gson) {
+        this(variableName, () -> element, gson);
+    }
+
+    public JSONDataTag(String variableName, JSONSerializable value, Gson gson) {
         super("script", true);
         this.variableName = variableName;
-        this.jsonElement = element;
+        this.value = value;
         this.gson = gson;
     }
 
     @Override
     public void writeContent(Writer writer) throws IOException {
+        JSONWriteEvent event = new JSONWriteEvent();
+        event.begin();
         writer.write("const " + variableName + " = ");
-        gson.toJson(jsonElement, writer);
+        writeValue(writer);
         writer.write(";");
         writer.flush();
+        event.end();
+        if (event.shouldCommit()) {
+            event.variableName = variableName;
+            event.commit();
+        }
+    }
+
+    /**
+     * Writes the value of the constant as JSON.
+     * The JsonWriter is not closed, as that would close the page writer as well.
+     *
+     * @param writer The writer to write to.
+     * @throws IOException If the writer fails.
+     */
+    protected void writeValue(Writer writer) throws IOException {
+        JsonWriter jsonWriter = gson.newJsonWriter(writer);
+        jsonWriter.setLenient(true);
+        value.writeTo(jsonWriter);
+        jsonWriter.flush();
     }
 }
@@ -0,0 +1,239 @@
+package pie.ilikepiefoo.kubejsoffline.core.impl;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Remembers which classes each jar on the classpath contains, so that unchanged jars do not have to be scanned again.
+ * <p>
+ * Jars are keyed by their path, and fingerprinted by their size, last modified time and a hash of their central
+ * directory. When the size or last modified time changes the hash is recomputed, and the jar is only listed again if
+ * the hash changed as well. Directories are always listed, as listing them costs as much as fingerprinting them.
+ */
+public class ClasspathScanCache {
+    public static final Logger LOG = LogManager.getLogger();
+    private static final int VERSION = 1;
+
+    private final Path cacheFile;
+    private final Map<String, Entry> previous = new ConcurrentHashMap<>();
+    private final Map<String, Entry> current = new ConcurrentHashMap<>();
+    private final AtomicInteger reused = new AtomicInteger();
+    private final AtomicInteger rescanned = new AtomicInteger();
+
+    public ClasspathScanCache(Path cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Loads the cache from disk. A missing, outdated or unreadable cache is treated as empty.
+     */
+    public void load() {
+        previous.clear();
+        if (!Files.isRegularFile(cacheFile)) {
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+            JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
+            if (!json.has("version") || json.get("version").getAsInt() != VERSION) {
+                LOG.info("Ignoring classpath scan cache {} as it was written by a different version.", cacheFile);
+                return;
+            }
+            for (Map.Entry<String, JsonElement> root : json.getAsJsonObject("roots").entrySet()) {
+                previous.put(root.getKey(), Entry.fromJSON(root.getValue().getAsJsonObject()));
+            }
+            LOG.info("Loaded {} cached classpath roots from {}", previous.size(), cacheFile);
+        } catch (final Throwable e) {
+            LOG.warn("Failed to read classpath scan cache {}, every root will be scanned again.", cacheFile, e);
+            previous.clear();
+        }
+    }
+
+    /**
+     * Writes every root seen since the cache was loaded back to disk. Roots that are no longer on the classpath are dropped.
+     */
+    public void save() {
+        JsonObject roots = new JsonObject();
+        current.forEach((path, entry) -> roots.add(path, entry.toJSON()));
+        JsonObject json = new JsonObject();
+        json.addProperty("version", VERSION);
+        json.add("roots", roots);
+        try {
+            if (cacheFile.getParent() != null) {
+                Files.createDirectories(cacheFile.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(cacheFile, StandardCharsets.UTF_8)) {
+                writer.write(json.toString());
+            }
+        } catch (final IOException e) {
+            LOG.warn("Failed to write classpath scan cache {}", cacheFile, e);
+        }
+        LOG.info("Classpath scan cache reused {} roots and rescanned {} roots.", reused.get(), rescanned.get());
+    }
+
+    /**
+     * Gets the names of every class in the given classpath root.
+     *
+     * @param root The jar or directory to list.
+     * @return The binary names of every class in the root, or null if the root is not a local jar or directory.
+     */
+    @Nullable
+    public List<String> getClassNames(URL root) {
+        Path path = toPath(root);
+        if (path == null) {
+            return null;
+        }
+        try {
+            if (Files.isDirectory(path)) {
+                rescanned.incrementAndGet();
+                return listDirectory(path);
+            }
+            if (!Files.isRegularFile(path)) {
+                return null;
+            }
+            String key = path.toAbsolutePath().normalize().toString();
+            long size = Files.size(path);
+            long lastModified = Files.getLastModifiedTime(path).toMillis();
+            Entry cached = previous.get(key);
+            if (cached != null && cached.size() == size && cached.lastModified() == lastModified) {
+                reused.incrementAndGet();
+                current.put(key, cached);
+                return cached.classNames();
+            }
+            try (ZipFile zipFile = new ZipFile(path.toFile())) {
+                String hash = hashCentralDirectory(zipFile);
+                Entry entry;
+                if (cached != null && cached.hash().equals(hash)) {
+                    reused.incrementAndGet();
+                    entry = new Entry(size, lastModified, hash, cached.classNames());
+                } else {
+                    rescanned.incrementAndGet();
+                    entry = new Entry(size, lastModified, hash, listJar(zipFile));
+                }
+                current.put(key, entry);
+                return entry.classNames();
+            }
+        } catch (final IOException e) {
+            LOG.warn("Failed to list classes in {}", root, e);
+            return null;
+        }
+    }
+
+    @Nullable
+    private static Path toPath(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return Paths.get(url.toURI());
+        } catch (final URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String hashCentralDirectory(ZipFile zipFile) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        Enumeration<? extends ZipEntry> entries = zipFile.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry entry = entries.nextElement();
+            digest.update(entry.getName().getBytes(StandardCharsets.UTF_8));
+            digest.update(longToBytes(entry.getCrc()));
+            digest.update(longToBytes(entry.getSize()));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static byte[] longToBytes(long value) {
+        byte[] bytes = new byte[Long.BYTES];
+        for (int i = 0; i < Long.BYTES; i++) {
+            bytes[i] = (byte) (value >>> (i * 8));
+        }
+        return bytes;
+    }
+
+    private static List<String> listJar(ZipFile zipFile) {
+        List<String> classNames = new ArrayList<>();
+        Enumeration<? extends ZipEntry> entries = zipFile.entries();
+        while (entries.hasMoreElements()) {
+            String className = toClassName(entries.nextElement().getName());
+            if (className != null) {
+                classNames.add(className);
+            }
+        }
+        return classNames;
+    }
+
+    private static List<String> listDirectory(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files
+                    .filter(Files::isRegularFile)
+                    .map((file) -> toClassName(directory.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/")))
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+    }
+
+    @Nullable
+    private static String toClassName(String entryName) {
+        if (!entryName.endsWith(".class") || entryName.startsWith("META-INF/")) {
+            return null;
+        }
+        if (entryName.endsWith("module-info.class") || entryName.endsWith("package-info.class")) {
+            return null;
+        }
+        return entryName.substring(0, entryName.length() - ".class".length()).replace('/', '.');
+    }
+
+    private record Entry(long size, long lastModified, String hash, List<String> classNames) {
+        private static Entry fromJSON(JsonObject json) {
+            List<String> classNames = new ArrayList<>();
+            for (JsonElement className : json.getAsJsonArray("classes")) {
+                classNames.add(className.getAsString());
+            }
+            return new Entry(json.get("size").getAsLong(), json.get("lastModified").getAsLong(), json.get("hash").getAsString(), classNames);
+        }
+
+        private JsonObject toJSON() {
+            JsonObject json = new JsonObject();
+            json.addProperty("size", size);
+            json.addProperty("lastModified", lastModified);
+            json.addProperty("hash", hash);
+            JsonArray classes = new JsonArray();
+            classNames.forEach(classes::add);
+            json.add("classes", classes);
+            return json;
+        }
+    }
+}
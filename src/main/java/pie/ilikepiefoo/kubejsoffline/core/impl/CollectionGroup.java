@@ -1,18 +1,19 @@
 package pie.ilikepiefoo.kubejsoffline.core.impl;
 
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import pie.ilikepiefoo.kubejsoffline.core.api.JSONSerializable;
 import pie.ilikepiefoo.kubejsoffline.core.api.collection.Annotations;
 import pie.ilikepiefoo.kubejsoffline.core.api.collection.Constructors;
+import pie.ilikepiefoo.kubejsoffline.core.api.collection.EntityCollections;
 import pie.ilikepiefoo.kubejsoffline.core.api.collection.Fields;
 import pie.ilikepiefoo.kubejsoffline.core.api.collection.Methods;
 import pie.ilikepiefoo.kubejsoffline.core.api.collection.Names;
 import pie.ilikepiefoo.kubejsoffline.core.api.collection.Packages;
+import pie.ilikepiefoo.kubejsoffline.core.api.collection.ParameterLists;
 import pie.ilikepiefoo.kubejsoffline.core.api.collection.Parameters;
+import pie.ilikepiefoo.kubejsoffline.core.api.collection.TwoWayMapHolder;
 import pie.ilikepiefoo.kubejsoffline.core.api.collection.Types;
 import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.AnnotationData;
 import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.ConstructorData;
@@ -20,14 +21,18 @@ import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.FieldData;
 import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.MethodData;
 import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.PackagePart;
 import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.ParameterData;
+import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.ParameterListData;
+import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.property.ExecutableData;
 import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.property.TypeData;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.AnnotationID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.ConstructorID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.FieldID;
+import pie.ilikepiefoo.kubejsoffline.core.api.identifier.IndexGenerator;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.MethodID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.NameID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.PackageID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.ParameterID;
+import pie.ilikepiefoo.kubejsoffline.core.api.identifier.ParameterListID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeOrTypeVariableID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeVariableID;
@@ -37,13 +42,16 @@ import pie.ilikepiefoo.kubejsoffline.core.impl.collection.FieldsWrapper;
 import pie.ilikepiefoo.kubejsoffline.core.impl.collection.MethodsWrapper;
 import pie.ilikepiefoo.kubejsoffline.core.impl.collection.NamesWrapper;
 import pie.ilikepiefoo.kubejsoffline.core.impl.collection.PackagesWrapper;
+import pie.ilikepiefoo.kubejsoffline.core.impl.collection.ParameterListsWrapper;
 import pie.ilikepiefoo.kubejsoffline.core.impl.collection.ParametersWrapper;
 import pie.ilikepiefoo.kubejsoffline.core.impl.collection.TypesWrapper;
 import pie.ilikepiefoo.kubejsoffline.core.impl.datastructure.AnnotationWrapper;
 import pie.ilikepiefoo.kubejsoffline.core.impl.datastructure.ConstructorWrapper;
 import pie.ilikepiefoo.kubejsoffline.core.impl.datastructure.FieldWrapper;
 import pie.ilikepiefoo.kubejsoffline.core.impl.datastructure.MethodWrapper;
+import pie.ilikepiefoo.kubejsoffline.core.impl.datastructure.ParameterListWrapper;
 import pie.ilikepiefoo.kubejsoffline.core.impl.datastructure.ParameterWrapper;
+import pie.ilikepiefoo.kubejsoffline.core.util.GenerationThrottle;
 import pie.ilikepiefoo.kubejsoffline.core.util.SafeOperations;
 
 import java.lang.annotation.Annotation;
@@ -53,12 +61,18 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
 import java.util.function.ToLongFunction;
 import java.util.stream.Stream;
@@ -71,12 +85,18 @@ public record CollectionGroup(
         Constructors constructors,
         Packages packages,
         Names names,
-        Annotations annotations) implements JSONSerializable {
+        Annotations annotations,
+        ParameterLists parameterLists) implements EntityCollections {
     public static final Logger LOG = LogManager.getLogger();
     public static final CollectionGroup INSTANCE = new CollectionGroup();
+    /**
+     * The most entities a single indexing task takes from the queues at once.
+     */
+    private static final int INDEX_BATCH_SIZE = 32;
+    public static final List<String> COLLECTION_NAMES = List.of("types", "parameters", "methods", "fields", "constructors", "packages", "names", "annotations", "parameterLists");
 
     public CollectionGroup() {
-        this(new TypesWrapper(), new ParametersWrapper(), new MethodsWrapper(), new FieldsWrapper(), new ConstructorsWrapper(), new PackagesWrapper(), new NamesWrapper(), new AnnotationsWrapper());
+        this(new TypesWrapper(), new ParametersWrapper(), new MethodsWrapper(), new FieldsWrapper(), new ConstructorsWrapper(), new PackagesWrapper(), new NamesWrapper(), new AnnotationsWrapper(), new ParameterListsWrapper());
     }
 
     public List<AnnotationID> of(Annotation[] annotations) {
@@ -100,6 +120,16 @@ public record CollectionGroup(
                 .toList();
     }
 
+    /**
+     * @return The shared list of the given parameters, or null if there are none.
+     */
+    public ParameterListID parameterListOf(List<ParameterID> parameters) {
+        if (parameters.isEmpty()) {
+            return null;
+        }
+        return parameterLists().addParameterList(new ParameterListWrapper(parameters));
+    }
+
     public List<MethodID> of(Method[] methods) {
         return Arrays.stream(methods)
                 .filter(Objects::nonNull)
@@ -108,10 +138,36 @@ public record CollectionGroup(
                 .map(SafeOperations::tryIndex)
                 .filter(Optional::isPresent)
                 .map(Optional::get)
-                .map(methods()::addMethod)
+                .map(this::addMethod)
                 .toList();
     }
 
+    private MethodID addMethod(MethodData method) {
+        var id = methods().addMethod(method);
+        if (methods().getMethod(id) == method) {
+            addParameterListUsage(method);
+        }
+        return id;
+    }
+
+    private ConstructorID addConstructor(ConstructorData constructor) {
+        var id = constructors().addConstructor(constructor);
+        if (constructors().getConstructor(id) == constructor) {
+            addParameterListUsage(constructor);
+        }
+        return id;
+    }
+
+    /**
+     * Only an executable that is kept counts as a usage of its parameter list, not the duplicates merged into it.
+     */
+    private void addParameterListUsage(ExecutableData executable) {
+        var parameterList = executable.getParameterList();
+        if (parameterList != null) {
+            parameterLists().getParameterList(parameterList).addUsage();
+        }
+    }
+
     public List<FieldID> of(Field[] fields) {
         return Arrays.stream(fields)
                 .filter(Objects::nonNull)
@@ -132,7 +188,7 @@ public record CollectionGroup(
                 .map(SafeOperations::tryIndex)
                 .filter(Optional::isPresent)
                 .map(Optional::get)
-                .map(constructors()::addConstructor)
+                .map(this::addConstructor)
                 .toList();
     }
 
@@ -160,7 +216,7 @@ public record CollectionGroup(
         return getLoadedTypes(types, (type) -> false);
     }
 
-    public synchronized TypeOrTypeVariableID of(Type type) {
+    public TypeOrTypeVariableID of(Type type) {
         return TypeManager.INSTANCE.getID(type);
     }
 
@@ -211,6 +267,27 @@ public record CollectionGroup(
     }
 
 
+    /**
+     * @return The number of entities in each collection, keyed by collection name.
+     */
+    public Map<String, Integer> getEntityCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put("types", types().getTwoWayMap().size());
+        counts.put("rawTypes", types().getAllRawTypes().size());
+        counts.put("wildcardTypes", types().getAllWildcardTypes().size());
+        counts.put("parameterizedTypes", types().getAllParameterizedTypes().size());
+        counts.put("typeVariables", types().getAllTypeVariables().size());
+        counts.put("parameters", parameters().getTwoWayMap().size());
+        counts.put("methods", methods().getTwoWayMap().size());
+        counts.put("fields", fields().getTwoWayMap().size());
+        counts.put("constructors", constructors().getTwoWayMap().size());
+        counts.put("names", names().getTwoWayMap().size());
+        counts.put("packages", packages().getTwoWayMap().size());
+        counts.put("annotations", annotations().getTwoWayMap().size());
+        counts.put("parameterLists", parameterLists().getSharedParameterLists().size());
+        return counts;
+    }
+
     public void clear() {
         types().clear();
         parameters().clear();
@@ -220,55 +297,53 @@ public record CollectionGroup(
         packages().clear();
         names().clear();
         annotations().clear();
+        parameterLists().clear();
     }
 
     public synchronized void index() {
-        for (var type : types) {
-            type.index();
-        }
-        for (var method : methods) {
-            method.index();
-        }
-        for (var field : fields) {
-            field.index();
-        }
-        for (var constructor : constructors) {
-            constructor.index();
-        }
-        for (var annotation : annotations) {
-            annotation.index();
-        }
-        for (var parameter : parameters) {
-            parameter.index();
-        }
-        for (var type : types) {
-            type.index();
-            for (var field : fields) {
-                field.index();
-            }
-            for (var constructor : constructors) {
-                constructor.index();
-            }
-            for (var method : methods) {
-                method.index();
-            }
-            for (var parameter : parameters) {
-                parameter.index();
-            }
-            for (var annotation : annotations) {
-                annotation.index();
-            }
-        }
-        for (var pkg : packages) {
-            pkg.index();
+        long indexed = 0;
+        long discovered;
+        do {
+            // Indexing an entity may add new entities to any collection, so keep draining until every queue stays empty.
+            discovered = drainUnindexed(types)
+                    + drainUnindexed(methods)
+                    + drainUnindexed(fields)
+                    + drainUnindexed(constructors)
+                    + drainUnindexed(annotations)
+                    + drainUnindexed(parameters)
+                    + drainUnindexed(packages);
+            indexed += discovered;
+        } while (discovered > 0);
+        finishIndexing(indexed);
+    }
+
+    /**
+     * Indexes every pending entity using the given work-stealing pool.
+     * Each task expands the reflective edges of a single entity, and then forks a task for a bounded batch of the entities
+     * that have been published to the collections since, so the work spreads over every worker instead of one task
+     * draining every queue.
+     *
+     * @param pool The pool to run the indexing tasks on.
+     */
+    public synchronized void index(ForkJoinPool pool) {
+        var indexed = new LongAdder();
+        while (hasUnindexed()) {
+            pool.invoke(new IndexTask(null, this, pollUnindexed(INDEX_BATCH_SIZE), indexed));
         }
-        types.getTwoWayMap().reorganize(Comparator.comparingLong((ToLongFunction<TypeData>) CollectionGroup::getWeight).reversed());
-        annotations.getTwoWayMap().reorganize(Comparator.comparingLong((ToLongFunction<AnnotationData>) CollectionGroup::getWeight).reversed());
-        methods.getTwoWayMap().reorganize(Comparator.comparingLong((ToLongFunction<MethodData>) CollectionGroup::getWeight).reversed());
-        fields.getTwoWayMap().reorganize(Comparator.comparingLong((ToLongFunction<FieldData>) CollectionGroup::getWeight).reversed());
-        constructors.getTwoWayMap().reorganize(Comparator.comparingLong((ToLongFunction<ConstructorData>) CollectionGroup::getWeight).reversed());
-        parameters.getTwoWayMap().reorganize(Comparator.comparingLong((ToLongFunction<ParameterData>) CollectionGroup::getWeight).reversed());
-        packages.getTwoWayMap().reorganize(Comparator.comparingLong((ToLongFunction<PackagePart>) CollectionGroup::getWeight).reversed());
+        finishIndexing(indexed.sum());
+    }
+
+    private void finishIndexing(long indexed) {
+        LOG.info("Finished indexing {} entities.", indexed);
+        // Ties are broken by fingerprint, so the order does not depend on the order entities were discovered in.
+        types.getTwoWayMap().reorganize(Comparator.comparingLong((ToLongFunction<TypeData>) CollectionGroup::getWeight).reversed().thenComparingLong(TypeData::getFingerprint));
+        annotations.getTwoWayMap().reorganize(Comparator.comparingLong((ToLongFunction<AnnotationData>) CollectionGroup::getWeight).reversed().thenComparingLong(AnnotationData::getFingerprint));
+        methods.getTwoWayMap().reorganize(Comparator.comparingLong((ToLongFunction<MethodData>) CollectionGroup::getWeight).reversed().thenComparingLong(MethodData::getFingerprint));
+        fields.getTwoWayMap().reorganize(Comparator.comparingLong((ToLongFunction<FieldData>) CollectionGroup::getWeight).reversed().thenComparingLong(FieldData::getFingerprint));
+        constructors.getTwoWayMap().reorganize(Comparator.comparingLong((ToLongFunction<ConstructorData>) CollectionGroup::getWeight).reversed().thenComparingLong(ConstructorData::getFingerprint));
+        parameters.getTwoWayMap().reorganize(Comparator.comparingLong((ToLongFunction<ParameterData>) CollectionGroup::getWeight).reversed().thenComparingLong(ParameterData::getFingerprint));
+        packages.getTwoWayMap().reorganize(Comparator.comparingLong((ToLongFunction<PackagePart>) CollectionGroup::getWeight).reversed().thenComparingLong(PackagePart::getFingerprint));
+        parameterLists.getTwoWayMap().reorganize(Comparator.comparingLong((ToLongFunction<ParameterListData>) CollectionGroup::getWeight).reversed().thenComparingLong(ParameterListData::getFingerprint));
         names.getTwoWayMap().reorganize(Comparator.comparing(String::length).thenComparing(Comparator.naturalOrder()));
         types.toggleLock();
         annotations.toggleLock();
@@ -278,6 +353,56 @@ public record CollectionGroup(
         constructors.toggleLock();
         packages.toggleLock();
         names.toggleLock();
+        parameterLists.toggleLock();
+    }
+
+    private boolean hasUnindexed() {
+        return types.getTwoWayMap().hasUnindexed()
+                || methods.getTwoWayMap().hasUnindexed()
+                || fields.getTwoWayMap().hasUnindexed()
+                || constructors.getTwoWayMap().hasUnindexed()
+                || annotations.getTwoWayMap().hasUnindexed()
+                || parameters.getTwoWayMap().hasUnindexed()
+                || packages.getTwoWayMap().hasUnindexed();
+    }
+
+    private List<IndexGenerator> pollUnindexed(int limit) {
+        List<IndexGenerator> discovered = new ArrayList<>();
+        pollUnindexed(types, discovered, limit);
+        pollUnindexed(methods, discovered, limit);
+        pollUnindexed(fields, discovered, limit);
+        pollUnindexed(constructors, discovered, limit);
+        pollUnindexed(annotations, discovered, limit);
+        pollUnindexed(parameters, discovered, limit);
+        pollUnindexed(packages, discovered, limit);
+        return discovered;
+    }
+
+    private static <VALUE> void pollUnindexed(TwoWayMapHolder<?, VALUE> holder, List<IndexGenerator> discovered, int limit) {
+        var map = holder.getTwoWayMap();
+        VALUE value;
+        while (discovered.size() < limit && (value = map.pollUnindexed()) != null) {
+            if (value instanceof IndexGenerator generator) {
+                discovered.add(generator);
+            }
+        }
+    }
+
+    @SuppressWarnings("try")
+    private static <VALUE> long drainUnindexed(TwoWayMapHolder<?, VALUE> holder) {
+        var map = holder.getTwoWayMap();
+        long count = 0;
+        VALUE value;
+        while ((value = map.pollUnindexed()) != null) {
+            GenerationThrottle.INSTANCE.checkpoint();
+            if (value instanceof IndexGenerator generator) {
+                try (var ignored = GenerationProfiler.INSTANCE.enterEntity(generator)) {
+                    SafeOperations.tryIndex(generator);
+                }
+            }
+            count++;
+        }
+        return count;
     }
 
     public static long getWeight(TypeData type) {
@@ -302,6 +427,10 @@ public record CollectionGroup(
         return parameter.getIndex().getReferenceCount();
     }
 
+    public static long getWeight(ParameterListData parameterList) {
+        return parameterList.getUsages();
+    }
+
     public static long getWeight(PackagePart pkg) {
         return pkg.getIndex().getReferenceCount();
     }
@@ -319,16 +448,81 @@ public record CollectionGroup(
     }
 
     @Override
-    public JsonElement toJSON() {
-        var json = new JsonObject();
-        json.add("types", types().toJSON());
-        json.add("parameters", parameters().toJSON());
-        json.add("methods", methods().toJSON());
-        json.add("fields", fields().toJSON());
-        json.add("constructors", constructors().toJSON());
-        json.add("packages", packages().toJSON());
-        json.add("names", names().toJSON());
-        json.add("annotations", annotations().toJSON());
-        return json;
+    public List<String> getCollectionNames() {
+        return COLLECTION_NAMES;
+    }
+
+    @Override
+    public JSONSerializable getCollection(String name) {
+        return switch (name) {
+            case "types" -> types();
+            case "parameters" -> parameters();
+            case "methods" -> methods();
+            case "fields" -> fields();
+            case "constructors" -> constructors();
+            case "packages" -> packages();
+            case "names" -> names();
+            case "annotations" -> annotations();
+            case "parameterLists" -> parameterLists();
+            default -> throw new IllegalArgumentException("Unknown collection: " + name);
+        };
+    }
+
+    @Override
+    public List<? extends JSONSerializable> getEntities(String name) {
+        return switch (name) {
+            case "types" -> types().getOrderedValues();
+            case "parameters" -> new ArrayList<>(parameters().getTwoWayMap().getValues());
+            case "methods" -> new ArrayList<>(methods().getTwoWayMap().getValues());
+            case "fields" -> new ArrayList<>(fields().getTwoWayMap().getValues());
+            case "constructors" -> new ArrayList<>(constructors().getTwoWayMap().getValues());
+            case "packages" -> new ArrayList<>(packages().getTwoWayMap().getValues());
+            case "annotations" -> new ArrayList<>(annotations().getTwoWayMap().getValues());
+            case "parameterLists" -> parameterLists().getSharedParameterLists();
+            case "names" -> throw new UnsupportedOperationException("Names are not written as entities");
+            default -> throw new IllegalArgumentException("Unknown collection: " + name);
+        };
+    }
+
+    @SuppressWarnings("serial")
+    private static class IndexTask extends CountedCompleter<Void> {
+        private final CollectionGroup group;
+        private final List<IndexGenerator> entities;
+        private final LongAdder indexed;
+
+        private IndexTask(CountedCompleter<?> parent, CollectionGroup group, List<IndexGenerator> entities, LongAdder indexed) {
+            super(parent);
+            this.group = group;
+            this.entities = entities;
+            this.indexed = indexed;
+        }
+
+        @Override
+        @SuppressWarnings("try")
+        public void compute() {
+            // Fork off the upper halves of the batch until a single entity is left for this task.
+            int low = 0;
+            int high = entities.size();
+            while (high - low > 1) {
+                int middle = (low + high) >>> 1;
+                addToPendingCount(1);
+                new IndexTask(this, group, entities.subList(middle, high), indexed).fork();
+                high = middle;
+            }
+            if (high > low) {
+                var entity = entities.get(low);
+                GenerationThrottle.INSTANCE.checkpoint();
+                try (var ignored = GenerationProfiler.INSTANCE.enterEntity(entity)) {
+                    SafeOperations.tryIndex(entity);
+                }
+                indexed.increment();
+                var discovered = group.pollUnindexed(INDEX_BATCH_SIZE);
+                if (!discovered.isEmpty()) {
+                    addToPendingCount(1);
+                    new IndexTask(this, group, discovered, indexed).fork();
+                }
+            }
+            tryComplete();
+        }
     }
 }
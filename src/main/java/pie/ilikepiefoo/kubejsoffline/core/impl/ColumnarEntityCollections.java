@@ -0,0 +1,229 @@
+package pie.ilikepiefoo.kubejsoffline.core.impl;
+
+import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import pie.ilikepiefoo.kubejsoffline.core.api.JSONSerializable;
+import pie.ilikepiefoo.kubejsoffline.core.api.collection.EntityCollections;
+import pie.ilikepiefoo.kubejsoffline.core.util.GenerationThrottle;
+import pie.ilikepiefoo.kubejsoffline.core.util.json.JSONProperty;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes methods, fields and constructors as columns of integers instead of one compressed string per entity.
+ * <p>
+ * Every single valued property becomes a column with -1 for missing values, and every list property becomes a column
+ * of byte offsets into a blob of varints. A single valued property that is itself a list is stored with the lists. Columns and lists are written as base64 zigzag varints, each value stored
+ * as the difference from the one before it. The page expands the columns into {@code Int32Array}s once, and reads the
+ * lists of any entity by its index without parsing strings. The columns are keyed by the {@link JSONProperty} names
+ * the decoded entities use in the page.
+ */
+public class ColumnarEntityCollections implements EntityCollections {
+    public static final Logger LOG = LogManager.getLogger();
+    /**
+     * The properties of each columnar collection, in the order {@link JSONSerializable#compressObject} writes them.
+     */
+    public static final Map<String, List<Column>> SCHEMAS = Map.of(
+            "methods", List.of(
+                    Column.single(JSONProperty.METHOD_NAME),
+                    Column.single(JSONProperty.MODIFIERS),
+                    Column.single(JSONProperty.METHOD_RETURN_TYPE),
+                    Column.list(JSONProperty.ANNOTATIONS),
+                    Column.single(JSONProperty.PARAMETERS),
+                    Column.list(JSONProperty.TYPE_VARIABLES),
+                    Column.list(JSONProperty.EXCEPTIONS)
+            ),
+            "fields", List.of(
+                    Column.single(JSONProperty.FIELD_NAME),
+                    Column.single(JSONProperty.FIELD_TYPE),
+                    Column.single(JSONProperty.MODIFIERS),
+                    Column.list(JSONProperty.ANNOTATIONS)
+            ),
+            "constructors", List.of(
+                    Column.single(JSONProperty.MODIFIERS),
+                    Column.list(JSONProperty.ANNOTATIONS),
+                    Column.list(JSONProperty.EXCEPTIONS),
+                    Column.list(JSONProperty.TYPE_VARIABLES),
+                    Column.single(JSONProperty.PARAMETERS)
+            )
+    );
+
+    /**
+     * Marks a single valued property that is missing.
+     */
+    public static final int MISSING = -1;
+    /**
+     * Marks a single valued property that was written as a list, such as a parameterized type, so it is read from the
+     * list of the same property instead.
+     */
+    public static final int IN_LIST = -2;
+    private static final int[] EMPTY = new int[0];
+
+    private final EntityCollections data;
+
+    public ColumnarEntityCollections(EntityCollections data) {
+        this.data = data;
+    }
+
+    @Override
+    public List<String> getCollectionNames() {
+        return data.getCollectionNames();
+    }
+
+    @Override
+    public JSONSerializable getCollection(String name) {
+        var schema = SCHEMAS.get(name);
+        if (schema == null) {
+            return data.getCollection(name);
+        }
+        var entities = data.getEntities(name);
+        return new JSONSerializable() {
+            @Override
+            public JsonElement toJSON() {
+                return JSONSerializable.of(entities);
+            }
+
+            @Override
+            public void writeTo(JsonWriter writer) throws IOException {
+                writeColumns(schema, entities, writer);
+            }
+        };
+    }
+
+    @Override
+    public List<? extends JSONSerializable> getEntities(String name) {
+        return data.getEntities(name);
+    }
+
+    @Override
+    public boolean isWrittenAsEntities(String name) {
+        return !SCHEMAS.containsKey(name) && data.isWrittenAsEntities(name);
+    }
+
+    private static void writeColumns(List<Column> schema, List<? extends JSONSerializable> entities, JsonWriter writer) throws IOException {
+        int length = entities.size();
+        int[][] singles = new int[schema.size()][];
+        int[][] offsets = new int[schema.size()][length + 1];
+        ByteArrayOutputStream[] lists = new ByteArrayOutputStream[schema.size()];
+        for (int column = 0; column < schema.size(); column++) {
+            if (!schema.get(column).isList()) {
+                singles[column] = new int[length];
+            }
+            lists[column] = new ByteArrayOutputStream();
+        }
+        for (int row = 0; row < length; row++) {
+            GenerationThrottle.INSTANCE.checkpoint();
+            Row values = readRow(entities.get(row), schema.size());
+            for (int column = 0; column < schema.size(); column++) {
+                if (singles[column] != null) {
+                    singles[column][row] = values.singles()[column];
+                }
+                writeVarints(values.lists()[column], lists[column]);
+                offsets[column][row + 1] = lists[column].size();
+            }
+        }
+
+        writer.beginObject();
+        writer.name("length").value(length);
+        writer.name("columns");
+        writer.beginObject();
+        for (int column = 0; column < schema.size(); column++) {
+            if (singles[column] != null) {
+                writer.name(schema.get(column).property().jsName).value(encode(singles[column]));
+            }
+        }
+        writer.endObject();
+        writer.name("lists");
+        writer.beginObject();
+        for (int column = 0; column < schema.size(); column++) {
+            // Lists that are empty for every entity are left out.
+            if (lists[column].size() > 0) {
+                writer.name(schema.get(column).property().jsName);
+                writer.beginObject();
+                writer.name("offsets").value(encode(offsets[column]));
+                writer.name("values").value(Base64.getEncoder().encodeToString(lists[column].toByteArray()));
+                writer.endObject();
+            }
+        }
+        writer.endObject();
+        writer.endObject();
+    }
+
+    private static Row readRow(JSONSerializable entity, int columns) {
+        Row row = new Row(new int[columns], new int[columns][]);
+        try {
+            // Trailing empty parts have to be kept, so the limit is negative.
+            String[] parts = entity.toJSON().getAsString().split(",", -1);
+            if (parts.length != columns) {
+                throw new IllegalStateException("Expected " + columns + " parts but found " + parts.length);
+            }
+            for (int column = 0; column < columns; column++) {
+                String part = parts[column].trim();
+                row.lists()[column] = EMPTY;
+                if (part.isEmpty()) {
+                    row.singles()[column] = MISSING;
+                } else if (part.startsWith("[")) {
+                    // Lists are written by compressObject as "[" followed by the elements separated by "|".
+                    String[] elements = part.substring(1).split("\\|");
+                    row.lists()[column] = new int[elements.length];
+                    for (int i = 0; i < elements.length; i++) {
+                        row.lists()[column][i] = Integer.parseInt(elements[i].trim());
+                    }
+                    row.singles()[column] = IN_LIST;
+                } else {
+                    row.singles()[column] = Integer.parseInt(part);
+                }
+            }
+        } catch (final Throwable e) {
+            // The row is kept empty, so the entities after it keep their index.
+            LOG.warn("Failed to convert JSONSerializable to columns", e);
+            Arrays.fill(row.singles(), MISSING);
+            Arrays.fill(row.lists(), EMPTY);
+        }
+        return row;
+    }
+
+    private static void writeVarints(int[] values, ByteArrayOutputStream output) {
+        int previous = 0;
+        for (int value : values) {
+            int delta = value - previous;
+            previous = value;
+            int zigzag = (delta << 1) ^ (delta >> 31);
+            while ((zigzag & ~0x7F) != 0) {
+                output.write((zigzag & 0x7F) | 0x80);
+                zigzag >>>= 7;
+            }
+            output.write(zigzag);
+        }
+    }
+
+    /**
+     * Writes a column as the zigzag varints of the difference between each value and the one before it, since
+     * neighbouring entities mostly have close ids.
+     */
+    private static String encode(int[] values) {
+        var output = new ByteArrayOutputStream(values.length * 2);
+        writeVarints(values, output);
+        return Base64.getEncoder().encodeToString(output.toByteArray());
+    }
+
+    private record Row(int[] singles, int[][] lists) {
+    }
+
+    public record Column(JSONProperty property, boolean isList) {
+        public static Column single(JSONProperty property) {
+            return new Column(property, false);
+        }
+
+        public static Column list(JSONProperty property) {
+            return new Column(property, true);
+        }
+    }
+}
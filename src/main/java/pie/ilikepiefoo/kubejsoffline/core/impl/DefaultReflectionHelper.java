@@ -5,16 +5,38 @@ import org.apache.logging.log4j.Logger;
 import org.reflections.Configuration;
 import org.reflections.Reflections;
 import org.reflections.scanners.Scanners;
+import org.reflections.util.ClasspathHelper;
 import org.reflections.util.ConfigurationBuilder;
 import pie.ilikepiefoo.kubejsoffline.core.api.ReflectionHelper;
 
+import javax.annotation.Nullable;
+import java.net.URL;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 public class DefaultReflectionHelper implements ReflectionHelper {
     public static final Logger LOG = LogManager.getLogger();
     private final Class[] eventClasses;
+    @Nullable
+    private final Path scanCacheFile;
 
     public DefaultReflectionHelper(Class<?>... eventClasses) {
+        this(null, eventClasses);
+    }
+
+    /**
+     * @param scanCacheFile The file to cache the classpath scan in, or null to scan the whole classpath every time.
+     * @param eventClasses  The classes that should be displayed as events.
+     */
+    public DefaultReflectionHelper(@Nullable Path scanCacheFile, Class<?>... eventClasses) {
+        this.scanCacheFile = scanCacheFile;
         this.eventClasses = eventClasses;
     }
 
@@ -25,6 +47,9 @@ public class DefaultReflectionHelper implements ReflectionHelper {
         LOG.info("Retrieved {} packages...", packages.length);
         String[] packageNames = Arrays.stream(packages).parallel().map(Package::getName).toList().toArray(new String[0]);
         LOG.info("Finished mapping all package names...");
+        if (scanCacheFile != null) {
+            return getClassesFromCache(packageNames);
+        }
         Configuration configuration = new ConfigurationBuilder()
                 .setParallel(true)
                 .forPackages(packageNames)
@@ -36,6 +61,59 @@ public class DefaultReflectionHelper implements ReflectionHelper {
         return reflections.getSubTypesOf(Object.class).toArray(new Class[0]);
     }
 
+    /**
+     * Lists the classes of every classpath root through the {@link ClasspathScanCache}, only falling back to a full
+     * Reflections scan for roots that are not plain jars or directories.
+     */
+    protected Class[] getClassesFromCache(String[] packageNames) {
+        Set<URL> roots = new LinkedHashSet<>();
+        for (String packageName : packageNames) {
+            roots.addAll(ClasspathHelper.forPackage(packageName));
+        }
+        LOG.info("Found {} classpath roots...", roots.size());
+        ClasspathScanCache cache = new ClasspathScanCache(scanCacheFile);
+        cache.load();
+        Set<String> classNames = ConcurrentHashMap.newKeySet();
+        Set<URL> unsupportedRoots = ConcurrentHashMap.newKeySet();
+        roots.parallelStream().forEach((root) -> {
+            List<String> names = cache.getClassNames(root);
+            if (names == null) {
+                unsupportedRoots.add(root);
+            } else {
+                classNames.addAll(names);
+            }
+        });
+        cache.save();
+        LOG.info("Now loading {} classes...", classNames.size());
+        // The context class loader of the common pool threads may differ from the calling thread.
+        ClassLoader classLoader = Objects.requireNonNullElse(Thread.currentThread().getContextClassLoader(), DefaultReflectionHelper.class.getClassLoader());
+        Stream<Class<?>> classes = classNames.parallelStream()
+                .<Class<?>>map((className) -> loadClass(className, classLoader))
+                .filter(Objects::nonNull);
+        if (!unsupportedRoots.isEmpty()) {
+            LOG.info("Scanning {} classpath roots that cannot be cached...", unsupportedRoots.size());
+            classes = Stream.concat(classes, scanRoots(unsupportedRoots).stream());
+        }
+        return classes.distinct().toArray(Class[]::new);
+    }
+
+    protected Collection<Class<?>> scanRoots(Collection<URL> roots) {
+        Configuration configuration = new ConfigurationBuilder()
+                .setParallel(true)
+                .setUrls(roots)
+                .setScanners(Scanners.SubTypes.filterResultsBy(pred -> true), Scanners.Resources);
+        return new Reflections(configuration).getSubTypesOf(Object.class).stream().<Class<?>>map((clazz) -> clazz).toList();
+    }
+
+    @Nullable
+    private static Class<?> loadClass(String className, ClassLoader classLoader) {
+        try {
+            return Class.forName(className, false, classLoader);
+        } catch (final Throwable e) {
+            return null;
+        }
+    }
+
     @Override
     public Class[] getEventClasses() {
         return eventClasses;
@@ -0,0 +1,60 @@
+package pie.ilikepiefoo.kubejsoffline.core.impl;
+
+import com.google.gson.stream.JsonWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.property.IndexedData;
+import pie.ilikepiefoo.kubejsoffline.core.api.identifier.NameID;
+import pie.ilikepiefoo.kubejsoffline.core.util.Fingerprint;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Writes the fingerprint of every indexed entity next to the documentation page.
+ * <p>
+ * Each collection is written as an array of hex fingerprints in the same order as the collection in DATA, so the
+ * fingerprint of an entity is found at its index. Fingerprints do not change between runs, which lets tools outside
+ * the page key their caches on them.
+ */
+public class EntityFingerprints {
+    public static final Logger LOG = LogManager.getLogger();
+    public static final int VERSION = 1;
+
+    public static File getFingerprintFile(File outputFile) {
+        return new File(outputFile.getParentFile(), outputFile.getName() + ".fingerprints.json");
+    }
+
+    /**
+     * Must be called after indexing, and before the entities are moved off the heap.
+     *
+     * @param collectionGroup The indexed entities.
+     * @param file            The file to write.
+     */
+    public static void write(CollectionGroup collectionGroup, File file) {
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8); JsonWriter json = new JsonWriter(writer)) {
+            json.beginObject();
+            json.name("version").value(VERSION);
+            for (String name : collectionGroup.getCollectionNames()) {
+                json.name(name);
+                json.beginArray();
+                if ("names".equals(name)) {
+                    for (NameID id : collectionGroup.names().getAllNames().keySet()) {
+                        json.value(Fingerprint.toHex(id.getFingerprint()));
+                    }
+                } else {
+                    for (var entity : collectionGroup.getEntities(name)) {
+                        json.value(entity instanceof IndexedData<?> data ? Fingerprint.toHex(data.getFingerprint()) : null);
+                    }
+                }
+                json.endArray();
+            }
+            json.endObject();
+        } catch (final IOException e) {
+            LOG.warn("Failed to write entity fingerprints {}", file, e);
+        }
+    }
+}
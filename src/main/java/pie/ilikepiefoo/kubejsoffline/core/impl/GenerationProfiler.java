@@ -0,0 +1,335 @@
+package pie.ilikepiefoo.kubejsoffline.core.impl;
+
+import com.google.gson.stream.JsonWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import pie.ilikepiefoo.kubejsoffline.core.api.JSONSerializable;
+import pie.ilikepiefoo.kubejsoffline.core.api.collection.EntityCollections;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Attributes the cost of generation to the root classes that caused it.
+ * <p>
+ * The roots are the found classes, event classes, bindings and type wrappers that are registered before indexing.
+ * Every entity added to a collection belongs to the root that was being registered or indexed when it was added, so
+ * an entity pulled in by another entity belongs to the same root. The time and allocations of registering a root and
+ * of indexing its entities are added to the root, as is the size of the JSON of its entities.
+ */
+public class GenerationProfiler {
+    public static final Logger LOG = LogManager.getLogger();
+    public static final GenerationProfiler INSTANCE = new GenerationProfiler();
+    public static final int VERSION = 1;
+    /**
+     * The number of roots listed in the text report. The JSON report lists every root.
+     */
+    public static final int TEXT_REPORT_ROOTS = 100;
+    public static final String UNATTRIBUTED = "<unattributed>";
+    private static final Scope NONE = new Scope(null);
+
+    private final Map<String, RootProfile> roots = new ConcurrentHashMap<>();
+    private final Map<Object, RootProfile> origins = new ConcurrentHashMap<>();
+    private final ThreadLocal<ArrayDeque<Scope>> scopes = ThreadLocal.withInitial(ArrayDeque::new);
+    private volatile boolean enabled;
+    private List<String> collectionNames = List.of();
+    private long sharedOutputBytes;
+
+    public void enable() {
+        clear();
+        enabled = true;
+    }
+
+    public void disable() {
+        enabled = false;
+        clear();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private void clear() {
+        roots.clear();
+        origins.clear();
+        collectionNames = List.of();
+        sharedOutputBytes = 0;
+    }
+
+    /**
+     * Starts attributing the work of the calling thread to a root.
+     *
+     * @param root The name of the root class.
+     * @return The scope to close once the work is done.
+     */
+    public Scope enter(String root) {
+        if (!enabled) {
+            return NONE;
+        }
+        return push(roots.computeIfAbsent(root, RootProfile::new));
+    }
+
+    /**
+     * Starts attributing the work of the calling thread to the root an entity belongs to.
+     *
+     * @param entity The entity that is about to be indexed.
+     * @return The scope to close once the entity is indexed.
+     */
+    public Scope enterEntity(Object entity) {
+        if (!enabled) {
+            return NONE;
+        }
+        var root = origins.get(entity);
+        return push(root == null ? roots.computeIfAbsent(UNATTRIBUTED, RootProfile::new) : root);
+    }
+
+    /**
+     * Called by the collections for every entity that is added for the first time.
+     */
+    public void onAdded(Object entity) {
+        if (!enabled) {
+            return;
+        }
+        var current = scopes.get().peek();
+        origins.putIfAbsent(entity, current == null ? roots.computeIfAbsent(UNATTRIBUTED, RootProfile::new) : current.root);
+    }
+
+    private Scope push(RootProfile root) {
+        var scope = new Scope(root);
+        scopes.get().push(scope);
+        scope.startAllocatedBytes = getAllocatedBytes();
+        scope.startNanos = System.nanoTime();
+        return scope;
+    }
+
+    /**
+     * Adds the size of the JSON of every entity to the root it belongs to. Must be called after indexing, while the
+     * entities are still on the heap.
+     */
+    public void measureOutput(EntityCollections collections) {
+        if (!enabled) {
+            return;
+        }
+        collectionNames = List.copyOf(collections.getCollectionNames());
+        var counter = new CountingWriter();
+        for (String name : collections.getCollectionNames()) {
+            if (!collections.isWrittenAsEntities(name)) {
+                // Names are shared by every root, so they are only counted as a whole.
+                counter.count = 0;
+                try {
+                    var json = new JsonWriter(counter);
+                    collections.getCollection(name).writeTo(json);
+                    json.flush();
+                } catch (final IOException e) {
+                    LOG.warn("Failed to measure the {} collection", name, e);
+                }
+                sharedOutputBytes += counter.count;
+                continue;
+            }
+            for (JSONSerializable entity : collections.getEntities(name)) {
+                var root = origins.get(entity);
+                if (root == null) {
+                    root = roots.computeIfAbsent(UNATTRIBUTED, RootProfile::new);
+                }
+                counter.count = 0;
+                try {
+                    var json = new JsonWriter(counter);
+                    json.setLenient(true);
+                    entity.writeTo(json);
+                    json.flush();
+                } catch (final Throwable e) {
+                    LOG.debug("Failed to measure an entity of {}", name, e);
+                }
+                root.outputBytes.add(counter.count);
+                root.entities.computeIfAbsent(name, (key) -> new LongAdder()).increment();
+            }
+        }
+    }
+
+    public int getRootCount() {
+        return roots.size();
+    }
+
+    public static File getTextReportFile(File outputFile) {
+        return new File(outputFile.getParentFile(), outputFile.getName() + ".profile.txt");
+    }
+
+    public static File getJsonReportFile(File outputFile) {
+        return new File(outputFile.getParentFile(), outputFile.getName() + ".profile.json");
+    }
+
+    /**
+     * Writes the roots from the most to the least time spent on them, as text and as JSON next to the page.
+     */
+    public void writeReports(File outputFile) {
+        List<RootProfile> sorted = roots.values().stream()
+                .sorted(Comparator.comparingLong((RootProfile root) -> root.nanos.sum()).reversed().thenComparing(RootProfile::getName))
+                .toList();
+        writeText(sorted, getTextReportFile(outputFile));
+        writeJson(sorted, getJsonReportFile(outputFile));
+    }
+
+    private void writeText(List<RootProfile> sorted, File file) {
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(String.format("# The cost of generating the documentation, added up for the root class that pulled each entity in.%n"));
+            writer.write(String.format("# Time and allocations are measured while registering and indexing, output as the JSON of each entity before compression.%n"));
+            writer.write(String.format("# The %,d most expensive of %,d roots, %,d bytes of names are shared by every root.%n", Math.min(TEXT_REPORT_ROOTS, sorted.size()), sorted.size(), sharedOutputBytes));
+            writer.write(String.format("%12s %14s %12s %10s  %s%n", "Time (ms)", "Allocated (KB)", "Output (KB)", "Entities", "Root"));
+            long totalNanos = 0;
+            long totalAllocatedBytes = 0;
+            long totalOutputBytes = 0;
+            long totalEntities = 0;
+            for (int i = 0; i < sorted.size(); i++) {
+                RootProfile root = sorted.get(i);
+                totalNanos += root.nanos.sum();
+                totalAllocatedBytes += root.allocatedBytes.sum();
+                totalOutputBytes += root.outputBytes.sum();
+                totalEntities += root.getEntityCount();
+                if (i < TEXT_REPORT_ROOTS) {
+                    writeRow(writer, root.nanos.sum(), root.allocatedBytes.sum(), root.outputBytes.sum(), root.getEntityCount(), root.getName());
+                }
+            }
+            writeRow(writer, totalNanos, totalAllocatedBytes, totalOutputBytes, totalEntities, "Total");
+        } catch (final IOException e) {
+            LOG.warn("Failed to write the generation profile {}", file, e);
+        }
+    }
+
+    private static void writeRow(Writer writer, long nanos, long allocatedBytes, long outputBytes, long entities, String name) throws IOException {
+        writer.write(String.format("%,12.1f %,14d %,12.1f %,10d  %s%n", nanos / 1e6, allocatedBytes / 1024, outputBytes / 1024.0, entities, name));
+    }
+
+    private void writeJson(List<RootProfile> sorted, File file) {
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8); JsonWriter json = new JsonWriter(writer)) {
+            json.beginObject();
+            json.name("version").value(VERSION);
+            json.name("sharedOutputBytes").value(sharedOutputBytes);
+            json.name("roots");
+            json.beginArray();
+            for (RootProfile root : sorted) {
+                json.beginObject();
+                json.name("root").value(root.getName());
+                json.name("timeNanos").value(root.nanos.sum());
+                json.name("allocatedBytes").value(root.allocatedBytes.sum());
+                json.name("outputBytes").value(root.outputBytes.sum());
+                json.name("entities");
+                json.beginObject();
+                for (String name : collectionNames) {
+                    var count = root.entities.get(name);
+                    if (count != null) {
+                        json.name(name).value(count.sum());
+                    }
+                }
+                json.endObject();
+                json.endObject();
+            }
+            json.endArray();
+            json.endObject();
+        } catch (final IOException e) {
+            LOG.warn("Failed to write the generation profile {}", file, e);
+        }
+    }
+
+    private static long getAllocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean sunBean && sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+            return sunBean.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    /**
+     * The work of a root on one thread. Work on another root started from inside it, such as a task stolen by the
+     * worker, is taken out of its time.
+     */
+    public static class Scope implements AutoCloseable {
+        private final RootProfile root;
+        private long startNanos;
+        private long startAllocatedBytes;
+        private long childNanos;
+        private long childAllocatedBytes;
+
+        private Scope(RootProfile root) {
+            this.root = root;
+        }
+
+        @Override
+        public void close() {
+            if (root == null) {
+                return;
+            }
+            long nanos = System.nanoTime() - startNanos;
+            long allocatedBytes = startAllocatedBytes < 0 ? 0 : getAllocatedBytes() - startAllocatedBytes;
+            var scopes = INSTANCE.scopes.get();
+            scopes.pop();
+            root.nanos.add(nanos - childNanos);
+            root.allocatedBytes.add(allocatedBytes - childAllocatedBytes);
+            var parent = scopes.peek();
+            if (parent != null) {
+                parent.childNanos += nanos;
+                parent.childAllocatedBytes += allocatedBytes;
+            }
+        }
+    }
+
+    private static class RootProfile {
+        private final String name;
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final LongAdder outputBytes = new LongAdder();
+        private final Map<String, LongAdder> entities = new ConcurrentHashMap<>();
+
+        private RootProfile(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getEntityCount() {
+            return entities.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+    }
+
+    /**
+     * Counts the characters written to it, which are the bytes of the page for the ASCII JSON the entities are made of.
+     */
+    private static class CountingWriter extends Writer {
+        private long count;
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            count += length;
+        }
+
+        @Override
+        public void write(String value, int offset, int length) {
+            count += length;
+        }
+
+        @Override
+        public void write(int character) {
+            count++;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package pie.ilikepiefoo.kubejsoffline.core.impl;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import pie.ilikepiefoo.kubejsoffline.core.api.JSONSerializable;
+import pie.ilikepiefoo.kubejsoffline.core.api.collection.EntityCollections;
+import pie.ilikepiefoo.kubejsoffline.core.api.collection.TwoWayMapHolder;
+import pie.ilikepiefoo.kubejsoffline.core.util.GenerationThrottle;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the serialized entities of an indexed {@link CollectionGroup} in a memory-mapped file instead of on the heap.
+ * <p>
+ * Once the collections are indexed and locked, every entity is written to the file as the exact JSON it would have been
+ * written as, and the wrappers are released. The documentation page then streams the JSON back from the mapped file,
+ * so the pages are paged in and out by the operating system rather than held by the garbage collector.
+ * Names are kept in their collection, as they are already just strings.
+ */
+public class MappedEntityStore implements EntityCollections, Closeable {
+    private static final Logger LOG = LogManager.getLogger();
+    private static final long SEGMENT_SIZE = 1L << 30;
+
+    private final Path file;
+    private final Map<String, long[]> offsets = new LinkedHashMap<>();
+    private final Map<String, JSONSerializable> heapCollections = new LinkedHashMap<>();
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private long size;
+
+    private MappedEntityStore(Path file) {
+        this.file = file;
+    }
+
+    public static File getStoreFile(File outputFile) {
+        return new File(outputFile.getParentFile(), outputFile.getName() + ".entities");
+    }
+
+    /**
+     * Moves the entities of an indexed group into a memory-mapped file.
+     * The group is only released once every entity has been written, so a failure leaves it untouched.
+     *
+     * @param group The indexed and locked group to move.
+     * @param gson  The Gson instance the documentation page is written with.
+     * @param file  The file to store the entities in. It is replaced if it already exists.
+     * @return The store that serializes the same data as the group did.
+     * @throws IOException If the entities could not be written or mapped.
+     */
+    public static MappedEntityStore spill(CollectionGroup group, Gson gson, Path file) throws IOException {
+        var store = new MappedEntityStore(file);
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(file))) {
+            for (String name : group.getCollectionNames()) {
+                if (!group.isWrittenAsEntities(name)) {
+                    store.keep(name, group.getCollection(name));
+                } else {
+                    store.spill(name, group.getEntities(name), gson, output);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            store.close();
+            throw e;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            for (long position = 0; position < store.size; position += SEGMENT_SIZE) {
+                store.segments.add(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(SEGMENT_SIZE, store.size - position)));
+            }
+        } catch (IOException | RuntimeException e) {
+            store.close();
+            throw e;
+        }
+        // The type manager keeps the IDs of every type, which the bindings and type wrappers are still written with.
+        group.types().getAllRawTypes().clear();
+        group.types().getAllParameterizedTypes().clear();
+        group.types().getAllWildcardTypes().clear();
+        group.types().getAllTypeVariables().clear();
+        release(group.types());
+        release(group.parameters());
+        release(group.parameterLists());
+        release(group.methods());
+        release(group.fields());
+        release(group.constructors());
+        release(group.packages());
+        release(group.annotations());
+        LOG.info("Moved {} bytes of indexed entities to {}", store.size, file);
+        return store;
+    }
+
+    private static void release(TwoWayMapHolder<?, ?> holder) {
+        // Clearing unlocks the map, but nothing may be added to a group that has already been indexed.
+        holder.getTwoWayMap().clear();
+        holder.getTwoWayMap().toggleLock();
+    }
+
+    private void spill(String collection, Iterable<? extends JSONSerializable> values, Gson gson, OutputStream output) throws IOException {
+        long[] positions = new long[16];
+        int count = 0;
+        positions[0] = size;
+        for (JSONSerializable value : values) {
+            GenerationThrottle.INSTANCE.checkpoint();
+            byte[] json;
+            try {
+                var text = new StringWriter();
+                JsonWriter writer = gson.newJsonWriter(text);
+                writer.setLenient(true);
+                value.writeTo(writer);
+                writer.flush();
+                json = text.toString().getBytes(StandardCharsets.UTF_8);
+            } catch (final Throwable e) {
+                LOG.warn("Failed to convert JSONSerializable to JSONElement", e);
+                continue;
+            }
+            output.write(json);
+            size += json.length;
+            if (++count == positions.length) {
+                positions = Arrays.copyOf(positions, count * 2);
+            }
+            positions[count] = size;
+        }
+        offsets.put(collection, Arrays.copyOf(positions, count + 1));
+    }
+
+    private void keep(String collection, JSONSerializable values) {
+        offsets.put(collection, null);
+        heapCollections.put(collection, values);
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    private String read(long start, long end) {
+        byte[] bytes = new byte[Math.toIntExact(end - start)];
+        int copied = 0;
+        while (copied < bytes.length) {
+            long position = start + copied;
+            var segment = segments.get((int) (position / SEGMENT_SIZE));
+            int offset = (int) (position % SEGMENT_SIZE);
+            int length = Math.min(bytes.length - copied, segment.capacity() - offset);
+            segment.get(offset, bytes, copied, length);
+            copied += length;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public List<String> getCollectionNames() {
+        return List.copyOf(offsets.keySet());
+    }
+
+    @Override
+    public JSONSerializable getCollection(String name) {
+        if (heapCollections.containsKey(name)) {
+            return heapCollections.get(name);
+        }
+        var entities = getEntities(name);
+        return new JSONSerializable() {
+            @Override
+            public JsonElement toJSON() {
+                return JSONSerializable.of(entities);
+            }
+
+            @Override
+            public void writeTo(JsonWriter writer) throws IOException {
+                JSONSerializable.writeAll(writer, entities);
+            }
+        };
+    }
+
+    @Override
+    public List<? extends JSONSerializable> getEntities(String name) {
+        var positions = offsets.get(name);
+        if (positions == null) {
+            throw new UnsupportedOperationException(name + " are not stored as entities");
+        }
+        return new AbstractList<StoredEntity>() {
+            @Override
+            public StoredEntity get(int index) {
+                return new StoredEntity(read(positions[index], positions[index + 1]));
+            }
+
+            @Override
+            public int size() {
+                return positions.length - 1;
+            }
+        };
+    }
+
+    private record StoredEntity(String json) implements JSONSerializable {
+        @Override
+        public JsonElement toJSON() {
+            return JsonParser.parseString(json);
+        }
+
+        @Override
+        public void writeTo(JsonWriter writer) throws IOException {
+            writer.jsonValue(json);
+        }
+    }
+
+    /**
+     * Unmaps the entities and deletes the file.
+     * Mapped files cannot be deleted on some platforms until the mapping is collected, so the file is deleted on exit
+     * instead if it is still in use.
+     */
+    @Override
+    public void close() {
+        segments.clear();
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException e) {
+            LOG.debug("Failed to delete {}, deleting it on exit instead", file, e);
+            file.toFile().deleteOnExit();
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package pie.ilikepiefoo.kubejsoffline.core.impl;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import pie.ilikepiefoo.kubejsoffline.core.api.DocumentationProvider;
+import pie.ilikepiefoo.kubejsoffline.core.api.TypeNameMapper;
+import pie.ilikepiefoo.kubejsoffline.core.api.context.Binding;
+import pie.ilikepiefoo.kubejsoffline.core.api.context.BindingsProvider;
+import pie.ilikepiefoo.kubejsoffline.core.api.context.TypeWrapper;
+import pie.ilikepiefoo.kubejsoffline.core.api.context.TypeWrapperProvider;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Describes the inputs a documentation page was generated from, partitioned by the code source (jar, directory or
+ * module) each class was loaded from.
+ * <p>
+ * Every partition has a fingerprint made from its location on disk and the names of its classes. The bindings, type
+ * wrappers and event classes form one more partition, and the settings that change what is written form another. When
+ * no partition changed since the last run, the page written by that run can be reused as it is.
+ */
+public class RegenerationManifest {
+    public static final Logger LOG = LogManager.getLogger();
+    private static final int VERSION = 1;
+    private static final String CONTEXT_PARTITION = "#context";
+    private static final String OUTPUT_PARTITION = "#output";
+
+    private final Map<String, String> partitions;
+
+    public RegenerationManifest(Map<String, String> partitions) {
+        this.partitions = new TreeMap<>(partitions);
+    }
+
+    /**
+     * Creates the manifest for the current run.
+     *
+     * @param classes      The classes found by the reflection helper.
+     * @param eventClasses The event classes of the reflection helper.
+     * @param provider     The provider of the bindings, type wrappers and output settings of the current run.
+     * @return The manifest describing the current run.
+     */
+    public static RegenerationManifest create(Class<?>[] classes, Class<?>[] eventClasses, DocumentationProvider provider) {
+        BindingsProvider bindingsProvider = provider.getBindingsProvider();
+        TypeWrapperProvider typeWrapperProvider = provider.getTypeWrapperProvider();
+        Map<String, List<Class<?>>> byCodeSource = Stream.concat(Arrays.stream(classes), Stream.of(DocumentationProvider.class))
+                .parallel()
+                .collect(Collectors.groupingByConcurrent(RegenerationManifest::getCodeSource));
+        Map<String, String> partitions = new HashMap<>();
+        byCodeSource.forEach((codeSource, members) -> partitions.put(codeSource, fingerprint(codeSource, members)));
+
+        List<String> context = new ArrayList<>();
+        for (Binding binding : bindingsProvider.getBindings()) {
+            context.add("binding:" + binding.getName() + ":" + typeName(binding.getType()) + ":" + new TreeSet<>(binding.getScopes()) + ":" + canonicalize(binding.getData()));
+        }
+        for (TypeWrapper typeWrapper : typeWrapperProvider.getTypeWrappers()) {
+            context.add("wrapper:" + typeName(typeWrapper.getWrappedType()) + ":" + typeWrapper.getSupportedTypes().stream().map(RegenerationManifest::typeName).sorted().toList());
+        }
+        for (Class<?> eventClass : eventClasses) {
+            context.add("event:" + eventClass.getName());
+        }
+        partitions.put(CONTEXT_PARTITION, hash(context));
+        partitions.put(OUTPUT_PARTITION, hash(describeOutput(provider)));
+        return new RegenerationManifest(partitions);
+    }
+
+    /**
+     * Checks that everything the given provider writes next to the page is still there, so a page is not reused once
+     * its data shards or reports were deleted.
+     *
+     * @param outputFile The documentation page.
+     * @param provider   The provider of the output settings of the current run.
+     * @return True if the page and every file written alongside it exist.
+     */
+    public static boolean isOutputComplete(File outputFile, DocumentationProvider provider) {
+        if (!outputFile.isFile()) {
+            return false;
+        }
+        if (provider.getDataShardSize() > 0 && !ShardedEntityCollections.getShardDirectory(outputFile).isDirectory()) {
+            return false;
+        }
+        if (provider.isFingerprintOutput() && !EntityFingerprints.getFingerprintFile(outputFile).isFile()) {
+            return false;
+        }
+        return !provider.isProfilingOutput() || (GenerationProfiler.getTextReportFile(outputFile).isFile() && GenerationProfiler.getJsonReportFile(outputFile).isFile());
+    }
+
+    /**
+     * @param outputFile The documentation page.
+     * @return The file the manifest of the given page is stored in.
+     */
+    public static File getManifestFile(File outputFile) {
+        return new File(outputFile.getParentFile(), outputFile.getName() + ".manifest.json");
+    }
+
+    /**
+     * Reads a manifest written by {@link #write(File)}.
+     *
+     * @param file The file to read.
+     * @return The manifest, or null if it is missing, outdated or unreadable.
+     */
+    @Nullable
+    public static RegenerationManifest read(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
+            if (!json.has("version") || json.get("version").getAsInt() != VERSION) {
+                return null;
+            }
+            Map<String, String> partitions = new HashMap<>();
+            for (Map.Entry<String, JsonElement> entry : json.getAsJsonObject("partitions").entrySet()) {
+                partitions.put(entry.getKey(), entry.getValue().getAsString());
+            }
+            return new RegenerationManifest(partitions);
+        } catch (final Throwable e) {
+            LOG.warn("Failed to read regeneration manifest {}", file, e);
+            return null;
+        }
+    }
+
+    public void write(File file) {
+        JsonObject partitionsJson = new JsonObject();
+        partitions.forEach(partitionsJson::addProperty);
+        JsonObject json = new JsonObject();
+        json.addProperty("version", VERSION);
+        json.add("partitions", partitionsJson);
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(json.toString());
+        } catch (final IOException e) {
+            LOG.warn("Failed to write regeneration manifest {}", file, e);
+        }
+    }
+
+    /**
+     * @param previous The manifest of the previous run, or null if there is none.
+     * @return Every partition that was added, removed or changed since the previous run.
+     */
+    public Set<String> getChangedPartitions(@Nullable RegenerationManifest previous) {
+        Set<String> changed = new TreeSet<>();
+        if (previous == null) {
+            changed.addAll(partitions.keySet());
+            return changed;
+        }
+        partitions.forEach((partition, fingerprint) -> {
+            if (!fingerprint.equals(previous.partitions.get(partition))) {
+                changed.add(partition);
+            }
+        });
+        for (String partition : previous.partitions.keySet()) {
+            if (!partitions.containsKey(partition)) {
+                changed.add(partition);
+            }
+        }
+        return changed;
+    }
+
+    public int getPartitionCount() {
+        return partitions.size();
+    }
+
+    private static String getCodeSource(Class<?> clazz) {
+        try {
+            var codeSource = clazz.getProtectionDomain().getCodeSource();
+            if (codeSource != null && codeSource.getLocation() != null) {
+                return codeSource.getLocation().toString();
+            }
+        } catch (final SecurityException ignored) {
+            // Fall back to the module below.
+        }
+        Module module = clazz.getModule();
+        if (module.isNamed()) {
+            return "module:" + module.getName();
+        }
+        return "unknown";
+    }
+
+    private static String fingerprint(String codeSource, List<Class<?>> members) {
+        List<String> parts = new ArrayList<>();
+        parts.add(describeLocation(codeSource));
+        members.stream().map(Class::getName).sorted().forEach(parts::add);
+        return hash(parts);
+    }
+
+    /**
+     * Describes the state of a code source on disk, so that rebuilt jars and recompiled directories are noticed even
+     * when they contain the same classes.
+     */
+    private static String describeLocation(String codeSource) {
+        if (codeSource.startsWith("module:")) {
+            // Modules without a file are part of the runtime image.
+            return Runtime.version().toString();
+        }
+        Path path;
+        try {
+            path = Paths.get(URI.create(codeSource));
+        } catch (final IllegalArgumentException | FileSystemNotFoundException e) {
+            return "";
+        }
+        try {
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> files = Files.walk(path)) {
+                    long[] summary = files
+                            .map(RegenerationManifest::readAttributes)
+                            .filter((attributes) -> attributes != null && attributes.isRegularFile())
+                            .map((attributes) -> new long[]{1, attributes.size(), attributes.lastModifiedTime().toMillis()})
+                            .reduce(new long[3], (a, b) -> new long[]{a[0] + b[0], a[1] + b[1], Math.max(a[2], b[2])});
+                    return "dir:" + summary[0] + ":" + summary[1] + ":" + summary[2];
+                }
+            }
+            return "file:" + Files.size(path) + ":" + Files.getLastModifiedTime(path).toMillis();
+        } catch (final IOException e) {
+            return "";
+        }
+    }
+
+    @Nullable
+    private static BasicFileAttributes readAttributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (final IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Sorts the keys of every object, as the data of bindings backed by hash based maps has no stable order.
+     */
+    private static String canonicalize(@Nullable JsonElement element) {
+        if (element == null || !(element.isJsonObject() || element.isJsonArray())) {
+            return String.valueOf(element);
+        }
+        if (element.isJsonArray()) {
+            StringJoiner joiner = new StringJoiner(",", "[", "]");
+            element.getAsJsonArray().forEach((child) -> joiner.add(canonicalize(child)));
+            return joiner.toString();
+        }
+        Map<String, JsonElement> sorted = new TreeMap<>();
+        for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+            sorted.put(entry.getKey(), entry.getValue());
+        }
+        StringJoiner joiner = new StringJoiner(",", "{", "}");
+        sorted.forEach((key, value) -> joiner.add(key + ":" + canonicalize(value)));
+        return joiner.toString();
+    }
+
+    /**
+     * Describes the settings that change what is written, or which files are written next to the page.
+     */
+    private static List<String> describeOutput(DocumentationProvider provider) {
+        List<String> output = new ArrayList<>();
+        output.add("shardSize:" + Math.max(0, provider.getDataShardSize()));
+        output.add("compressed:" + provider.isCompressedOutput());
+        output.add("columnar:" + provider.isColumnarEncoding());
+        output.add("offHeap:" + provider.isOffHeapEntityStore());
+        output.add("fingerprints:" + provider.isFingerprintOutput());
+        output.add("profiling:" + provider.isProfilingOutput());
+        output.add("typeNameMapper:" + mapperName(provider.getTypeNameMapper()));
+        output.add("excluded:" + new TreeSet<>(provider.getExcludedClasses()));
+        output.add("classTimeLimit:" + Math.max(0, provider.getClassTimeLimitMillis()));
+        return output;
+    }
+
+    private static String mapperName(@Nullable TypeNameMapper mapper) {
+        if (mapper == null) {
+            return "none";
+        }
+        // The name of a lambda ends with an address that changes from run to run.
+        String name = mapper.getClass().getName();
+        int lambda = name.indexOf("$$Lambda");
+        return lambda < 0 ? name : name.substring(0, lambda);
+    }
+
+    private static String typeName(Type type) {
+        return type == null ? "null" : type.getTypeName();
+    }
+
+    private static String hash(List<String> parts) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        for (String part : parts) {
+            digest.update(part.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
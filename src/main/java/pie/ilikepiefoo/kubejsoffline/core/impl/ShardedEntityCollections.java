@@ -0,0 +1,156 @@
+package pie.ilikepiefoo.kubejsoffline.core.impl;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import pie.ilikepiefoo.kubejsoffline.core.api.JSONSerializable;
+import pie.ilikepiefoo.kubejsoffline.core.api.collection.EntityCollections;
+import pie.ilikepiefoo.kubejsoffline.core.util.GenerationThrottle;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes the DATA constant with its largest collections split into sibling script files of the documentation page.
+ * <p>
+ * Each sharded collection is written as a descriptor holding the total length, the shard files relative to the page
+ * and the index each shard starts at. Every shard file registers its entities as a single JSON string, which the page
+ * only parses once an entity of that shard is accessed.
+ */
+public class ShardedEntityCollections implements JSONSerializable {
+    public static final Logger LOG = LogManager.getLogger();
+    public static final Set<String> SHARDED_COLLECTIONS = Set.of("types", "methods", "fields");
+
+    private final EntityCollections data;
+    private final File directory;
+    private final int shardSize;
+    private final Gson gson;
+    private long writtenBytes;
+
+    public ShardedEntityCollections(EntityCollections data, File directory, int shardSize, Gson gson) {
+        this.data = data;
+        this.directory = directory;
+        this.shardSize = Math.max(1, shardSize);
+        this.gson = gson;
+    }
+
+    public static File getShardDirectory(File outputFile) {
+        String name = outputFile.getName();
+        int extension = name.lastIndexOf('.');
+        return new File(outputFile.getParentFile(), (extension > 0 ? name.substring(0, extension) : name) + "-data");
+    }
+
+    /**
+     * @return The total size of the shard files written so far.
+     */
+    public long getWrittenBytes() {
+        return writtenBytes;
+    }
+
+    /**
+     * The tree form is used outside the documentation page, so it is not sharded.
+     */
+    @Override
+    public JsonElement toJSON() {
+        return data.toJSON();
+    }
+
+    @Override
+    public void writeTo(JsonWriter writer) throws IOException {
+        prepareDirectory();
+        writer.beginObject();
+        for (String name : data.getCollectionNames()) {
+            writer.name(name);
+            if (SHARDED_COLLECTIONS.contains(name) && data.isWrittenAsEntities(name)) {
+                writeShards(name, writer);
+            } else {
+                data.getCollection(name).writeTo(writer);
+            }
+        }
+        writer.endObject();
+    }
+
+    private void prepareDirectory() throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Failed to create the data shard directory: " + directory);
+        }
+        // Shards of a previous run would otherwise linger next to the new ones.
+        File[] staleShards = directory.listFiles((dir, name) -> name.endsWith(".js"));
+        if (staleShards != null) {
+            for (File staleShard : staleShards) {
+                if (!staleShard.delete()) {
+                    LOG.warn("Failed to delete stale data shard: {}", staleShard);
+                }
+            }
+        }
+    }
+
+    private void writeShards(String collection, JsonWriter writer) throws IOException {
+        var entities = data.getEntities(collection);
+        List<String> files = new ArrayList<>();
+        List<Integer> offsets = new ArrayList<>();
+        int length = 0;
+        for (int start = 0; start < entities.size(); start += shardSize) {
+            var text = new StringWriter();
+            JsonWriter shardWriter = gson.newJsonWriter(text);
+            shardWriter.setLenient(true);
+            shardWriter.beginArray();
+            int written = 0;
+            for (var entity : entities.subList(start, Math.min(entities.size(), start + shardSize))) {
+                GenerationThrottle.INSTANCE.checkpoint();
+                try {
+                    entity.writeTo(shardWriter);
+                    written++;
+                } catch (final IOException e) {
+                    throw e;
+                } catch (final Throwable e) {
+                    LOG.warn("Failed to convert JSONSerializable to JSONElement", e);
+                }
+            }
+            shardWriter.endArray();
+            shardWriter.flush();
+
+            String fileName = collection + "-" + files.size() + ".js";
+            File file = new File(directory, fileName);
+            try (Writer fileWriter = new BufferedWriter(new FileWriter(file, StandardCharsets.UTF_8))) {
+                fileWriter.write("registerDataShard(\"" + collection + "\", " + files.size() + ", ");
+                JsonWriter stringWriter = gson.newJsonWriter(fileWriter);
+                stringWriter.setLenient(true);
+                stringWriter.value(text.toString());
+                stringWriter.flush();
+                fileWriter.write(");\n");
+            }
+            writtenBytes += file.length();
+            files.add(directory.getName() + "/" + fileName);
+            offsets.add(length);
+            length += written;
+        }
+        offsets.add(length);
+
+        writer.beginObject();
+        writer.name("length").value(length);
+        writer.name("files");
+        writer.beginArray();
+        for (String file : files) {
+            writer.value(file);
+        }
+        writer.endArray();
+        writer.name("offsets");
+        writer.beginArray();
+        for (int offset : offsets) {
+            writer.value(offset);
+        }
+        writer.endArray();
+        writer.endObject();
+    }
+}
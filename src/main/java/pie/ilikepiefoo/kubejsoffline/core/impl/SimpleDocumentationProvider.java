@@ -7,12 +7,30 @@ import pie.ilikepiefoo.kubejsoffline.core.api.TypeNameMapper;
 import pie.ilikepiefoo.kubejsoffline.core.api.context.BindingsProvider;
 import pie.ilikepiefoo.kubejsoffline.core.api.context.TypeWrapperProvider;
 
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
 public record SimpleDocumentationProvider(
         ReflectionHelper getReflectionHelper,
         DocumentationBridge getDocumentationBridge,
         TypeNameMapper getTypeNameMapper,
         BindingsProvider getBindingsProvider,
-        TypeWrapperProvider getTypeWrapperProvider
+        TypeWrapperProvider getTypeWrapperProvider,
+        int getIndexingParallelism,
+        boolean isIncrementalRegeneration,
+        boolean isOffHeapEntityStore,
+        int getDataShardSize,
+        boolean isCompressedOutput,
+        boolean isColumnarEncoding,
+        boolean isFingerprintOutput,
+        int getGenerationParallelism,
+        ForkJoinPool getGenerationPool,
+        int getThrottleWorkMillis,
+        int getThrottlePeriodMillis,
+        double getHeapPressureThreshold,
+        int getClassTimeLimitMillis,
+        Set<String> getExcludedClasses,
+        boolean isProfilingOutput
 ) implements DocumentationProvider {
     public SimpleDocumentationProvider(
             ReflectionHelper reflectionHelper,
@@ -22,12 +40,40 @@ public record SimpleDocumentationProvider(
         this(reflectionHelper, bridge, mapper, BindingsProvider.of(), TypeWrapperProvider.of());
     }
 
+    /**
+     * Uses the defaults of {@link DocumentationProvider} for every other option. Use the {@link Builder} to change them.
+     */
+    public SimpleDocumentationProvider(
+            ReflectionHelper reflectionHelper,
+            DocumentationBridge bridge,
+            TypeNameMapper mapper,
+            BindingsProvider bindingsProvider,
+            TypeWrapperProvider typeWrapperProvider
+    ) {
+        this(reflectionHelper, bridge, mapper, bindingsProvider, typeWrapperProvider, 1, false, false, 0, false, false, false, ForkJoinPool.getCommonPoolParallelism(), null, 0, 50, 0, 0, Set.of(), false);
+    }
+
     public static class Builder {
         private ReflectionHelper reflectionHelper;
         private DocumentationBridge bridge;
         private TypeNameMapper mapper;
         private BindingsProvider bindingsProvider;
         private TypeWrapperProvider typeWrapperProvider;
+        private int indexingParallelism;
+        private boolean incrementalRegeneration;
+        private boolean offHeapEntityStore;
+        private int dataShardSize;
+        private boolean compressedOutput;
+        private boolean columnarEncoding;
+        private boolean fingerprintOutput;
+        private int generationParallelism;
+        private ForkJoinPool generationPool;
+        private int throttleWorkMillis;
+        private int throttlePeriodMillis;
+        private double heapPressureThreshold;
+        private int classTimeLimitMillis;
+        private Set<String> excludedClasses;
+        private boolean profilingOutput;
 
         public Builder() {
             this.reflectionHelper = new DefaultReflectionHelper();
@@ -35,6 +81,21 @@ public record SimpleDocumentationProvider(
             this.mapper = null;
             this.bindingsProvider = BindingsProvider.of();
             this.typeWrapperProvider = TypeWrapperProvider.of();
+            this.indexingParallelism = 1;
+            this.incrementalRegeneration = false;
+            this.offHeapEntityStore = false;
+            this.dataShardSize = 0;
+            this.compressedOutput = false;
+            this.columnarEncoding = false;
+            this.fingerprintOutput = false;
+            this.generationParallelism = ForkJoinPool.getCommonPoolParallelism();
+            this.generationPool = null;
+            this.throttleWorkMillis = 0;
+            this.throttlePeriodMillis = 50;
+            this.heapPressureThreshold = 0;
+            this.classTimeLimitMillis = 0;
+            this.excludedClasses = Set.of();
+            this.profilingOutput = false;
         }
 
         public static Builder create() {
@@ -66,8 +127,83 @@ public record SimpleDocumentationProvider(
             return this;
         }
 
+        public Builder setIndexingParallelism(int indexingParallelism) {
+            this.indexingParallelism = indexingParallelism;
+            return this;
+        }
+
+        public Builder setIncrementalRegeneration(boolean incrementalRegeneration) {
+            this.incrementalRegeneration = incrementalRegeneration;
+            return this;
+        }
+
+        public Builder setOffHeapEntityStore(boolean offHeapEntityStore) {
+            this.offHeapEntityStore = offHeapEntityStore;
+            return this;
+        }
+
+        public Builder setDataShardSize(int dataShardSize) {
+            this.dataShardSize = dataShardSize;
+            return this;
+        }
+
+        public Builder setCompressedOutput(boolean compressedOutput) {
+            this.compressedOutput = compressedOutput;
+            return this;
+        }
+
+        public Builder setColumnarEncoding(boolean columnarEncoding) {
+            this.columnarEncoding = columnarEncoding;
+            return this;
+        }
+
+        public Builder setFingerprintOutput(boolean fingerprintOutput) {
+            this.fingerprintOutput = fingerprintOutput;
+            return this;
+        }
+
+        public Builder setGenerationParallelism(int generationParallelism) {
+            this.generationParallelism = generationParallelism;
+            return this;
+        }
+
+        public Builder setGenerationPool(ForkJoinPool generationPool) {
+            this.generationPool = generationPool;
+            return this;
+        }
+
+        public Builder setThrottleWorkMillis(int throttleWorkMillis) {
+            this.throttleWorkMillis = throttleWorkMillis;
+            return this;
+        }
+
+        public Builder setThrottlePeriodMillis(int throttlePeriodMillis) {
+            this.throttlePeriodMillis = throttlePeriodMillis;
+            return this;
+        }
+
+        public Builder setHeapPressureThreshold(double heapPressureThreshold) {
+            this.heapPressureThreshold = heapPressureThreshold;
+            return this;
+        }
+
+        public Builder setClassTimeLimitMillis(int classTimeLimitMillis) {
+            this.classTimeLimitMillis = classTimeLimitMillis;
+            return this;
+        }
+
+        public Builder setExcludedClasses(Set<String> excludedClasses) {
+            this.excludedClasses = excludedClasses;
+            return this;
+        }
+
+        public Builder setProfilingOutput(boolean profilingOutput) {
+            this.profilingOutput = profilingOutput;
+            return this;
+        }
+
         public SimpleDocumentationProvider build() {
-            return new SimpleDocumentationProvider(reflectionHelper, bridge, mapper, bindingsProvider, typeWrapperProvider);
+            return new SimpleDocumentationProvider(reflectionHelper, bridge, mapper, bindingsProvider, typeWrapperProvider, indexingParallelism, incrementalRegeneration, offHeapEntityStore, dataShardSize, compressedOutput, columnarEncoding, fingerprintOutput, generationParallelism, generationPool, throttleWorkMillis, throttlePeriodMillis, heapPressureThreshold, classTimeLimitMillis, excludedClasses, profilingOutput);
         }
     }
 }
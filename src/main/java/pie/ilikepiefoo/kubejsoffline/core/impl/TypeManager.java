@@ -4,6 +4,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.property.ExecutableData;
 import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.property.TypeData;
+import pie.ilikepiefoo.kubejsoffline.core.api.identifier.Index;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeOrTypeVariableID;
 import pie.ilikepiefoo.kubejsoffline.core.impl.datastructure.ConstructorWrapper;
@@ -14,6 +15,7 @@ import pie.ilikepiefoo.kubejsoffline.core.impl.datastructure.TypeVariableWrapper
 import pie.ilikepiefoo.kubejsoffline.core.impl.datastructure.WildcardTypeWrapper;
 import pie.ilikepiefoo.kubejsoffline.core.impl.identifier.ArrayIdentifier;
 import pie.ilikepiefoo.kubejsoffline.core.util.SafeOperations;
+import pie.ilikepiefoo.kubejsoffline.core.util.jfr.TypeLookupEvent;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Executable;
@@ -23,13 +25,33 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 public class TypeManager {
     public static final Logger LOG = LogManager.getLogger();
     public static final TypeManager INSTANCE = new TypeManager(CollectionGroup.INSTANCE);
-    protected final Map<Type, TypeOrTypeVariableID> cache = new HashMap<>();
+    /**
+     * Raw classes are kept apart from other types, as {@link Class} uses identity equality and hashing which is much
+     * cheaper than the structural equality of generic types.
+     */
+    protected final Map<Class<?>, TypeOrTypeVariableID> classCache = new ConcurrentHashMap<>();
+    protected final Map<Type, TypeOrTypeVariableID> cache = new ConcurrentHashMap<>();
+    /**
+     * Parameterized and wildcard types are hash-consed by the identifiers of the types they are made of, rather than
+     * keyed by the JDK types, whose structural hashing and equality walk the whole type on every lookup. Generic types
+     * made of the same types share one entry, whichever declaration they came from.
+     */
+    protected final Map<GenericTypeNode, TypeOrTypeVariableID> genericCache = new ConcurrentHashMap<>();
+    /**
+     * Parameterized and wildcard types by the JDK instance they were resolved from, so looking up the same instance
+     * again is a single lookup instead of resolving every type it is made of.
+     */
+    protected final Map<IdentityKey, TypeOrTypeVariableID> genericInstanceCache = new ConcurrentHashMap<>();
 
     protected final CollectionGroup collectionGroup;
 
@@ -37,16 +59,60 @@ public class TypeManager {
         this.collectionGroup = group;
     }
 
-    public synchronized TypeOrTypeVariableID getID(final Type type) {
+    public TypeOrTypeVariableID getID(final Type type) {
+        return getID(type, true);
+    }
+
+    /**
+     * @param reference Whether the lookup counts as a reference to the type. The types a generic type is made of are
+     *                  only referenced once, when the generic type is first registered, rather than on every lookup.
+     */
+    private TypeOrTypeVariableID getID(final Type type, final boolean reference) {
         if (type == null) {
             throw new NullPointerException("Type cannot be null");
         }
+        // Types are only ever cached after they have been verified, so a cache hit can skip the verification.
+        var cached = getCached(type);
+        if (cached != null) {
+            return reference ? cached.getSelfWithReference() : cached;
+        }
+        TypeLookupEvent event = new TypeLookupEvent();
+        event.begin();
+        try {
+            return resolve(type, reference);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.typeName = type.getTypeName();
+                event.commit();
+            }
+        }
+    }
+
+    private TypeOrTypeVariableID getCached(final Type type) {
+        if (type instanceof Class<?> clazz) {
+            return classCache.get(clazz);
+        }
+        if (type instanceof TypeVariable<?>) {
+            return cache.get(type);
+        }
+        if (type instanceof ParameterizedType || type instanceof WildcardType) {
+            return genericInstanceCache.get(new IdentityKey(type));
+        }
+        return null;
+    }
+
+    private TypeOrTypeVariableID resolve(final Type type, final boolean reference) {
+        // Generic types are verified through the types they are made of.
+        if (type instanceof ParameterizedType parameterizedType) {
+            return resolve(parameterizedType, reference);
+        }
+        if (type instanceof WildcardType wildcardType) {
+            return resolve(wildcardType, reference);
+        }
         if (SafeOperations.isTypeNotLoaded(type)) {
             throw new UnsupportedOperationException("Type " + type + " is not fully loaded");
         }
-        if (cache.containsKey(type)) {
-            return cache.get(type).getSelfWithReference();
-        }
         int arrayDepth = 0;
         var currentType = type;
         while (currentType instanceof Class<?> clazz && clazz.isArray()) {
@@ -58,28 +124,76 @@ public class TypeManager {
             currentType = genericArrayType.getGenericComponentType();
         }
         if (arrayDepth > 0) {
-            return new TypeIdentifier(getID(currentType), arrayDepth);
+            return new TypeIdentifier(getID(currentType, reference), arrayDepth);
         }
         // Raw Type
         if (type instanceof Class<?> clazz) {
-            return cache(clazz, new RawClassWrapper(collectionGroup, clazz));
-        }
-        // Parameterized Type
-        if (type instanceof ParameterizedType parameterizedType) {
-            return cache(parameterizedType, new ParameterizedTypeWrapper(collectionGroup, parameterizedType));
-        }
-        // WildcardType
-        if (type instanceof WildcardType wildcardType) {
-            return cache(wildcardType, new WildcardTypeWrapper(collectionGroup, wildcardType));
+            return getOrRegister(classCache, clazz, () -> new RawClassWrapper(collectionGroup, clazz), reference, List.of());
         }
         // TypeVariable
         if (type instanceof TypeVariable<?> typeVariable) {
-            return cache(typeVariable, new TypeVariableWrapper(collectionGroup, typeVariable));
+            return getOrRegister(cache, typeVariable, () -> new TypeVariableWrapper(collectionGroup, typeVariable), reference, List.of());
         }
         throw new IllegalArgumentException("Type " + type + " is not supported");
     }
 
-    public synchronized ExecutableData getData(final Executable executable) {
+    private TypeOrTypeVariableID resolve(final ParameterizedType parameterizedType, final boolean reference) {
+        TypeID rawType = getID(parameterizedType.getRawType(), false).asType();
+        TypeID ownerType = parameterizedType.getOwnerType() == null ? null : getID(parameterizedType.getOwnerType(), false).asType();
+        List<TypeOrTypeVariableID> arguments = resolveAll(parameterizedType.getActualTypeArguments(), null);
+        List<Index> children = new ArrayList<>(arguments.size() + 2);
+        children.add(rawType);
+        children.add(ownerType);
+        children.addAll(arguments);
+        var id = getOrRegister(
+                genericCache,
+                GenericTypeNode.of(GenericTypeNode.PARAMETERIZED, children),
+                () -> new ParameterizedTypeWrapper(collectionGroup, parameterizedType, rawType, ownerType, arguments),
+                reference,
+                children
+        );
+        genericInstanceCache.putIfAbsent(new IdentityKey(parameterizedType), id);
+        return id;
+    }
+
+    private TypeOrTypeVariableID resolve(final WildcardType wildcardType, final boolean reference) {
+        // Object bounds are implied, so they are left out the same way the wildcard is written.
+        List<TypeOrTypeVariableID> extendsBounds = resolveAll(wildcardType.getUpperBounds(), Object.class);
+        List<TypeOrTypeVariableID> superBounds = resolveAll(wildcardType.getLowerBounds(), Object.class);
+        // The extends bounds are separated from the super bounds by a null.
+        List<Index> children = new ArrayList<>(extendsBounds.size() + superBounds.size() + 1);
+        children.addAll(extendsBounds);
+        children.add(null);
+        children.addAll(superBounds);
+        var id = getOrRegister(
+                genericCache,
+                GenericTypeNode.of(GenericTypeNode.WILDCARD, children),
+                () -> new WildcardTypeWrapper(collectionGroup, wildcardType, extendsBounds, superBounds),
+                reference,
+                children
+        );
+        genericInstanceCache.putIfAbsent(new IdentityKey(wildcardType), id);
+        return id;
+    }
+
+    /**
+     * Unlike {@link CollectionGroup#of(Type[])}, a type that cannot be resolved fails the whole lookup instead of being
+     * left out.
+     */
+    private List<TypeOrTypeVariableID> resolveAll(final Type[] types, final Type ignoredType) {
+        List<TypeOrTypeVariableID> ids = new ArrayList<>(types.length);
+        for (Type type : types) {
+            if (type == null) {
+                throw new UnsupportedOperationException("Type argument is missing");
+            }
+            if (type != ignoredType) {
+                ids.add(getID(type, false));
+            }
+        }
+        return ids;
+    }
+
+    public ExecutableData getData(final Executable executable) {
         if (executable == null) {
             throw new NullPointerException("Executable cannot be null");
         }
@@ -92,20 +206,107 @@ public class TypeManager {
         throw new IllegalArgumentException("Executable " + executable + " is not supported");
     }
 
-    private TypeOrTypeVariableID cache(Type type, TypeData data) {
-        var id = collectionGroup.types().addType(data).getSelfWithReference();
-        cache.put(type, id);
-        data.setIndex(id);
-        return id;
+    /**
+     * Registers a missing type while holding the lock of the types collection, which registering takes anyway, rather
+     * than the lock of a cache bin. Checking the cache again under that lock means only one thread registers each key,
+     * so the types it is made of are referenced exactly once, however many threads missed it at once.
+     *
+     * @param children The types the registered type is made of, which are referenced once it is registered.
+     */
+    private <K> TypeOrTypeVariableID getOrRegister(Map<K, TypeOrTypeVariableID> map, K key, Supplier<TypeData> data, boolean reference, List<? extends Index> children) {
+        var cached = map.get(key);
+        if (cached == null) {
+            var wrapper = data.get();
+            synchronized (collectionGroup.types()) {
+                cached = map.get(key);
+                if (cached == null) {
+                    cached = register(wrapper);
+                    map.put(key, cached);
+                    for (Index child : children) {
+                        if (child != null) {
+                            // An array of a type references the type itself.
+                            ArrayIdentifier.getIdentity(child).getSelfWithReference();
+                        }
+                    }
+                }
+            }
+        }
+        return reference ? cached.getSelfWithReference() : cached;
     }
 
-    private TypeID cache(Type type, TypeID id) {
-        cache.put(type, id);
+    private TypeOrTypeVariableID register(TypeData data) {
+        var id = collectionGroup.types().addType(data);
+        data.setIndex(id);
         return id;
     }
 
     public void clear() {
+        classCache.clear();
         cache.clear();
+        genericCache.clear();
+        genericInstanceCache.clear();
+    }
+
+    /**
+     * Compares JDK types by identity, as their own equality walks the whole type.
+     */
+    protected record IdentityKey(Type type) {
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(type);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof IdentityKey other && type == other.type;
+        }
+    }
+
+    /**
+     * A parameterized or wildcard type, by the identifiers of the types it is made of. Identifiers are compared by
+     * identity rather than by fingerprint or array index, so types that merely look alike are never merged. Array
+     * indexes are updated in place when collections are reorganized, so the same instances stay valid keys.
+     *
+     * @param children    The identifier that owns the array index of each type.
+     * @param arrayDepths The array depth of each type.
+     */
+    protected record GenericTypeNode(int kind, Index[] children, int[] arrayDepths) {
+        public static final int PARAMETERIZED = 0;
+        public static final int WILDCARD = 1;
+
+        public static GenericTypeNode of(int kind, List<? extends Index> types) {
+            Index[] children = new Index[types.size()];
+            int[] arrayDepths = new int[types.size()];
+            for (int i = 0; i < types.size(); i++) {
+                if (types.get(i) != null) {
+                    children[i] = ArrayIdentifier.getIdentity(types.get(i));
+                    arrayDepths[i] = ArrayIdentifier.getArrayDepth(types.get(i));
+                }
+            }
+            return new GenericTypeNode(kind, children, arrayDepths);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = 31 * kind + Arrays.hashCode(arrayDepths);
+            for (Index child : children) {
+                result = 31 * result + System.identityHashCode(child);
+            }
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof GenericTypeNode other) || kind != other.kind || children.length != other.children.length || !Arrays.equals(arrayDepths, other.arrayDepths)) {
+                return false;
+            }
+            for (int i = 0; i < children.length; i++) {
+                if (children[i] != other.children[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
     }
 
     public static class TypeIdentifier extends ArrayIdentifier implements TypeOrTypeVariableID {
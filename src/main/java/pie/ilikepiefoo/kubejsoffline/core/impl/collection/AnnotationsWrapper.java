@@ -1,17 +1,27 @@
 package pie.ilikepiefoo.kubejsoffline.core.impl.collection;
 
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
 import pie.ilikepiefoo.kubejsoffline.core.api.JSONSerializable;
 import pie.ilikepiefoo.kubejsoffline.core.api.collection.Annotations;
 import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.AnnotationData;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.AnnotationID;
 import pie.ilikepiefoo.kubejsoffline.core.impl.identifier.IdentifierBase;
 
+import java.io.IOException;
 import java.util.Iterator;
 import java.util.NavigableMap;
 
 public class AnnotationsWrapper implements Annotations {
-    protected final TwoWayMap<AnnotationID, AnnotationData> data = new TwoWayMap<>(AnnotationIdentifier::new);
+    protected final TwoWayMap<AnnotationID, AnnotationData> data;
+
+    public AnnotationsWrapper() {
+        this(new DenseTwoWayMap<>(AnnotationIdentifier::new));
+    }
+
+    public AnnotationsWrapper(TwoWayMap<AnnotationID, AnnotationData> data) {
+        this.data = data;
+    }
 
     @Override
     public void toggleLock() {
@@ -51,6 +61,11 @@ public class AnnotationsWrapper implements Annotations {
         return JSONSerializable.of(this.data.getValues());
     }
 
+    @Override
+    public void writeTo(JsonWriter writer) throws IOException {
+        JSONSerializable.writeAll(writer, this.data.getValues());
+    }
+
     @Override
     public TwoWayMap<AnnotationID, AnnotationData> getTwoWayMap() {
         return data;
@@ -1,17 +1,27 @@
 package pie.ilikepiefoo.kubejsoffline.core.impl.collection;
 
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
 import pie.ilikepiefoo.kubejsoffline.core.api.JSONSerializable;
 import pie.ilikepiefoo.kubejsoffline.core.api.collection.Constructors;
 import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.ConstructorData;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.ConstructorID;
 import pie.ilikepiefoo.kubejsoffline.core.impl.identifier.IdentifierBase;
 
+import java.io.IOException;
 import java.util.Iterator;
 import java.util.NavigableMap;
 
 public class ConstructorsWrapper implements Constructors {
-    protected final TwoWayMap<ConstructorID, ConstructorData> data = new TwoWayMap<>(ConstructorIdentifier::new);
+    protected final TwoWayMap<ConstructorID, ConstructorData> data;
+
+    public ConstructorsWrapper() {
+        this(new DenseTwoWayMap<>(ConstructorIdentifier::new));
+    }
+
+    public ConstructorsWrapper(TwoWayMap<ConstructorID, ConstructorData> data) {
+        this.data = data;
+    }
 
     @Override
     public void toggleLock() {
@@ -60,6 +70,11 @@ public class ConstructorsWrapper implements Constructors {
         return JSONSerializable.of(this.data.getValues());
     }
 
+    @Override
+    public void writeTo(JsonWriter writer) throws IOException {
+        JSONSerializable.writeAll(writer, this.data.getValues());
+    }
+
     @Override
     public TwoWayMap<ConstructorID, ConstructorData> getTwoWayMap() {
         return data;
@@ -0,0 +1,840 @@
+package pie.ilikepiefoo.kubejsoffline.core.impl.collection;
+
+import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.property.IndexedData;
+import pie.ilikepiefoo.kubejsoffline.core.api.identifier.Index;
+import pie.ilikepiefoo.kubejsoffline.core.api.identifier.IndexGenerator;
+import pie.ilikepiefoo.kubejsoffline.core.impl.GenerationProfiler;
+import pie.ilikepiefoo.kubejsoffline.core.util.Fingerprint;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntFunction;
+
+/**
+ * A {@link TwoWayMap} that stores its values in growable arrays keyed directly by the array index of each value.
+ * Values are found by index in constant time, and by value through an open-addressing hash table of array indexes.
+ * <p>
+ * The {@link NavigableMap}, {@link Map} and {@link Collection} views read through to the arrays, so like the views of
+ * {@link TwoWayMap} they always show the current contents. They are read-only.
+ */
+public class DenseTwoWayMap<INDEX extends Index, VALUE> extends TwoWayMap<INDEX, VALUE> {
+    private static final int DEFAULT_CAPACITY = 64;
+
+    protected Object[] values = new Object[DEFAULT_CAPACITY];
+    protected Index[] indexes = new Index[DEFAULT_CAPACITY];
+    /**
+     * The spread hash code of each value, checked before equality just like a {@link HashMap} would.
+     */
+    protected int[] hashes = new int[DEFAULT_CAPACITY];
+    /**
+     * Open-addressing table of array indexes, offset by one so that zero marks an empty slot.
+     * It is kept at most half full, and its length is always a power of two.
+     */
+    protected int[] slots = new int[DEFAULT_CAPACITY * 2];
+    /**
+     * The number of values stored, which is less than {@link #nextArrayIndex} when {@link #put} moved a value and left
+     * its old position empty.
+     */
+    protected int count;
+
+    public DenseTwoWayMap(IndexFactory<INDEX> indexFactory) {
+        super(indexFactory);
+    }
+
+    @Override
+    public Iterator<VALUE> iterator() {
+        return getValues().iterator();
+    }
+
+    @Override
+    public Collection<VALUE> getValues() {
+        return new IndexView(0, Integer.MAX_VALUE, false).values();
+    }
+
+    @Override
+    public Collection<VALUE> getValuesBetween(INDEX from, INDEX to) {
+        return getIndexToValueMap().subMap(from, true, to, true).values();
+    }
+
+    @Override
+    public synchronized INDEX getFirstIndex() {
+        int position = ceiling(0, 0, extent());
+        return position < 0 ? null : indexAt(position);
+    }
+
+    @Override
+    public synchronized INDEX getNextIndex(INDEX index) {
+        int position = ceiling(index.getArrayIndex() + 1, 0, extent());
+        return position < 0 ? null : indexAt(position);
+    }
+
+    @Override
+    public synchronized INDEX getLastIndex() {
+        int position = floor(extent() - 1, 0, extent());
+        return position < 0 ? null : indexAt(position);
+    }
+
+    @Override
+    public synchronized void reorganize(Comparator<VALUE> comparator) {
+        if (locked) {
+            throw new IllegalStateException("Cannot reorganize TwoWayMap while it is locked");
+        }
+        // Sorts a permutation of the positions in use, leaving out the ones put left empty.
+        int[] order = new int[count];
+        int live = 0;
+        for (int i = 0; i < extent(); i++) {
+            if (values[i] != null) {
+                order[live++] = i;
+            }
+        }
+        sort(order, (a, b) -> comparator.compare(valueAt(a), valueAt(b)));
+        Object[] sortedValues = new Object[values.length];
+        Index[] sortedIndexes = new Index[indexes.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedValues[i] = values[order[i]];
+            sortedIndexes[i] = indexes[order[i]];
+            if (sortedIndexes[i].getArrayIndex() != i) {
+                sortedIndexes[i].setArrayIndex(i);
+            }
+        }
+        values = sortedValues;
+        indexes = sortedIndexes;
+        nextArrayIndex.set(order.length);
+        rehash(slots.length);
+    }
+
+    @Override
+    public synchronized void put(INDEX index, VALUE value) {
+        if (locked) {
+            throw new IllegalStateException("Cannot modify TwoWayMap while it is locked");
+        }
+        int arrayIndex = index.getArrayIndex();
+        int previous = findSlot(value);
+        if (previous >= 0 && slots[previous] - 1 != arrayIndex) {
+            // The value moved, so its old position no longer belongs to it.
+            index.setFingerprint(indexes[slots[previous] - 1].getFingerprint());
+            values[slots[previous] - 1] = null;
+            indexes[slots[previous] - 1] = null;
+            count--;
+        }
+        if (previous < 0) {
+            GenerationProfiler.INSTANCE.onAdded(value);
+            index.setFingerprint(Fingerprint.ofValue(value));
+        }
+        ensureCapacity(arrayIndex + 1);
+        if (values[arrayIndex] == null) {
+            count++;
+        }
+        values[arrayIndex] = value;
+        indexes[arrayIndex] = index;
+        hashes[arrayIndex] = spread(value);
+        nextArrayIndex.accumulateAndGet(arrayIndex + 1, Math::max);
+        if (previous >= 0) {
+            slots[previous] = arrayIndex + 1;
+        } else {
+            insertSlot(arrayIndex);
+        }
+    }
+
+    @Override
+    public Collection<INDEX> getIndexes() {
+        return getIndexToValueMap().navigableKeySet();
+    }
+
+    @Override
+    public Map<VALUE, INDEX> getValueToIndexMap() {
+        return new ValueView();
+    }
+
+    @Override
+    public NavigableMap<INDEX, VALUE> getIndexToValueMap() {
+        return new IndexView(0, Integer.MAX_VALUE, false);
+    }
+
+    @Override
+    public synchronized INDEX add(VALUE value, IndexFactory<INDEX> indexFactory) {
+        if (locked) {
+            throw new IllegalStateException("Cannot modify TwoWayMap while it is locked");
+        }
+        int slot = findSlot(value);
+        if (slot >= 0) {
+            return withReference(indexAt(slots[slot] - 1));
+        }
+        int arrayIndex = nextArrayIndex.getAndIncrement();
+        INDEX index = indexFactory.createIndex(arrayIndex);
+        index.setFingerprint(Fingerprint.ofValue(value));
+        setIndex(value, index);
+        ensureCapacity(arrayIndex + 1);
+        values[arrayIndex] = value;
+        indexes[arrayIndex] = index;
+        hashes[arrayIndex] = spread(value);
+        insertSlot(arrayIndex);
+        count++;
+        GenerationProfiler.INSTANCE.onAdded(value);
+        if (value instanceof IndexGenerator) {
+            unindexed.add(value);
+        }
+        return index;
+    }
+
+    @Override
+    public synchronized boolean contains(VALUE value) {
+        return findSlot(value) >= 0;
+    }
+
+    @Override
+    public synchronized boolean contains(INDEX index) {
+        return isPresent(index.getArrayIndex());
+    }
+
+    @Override
+    public synchronized int size() {
+        return count;
+    }
+
+    @Override
+    public synchronized INDEX get(VALUE value) {
+        int slot = findSlot(value);
+        if (slot < 0) {
+            throw new NullPointerException("Value " + value + " is not present");
+        }
+        return withReference(indexAt(slots[slot] - 1));
+    }
+
+    @Override
+    public synchronized VALUE get(INDEX index) {
+        return isPresent(index.getArrayIndex()) ? valueAt(index.getArrayIndex()) : null;
+    }
+
+    @Override
+    public synchronized void clear() {
+        super.clear();
+        values = new Object[DEFAULT_CAPACITY];
+        indexes = new Index[DEFAULT_CAPACITY];
+        hashes = new int[DEFAULT_CAPACITY];
+        slots = new int[DEFAULT_CAPACITY * 2];
+        count = 0;
+    }
+
+    /**
+     * @return The number of positions handed out, including any left empty.
+     */
+    private int extent() {
+        return nextArrayIndex.get();
+    }
+
+    private boolean isPresent(int arrayIndex) {
+        return arrayIndex >= 0 && arrayIndex < extent() && values[arrayIndex] != null;
+    }
+
+    /**
+     * @return The lowest position in use that is at least the given position and inside the bounds, or -1.
+     */
+    private int ceiling(int position, int from, int to) {
+        int end = Math.min(to, extent());
+        for (int i = Math.max(position, from); i < end; i++) {
+            if (values[i] != null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return The highest position in use that is at most the given position and inside the bounds, or -1.
+     */
+    private int floor(int position, int from, int to) {
+        for (int i = Math.min(position, Math.min(to, extent()) - 1); i >= from; i--) {
+            if (values[i] != null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private VALUE valueAt(int arrayIndex) {
+        return (VALUE) values[arrayIndex];
+    }
+
+    @SuppressWarnings("unchecked")
+    private INDEX indexAt(int arrayIndex) {
+        return (INDEX) indexes[arrayIndex];
+    }
+
+    private static <I extends Index> I withReference(I index) {
+        index.getSelfWithReference();
+        return index;
+    }
+
+    /**
+     * The collections only ever hold values whose index type matches the index handed out by their own map.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void setIndex(Object value, Index index) {
+        if (value instanceof IndexedData indexedData) {
+            indexedData.setIndex(index);
+        }
+    }
+
+    /**
+     * A stable merge sort of positions, so reorganizing does not box every position to sort it with a comparator.
+     */
+    private static void sort(int[] positions, IntBinaryOperator comparator) {
+        int[] buffer = new int[positions.length];
+        int[] from = positions;
+        int[] to = buffer;
+        for (int width = 1; width < positions.length; width *= 2) {
+            for (int low = 0; low < positions.length; low += 2 * width) {
+                int middle = Math.min(low + width, positions.length);
+                int high = Math.min(low + 2 * width, positions.length);
+                int left = low;
+                int right = middle;
+                for (int i = low; i < high; i++) {
+                    if (left < middle && (right >= high || comparator.applyAsInt(from[left], from[right]) <= 0)) {
+                        to[i] = from[left++];
+                    } else {
+                        to[i] = from[right++];
+                    }
+                }
+            }
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+        if (from != positions) {
+            System.arraycopy(from, 0, positions, 0, positions.length);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= values.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, values.length * 2);
+        values = Arrays.copyOf(values, newCapacity);
+        indexes = Arrays.copyOf(indexes, newCapacity);
+        hashes = Arrays.copyOf(hashes, newCapacity);
+        if (newCapacity * 2 > slots.length) {
+            rehash(Integer.highestOneBit(newCapacity * 2 - 1) << 1);
+        }
+    }
+
+    /**
+     * Rebuilds the slot table, recomputing every hash as the hash codes of values may depend on the indexes they refer to.
+     */
+    private void rehash(int length) {
+        slots = new int[length];
+        for (int i = 0; i < extent(); i++) {
+            if (values[i] != null) {
+                hashes[i] = spread(values[i]);
+                insertSlot(i);
+            }
+        }
+    }
+
+    private static int spread(Object value) {
+        int hash = value.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * @return The slot holding the given value, or -1 if the value is not present.
+     */
+    private int findSlot(Object value) {
+        int hash = spread(value);
+        int mask = slots.length - 1;
+        for (int slot = hash & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int arrayIndex = slots[slot] - 1;
+            if (hashes[arrayIndex] == hash && value.equals(values[arrayIndex])) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void insertSlot(int arrayIndex) {
+        int mask = slots.length - 1;
+        int slot = hashes[arrayIndex] & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = arrayIndex + 1;
+    }
+
+    /**
+     * The values of the positions between from, inclusive, and to, exclusive, read from the arrays on every call.
+     */
+    private class IndexView extends AbstractMap<INDEX, VALUE> implements NavigableMap<INDEX, VALUE> {
+        private final int from;
+        private final int to;
+        private final boolean descending;
+
+        private IndexView(int from, int to, boolean descending) {
+            this.from = Math.max(from, 0);
+            this.to = Math.max(to, this.from);
+            this.descending = descending;
+        }
+
+        private static int position(Object key) {
+            return key instanceof Index index ? index.getArrayIndex() : -1;
+        }
+
+        private boolean inRange(int position) {
+            return position >= from && position < to;
+        }
+
+        /**
+         * @return The position of the nearest entry at or after the given position in the order of this view, or -1.
+         */
+        private int atOrAfter(int position) {
+            synchronized (DenseTwoWayMap.this) {
+                return descending ? floor(position, from, to) : ceiling(position, from, to);
+            }
+        }
+
+        /**
+         * @return The position of the nearest entry at or before the given position in the order of this view, or -1.
+         */
+        private int atOrBefore(int position) {
+            synchronized (DenseTwoWayMap.this) {
+                return descending ? ceiling(position, from, to) : floor(position, from, to);
+            }
+        }
+
+        private int step(int position) {
+            return descending ? position - 1 : position + 1;
+        }
+
+        private int stepBack(int position) {
+            return descending ? position + 1 : position - 1;
+        }
+
+        private int firstPosition() {
+            return atOrAfter(descending ? to - 1 : from);
+        }
+
+        private int lastPosition() {
+            return atOrBefore(descending ? from : to - 1);
+        }
+
+        private Entry<INDEX, VALUE> entryAt(int position) {
+            if (position < 0) {
+                return null;
+            }
+            synchronized (DenseTwoWayMap.this) {
+                return new SimpleImmutableEntry<>(indexAt(position), valueAt(position));
+            }
+        }
+
+        private INDEX keyAt(int position) {
+            if (position < 0) {
+                return null;
+            }
+            synchronized (DenseTwoWayMap.this) {
+                return indexAt(position);
+            }
+        }
+
+        /**
+         * Bounds in the order of this view, converted to positions.
+         */
+        private IndexView range(int lowPosition, boolean lowInclusive, int highPosition, boolean highInclusive) {
+            if (descending) {
+                int low = highInclusive ? highPosition : highPosition + 1;
+                int high = lowInclusive ? lowPosition + 1 : lowPosition;
+                return new IndexView(Math.max(from, low), Math.min(to, high), true);
+            }
+            int low = lowInclusive ? lowPosition : lowPosition + 1;
+            int high = highInclusive ? highPosition + 1 : highPosition;
+            return new IndexView(Math.max(from, low), Math.min(to, high), false);
+        }
+
+        @Override
+        public VALUE get(Object key) {
+            int position = position(key);
+            synchronized (DenseTwoWayMap.this) {
+                return inRange(position) && isPresent(position) ? valueAt(position) : null;
+            }
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            int position = position(key);
+            synchronized (DenseTwoWayMap.this) {
+                return inRange(position) && isPresent(position);
+            }
+        }
+
+        @Override
+        public int size() {
+            synchronized (DenseTwoWayMap.this) {
+                if (from == 0 && to >= extent()) {
+                    return count;
+                }
+                int size = 0;
+                for (int i = from; i < Math.min(to, extent()); i++) {
+                    if (values[i] != null) {
+                        size++;
+                    }
+                }
+                return size;
+            }
+        }
+
+        @Override
+        public Set<Entry<INDEX, VALUE>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<INDEX, VALUE>> iterator() {
+                    return new PositionIterator<>(IndexView.this, IndexView.this::entryAt);
+                }
+
+                @Override
+                public int size() {
+                    return IndexView.this.size();
+                }
+            };
+        }
+
+        @Override
+        public Comparator<? super INDEX> comparator() {
+            return descending ? Collections.reverseOrder() : null;
+        }
+
+        @Override
+        public INDEX firstKey() {
+            return keyOrThrow(firstPosition());
+        }
+
+        @Override
+        public INDEX lastKey() {
+            return keyOrThrow(lastPosition());
+        }
+
+        private INDEX keyOrThrow(int position) {
+            if (position < 0) {
+                throw new NoSuchElementException();
+            }
+            return keyAt(position);
+        }
+
+        @Override
+        public Entry<INDEX, VALUE> lowerEntry(INDEX key) {
+            return entryAt(atOrBefore(stepBack(position(key))));
+        }
+
+        @Override
+        public INDEX lowerKey(INDEX key) {
+            return keyAt(atOrBefore(stepBack(position(key))));
+        }
+
+        @Override
+        public Entry<INDEX, VALUE> floorEntry(INDEX key) {
+            return entryAt(atOrBefore(position(key)));
+        }
+
+        @Override
+        public INDEX floorKey(INDEX key) {
+            return keyAt(atOrBefore(position(key)));
+        }
+
+        @Override
+        public Entry<INDEX, VALUE> ceilingEntry(INDEX key) {
+            return entryAt(atOrAfter(position(key)));
+        }
+
+        @Override
+        public INDEX ceilingKey(INDEX key) {
+            return keyAt(atOrAfter(position(key)));
+        }
+
+        @Override
+        public Entry<INDEX, VALUE> higherEntry(INDEX key) {
+            return entryAt(atOrAfter(step(position(key))));
+        }
+
+        @Override
+        public INDEX higherKey(INDEX key) {
+            return keyAt(atOrAfter(step(position(key))));
+        }
+
+        @Override
+        public Entry<INDEX, VALUE> firstEntry() {
+            return entryAt(firstPosition());
+        }
+
+        @Override
+        public Entry<INDEX, VALUE> lastEntry() {
+            return entryAt(lastPosition());
+        }
+
+        @Override
+        public Entry<INDEX, VALUE> pollFirstEntry() {
+            throw new UnsupportedOperationException("The views of a DenseTwoWayMap are read-only");
+        }
+
+        @Override
+        public Entry<INDEX, VALUE> pollLastEntry() {
+            throw new UnsupportedOperationException("The views of a DenseTwoWayMap are read-only");
+        }
+
+        @Override
+        public NavigableMap<INDEX, VALUE> descendingMap() {
+            return new IndexView(from, to, !descending);
+        }
+
+        @Override
+        public NavigableSet<INDEX> navigableKeySet() {
+            return new KeyView(this);
+        }
+
+        @Override
+        public Set<INDEX> keySet() {
+            return navigableKeySet();
+        }
+
+        @Override
+        public NavigableSet<INDEX> descendingKeySet() {
+            return descendingMap().navigableKeySet();
+        }
+
+        @Override
+        public NavigableMap<INDEX, VALUE> subMap(INDEX fromKey, boolean fromInclusive, INDEX toKey, boolean toInclusive) {
+            return range(position(fromKey), fromInclusive, position(toKey), toInclusive);
+        }
+
+        @Override
+        public NavigableMap<INDEX, VALUE> headMap(INDEX toKey, boolean inclusive) {
+            return descending
+                    ? range(Integer.MAX_VALUE - 1, true, position(toKey), inclusive)
+                    : range(0, true, position(toKey), inclusive);
+        }
+
+        @Override
+        public NavigableMap<INDEX, VALUE> tailMap(INDEX fromKey, boolean inclusive) {
+            return descending
+                    ? range(position(fromKey), inclusive, 0, true)
+                    : range(position(fromKey), inclusive, Integer.MAX_VALUE - 1, true);
+        }
+
+        @Override
+        public SortedMap<INDEX, VALUE> subMap(INDEX fromKey, INDEX toKey) {
+            return subMap(fromKey, true, toKey, false);
+        }
+
+        @Override
+        public SortedMap<INDEX, VALUE> headMap(INDEX toKey) {
+            return headMap(toKey, false);
+        }
+
+        @Override
+        public SortedMap<INDEX, VALUE> tailMap(INDEX fromKey) {
+            return tailMap(fromKey, true);
+        }
+    }
+
+    private class KeyView extends AbstractSet<INDEX> implements NavigableSet<INDEX> {
+        private final IndexView map;
+
+        private KeyView(IndexView map) {
+            this.map = map;
+        }
+
+        @Override
+        public Iterator<INDEX> iterator() {
+            return new PositionIterator<>(map, map::keyAt);
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return map.containsKey(key);
+        }
+
+        @Override
+        public INDEX lower(INDEX key) {
+            return map.lowerKey(key);
+        }
+
+        @Override
+        public INDEX floor(INDEX key) {
+            return map.floorKey(key);
+        }
+
+        @Override
+        public INDEX ceiling(INDEX key) {
+            return map.ceilingKey(key);
+        }
+
+        @Override
+        public INDEX higher(INDEX key) {
+            return map.higherKey(key);
+        }
+
+        @Override
+        public INDEX pollFirst() {
+            throw new UnsupportedOperationException("The views of a DenseTwoWayMap are read-only");
+        }
+
+        @Override
+        public INDEX pollLast() {
+            throw new UnsupportedOperationException("The views of a DenseTwoWayMap are read-only");
+        }
+
+        @Override
+        public NavigableSet<INDEX> descendingSet() {
+            return map.descendingKeySet();
+        }
+
+        @Override
+        public Iterator<INDEX> descendingIterator() {
+            return descendingSet().iterator();
+        }
+
+        @Override
+        public NavigableSet<INDEX> subSet(INDEX fromElement, boolean fromInclusive, INDEX toElement, boolean toInclusive) {
+            return map.subMap(fromElement, fromInclusive, toElement, toInclusive).navigableKeySet();
+        }
+
+        @Override
+        public NavigableSet<INDEX> headSet(INDEX toElement, boolean inclusive) {
+            return map.headMap(toElement, inclusive).navigableKeySet();
+        }
+
+        @Override
+        public NavigableSet<INDEX> tailSet(INDEX fromElement, boolean inclusive) {
+            return map.tailMap(fromElement, inclusive).navigableKeySet();
+        }
+
+        @Override
+        public Comparator<? super INDEX> comparator() {
+            return map.comparator();
+        }
+
+        @Override
+        public SortedSet<INDEX> subSet(INDEX fromElement, INDEX toElement) {
+            return subSet(fromElement, true, toElement, false);
+        }
+
+        @Override
+        public SortedSet<INDEX> headSet(INDEX toElement) {
+            return headSet(toElement, false);
+        }
+
+        @Override
+        public SortedSet<INDEX> tailSet(INDEX fromElement) {
+            return tailSet(fromElement, true);
+        }
+
+        @Override
+        public INDEX first() {
+            return map.firstKey();
+        }
+
+        @Override
+        public INDEX last() {
+            return map.lastKey();
+        }
+    }
+
+    /**
+     * Walks the positions in use of a view in its order. Like the iterators of concurrent collections, it shows the
+     * contents as they are when each element is reached.
+     */
+    private class PositionIterator<T> implements Iterator<T> {
+        private final IndexView view;
+        private final IntFunction<T> element;
+        private int next;
+
+        private PositionIterator(IndexView view, IntFunction<T> element) {
+            this.view = view;
+            this.element = element;
+            this.next = view.firstPosition();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next >= 0;
+        }
+
+        @Override
+        public T next() {
+            if (next < 0) {
+                throw new NoSuchElementException();
+            }
+            T current = element.apply(next);
+            next = view.atOrAfter(view.step(next));
+            return current;
+        }
+    }
+
+    /**
+     * The index of each value, found through the hash table without counting a reference.
+     */
+    private class ValueView extends AbstractMap<VALUE, INDEX> {
+        @Override
+        public INDEX get(Object value) {
+            if (value == null) {
+                return null;
+            }
+            synchronized (DenseTwoWayMap.this) {
+                int slot = findSlot(value);
+                return slot < 0 ? null : indexAt(slots[slot] - 1);
+            }
+        }
+
+        @Override
+        public boolean containsKey(Object value) {
+            if (value == null) {
+                return false;
+            }
+            synchronized (DenseTwoWayMap.this) {
+                return findSlot(value) >= 0;
+            }
+        }
+
+        @Override
+        public int size() {
+            return DenseTwoWayMap.this.size();
+        }
+
+        @Override
+        public Set<Entry<VALUE, INDEX>> entrySet() {
+            IndexView view = new IndexView(0, Integer.MAX_VALUE, false);
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<VALUE, INDEX>> iterator() {
+                    return new PositionIterator<>(view, (position) -> {
+                        synchronized (DenseTwoWayMap.this) {
+                            return new SimpleImmutableEntry<>(valueAt(position), indexAt(position));
+                        }
+                    });
+                }
+
+                @Override
+                public int size() {
+                    return DenseTwoWayMap.this.size();
+                }
+            };
+        }
+    }
+}
@@ -1,17 +1,27 @@
 package pie.ilikepiefoo.kubejsoffline.core.impl.collection;
 
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
 import pie.ilikepiefoo.kubejsoffline.core.api.JSONSerializable;
 import pie.ilikepiefoo.kubejsoffline.core.api.collection.Fields;
 import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.FieldData;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.FieldID;
 import pie.ilikepiefoo.kubejsoffline.core.impl.identifier.IdentifierBase;
 
+import java.io.IOException;
 import java.util.Iterator;
 import java.util.NavigableMap;
 
 public class FieldsWrapper implements Fields {
-    protected final TwoWayMap<FieldID, FieldData> data = new TwoWayMap<>(FieldIdentifier::new);
+    protected final TwoWayMap<FieldID, FieldData> data;
+
+    public FieldsWrapper() {
+        this(new DenseTwoWayMap<>(FieldIdentifier::new));
+    }
+
+    public FieldsWrapper(TwoWayMap<FieldID, FieldData> data) {
+        this.data = data;
+    }
 
     @Override
     public void toggleLock() {
@@ -60,6 +70,11 @@ public class FieldsWrapper implements Fields {
         return JSONSerializable.of(this.data.getValues());
     }
 
+    @Override
+    public void writeTo(JsonWriter writer) throws IOException {
+        JSONSerializable.writeAll(writer, this.data.getValues());
+    }
+
     @Override
     public TwoWayMap<FieldID, FieldData> getTwoWayMap() {
         return data;
@@ -1,17 +1,27 @@
 package pie.ilikepiefoo.kubejsoffline.core.impl.collection;
 
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
 import pie.ilikepiefoo.kubejsoffline.core.api.JSONSerializable;
 import pie.ilikepiefoo.kubejsoffline.core.api.collection.Methods;
 import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.MethodData;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.MethodID;
 import pie.ilikepiefoo.kubejsoffline.core.impl.identifier.IdentifierBase;
 
+import java.io.IOException;
 import java.util.Iterator;
 import java.util.NavigableMap;
 
 public class MethodsWrapper implements Methods {
-    protected final TwoWayMap<MethodID, MethodData> data = new TwoWayMap<>(MethodIdentifier::new);
+    protected final TwoWayMap<MethodID, MethodData> data;
+
+    public MethodsWrapper() {
+        this(new DenseTwoWayMap<>(MethodIdentifier::new));
+    }
+
+    public MethodsWrapper(TwoWayMap<MethodID, MethodData> data) {
+        this.data = data;
+    }
 
     @Override
     public void toggleLock() {
@@ -60,6 +70,11 @@ public class MethodsWrapper implements Methods {
         return JSONSerializable.of(this.data.getValues());
     }
 
+    @Override
+    public void writeTo(JsonWriter writer) throws IOException {
+        JSONSerializable.writeAll(writer, this.data.getValues());
+    }
+
     @Override
     public TwoWayMap<MethodID, MethodData> getTwoWayMap() {
         return data;
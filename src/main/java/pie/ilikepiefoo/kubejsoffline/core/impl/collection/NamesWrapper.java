@@ -2,14 +2,24 @@ package pie.ilikepiefoo.kubejsoffline.core.impl.collection;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
 import pie.ilikepiefoo.kubejsoffline.core.api.collection.Names;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.NameID;
 import pie.ilikepiefoo.kubejsoffline.core.impl.identifier.IdentifierBase;
 
+import java.io.IOException;
 import java.util.NavigableMap;
 
 public class NamesWrapper implements Names {
-    protected final TwoWayMap<NameID, String> data = new TwoWayMap<>(NameIdentifier::new);
+    protected final TwoWayMap<NameID, String> data;
+
+    public NamesWrapper() {
+        this(new DenseTwoWayMap<>(NameIdentifier::new));
+    }
+
+    public NamesWrapper(TwoWayMap<NameID, String> data) {
+        this.data = data;
+    }
 
     @Override
     public void toggleLock() {
@@ -52,6 +62,15 @@ public class NamesWrapper implements Names {
         return json;
     }
 
+    @Override
+    public void writeTo(JsonWriter writer) throws IOException {
+        writer.beginArray();
+        for (var value : this.data.getValues()) {
+            writer.value(value);
+        }
+        writer.endArray();
+    }
+
     @Override
     public TwoWayMap<NameID, String> getTwoWayMap() {
         return data;
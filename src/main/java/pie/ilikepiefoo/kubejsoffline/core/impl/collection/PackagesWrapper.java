@@ -1,6 +1,7 @@
 package pie.ilikepiefoo.kubejsoffline.core.impl.collection;
 
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
 import pie.ilikepiefoo.kubejsoffline.core.api.JSONSerializable;
 import pie.ilikepiefoo.kubejsoffline.core.api.collection.Packages;
 import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.PackagePart;
@@ -8,15 +9,24 @@ import pie.ilikepiefoo.kubejsoffline.core.api.identifier.PackageID;
 import pie.ilikepiefoo.kubejsoffline.core.impl.datastructure.PackagePartWrapper;
 import pie.ilikepiefoo.kubejsoffline.core.impl.identifier.IdentifierBase;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.NavigableMap;
 
 public class PackagesWrapper implements Packages {
-    protected final TwoWayMap<PackageID, PackagePart> data = new TwoWayMap<>(PackageIdentifier::new);
+    protected final TwoWayMap<PackageID, PackagePart> data;
     protected Map<String, PackageID> parts = new HashMap<>();
 
+    public PackagesWrapper() {
+        this(new DenseTwoWayMap<>(PackageIdentifier::new));
+    }
+
+    public PackagesWrapper(TwoWayMap<PackageID, PackagePart> data) {
+        this.data = data;
+    }
+
     @Override
     public void toggleLock() {
         this.data.toggleLock();
@@ -98,6 +108,11 @@ public class PackagesWrapper implements Packages {
         return JSONSerializable.of(this.data.getValues());
     }
 
+    @Override
+    public void writeTo(JsonWriter writer) throws IOException {
+        JSONSerializable.writeAll(writer, this.data.getValues());
+    }
+
     @Override
     public TwoWayMap<PackageID, PackagePart> getTwoWayMap() {
         return data;
@@ -0,0 +1,101 @@
+package pie.ilikepiefoo.kubejsoffline.core.impl.collection;
+
+import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
+import pie.ilikepiefoo.kubejsoffline.core.api.JSONSerializable;
+import pie.ilikepiefoo.kubejsoffline.core.api.collection.ParameterLists;
+import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.ParameterListData;
+import pie.ilikepiefoo.kubejsoffline.core.api.identifier.ParameterListID;
+import pie.ilikepiefoo.kubejsoffline.core.impl.identifier.IdentifierBase;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+
+public class ParameterListsWrapper implements ParameterLists {
+    protected final TwoWayMap<ParameterListID, ParameterListData> data;
+
+    public ParameterListsWrapper() {
+        this(new DenseTwoWayMap<>(ParameterListIdentifier::new));
+    }
+
+    public ParameterListsWrapper(TwoWayMap<ParameterListID, ParameterListData> data) {
+        this.data = data;
+    }
+
+    @Override
+    public void toggleLock() {
+        this.data.toggleLock();
+    }
+
+    @Override
+    public Iterator<ParameterListData> iterator() {
+        return data.iterator();
+    }
+
+    @Override
+    public NavigableMap<ParameterListID, ParameterListData> getAllParameterLists() {
+        return this.data.getIndexToValueMap();
+    }
+
+    @Override
+    public ParameterListID addParameterList(ParameterListData data) {
+        return this.data.add(data);
+    }
+
+    @Override
+    public boolean contains(ParameterListData data) {
+        return this.data.contains(data);
+    }
+
+    @Override
+    public ParameterListID getID(ParameterListData data) {
+        return this.data.get(data);
+    }
+
+    @Override
+    public ParameterListData getParameterList(ParameterListID id) {
+        return this.data.get(id);
+    }
+
+    /**
+     * The lists are sorted by usage once indexed, so the shared lists keep their IDs when the others are left out.
+     */
+    @Override
+    public List<ParameterListData> getSharedParameterLists() {
+        return this.data.getValues().stream().takeWhile(ParameterListData::isShared).toList();
+    }
+
+    @Override
+    public void clear() {
+        this.data.clear();
+    }
+
+    @Override
+    public JsonElement toJSON() {
+        return JSONSerializable.of(getSharedParameterLists());
+    }
+
+    @Override
+    public void writeTo(JsonWriter writer) throws IOException {
+        JSONSerializable.writeAll(writer, getSharedParameterLists());
+    }
+
+    @Override
+    public TwoWayMap<ParameterListID, ParameterListData> getTwoWayMap() {
+        return data;
+    }
+
+    public static class ParameterListIdentifier extends IdentifierBase implements ParameterListID {
+        public ParameterListIdentifier(int arrayIndex) {
+            super(arrayIndex);
+        }
+
+        @Override
+        public ParameterListIdentifier getSelfWithReference() {
+            super.getSelfWithReference();
+            return this;
+        }
+    }
+}
@@ -1,17 +1,27 @@
 package pie.ilikepiefoo.kubejsoffline.core.impl.collection;
 
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
 import pie.ilikepiefoo.kubejsoffline.core.api.JSONSerializable;
 import pie.ilikepiefoo.kubejsoffline.core.api.collection.Parameters;
 import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.ParameterData;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.ParameterID;
 import pie.ilikepiefoo.kubejsoffline.core.impl.identifier.IdentifierBase;
 
+import java.io.IOException;
 import java.util.Iterator;
 import java.util.NavigableMap;
 
 public class ParametersWrapper implements Parameters {
-    protected final TwoWayMap<ParameterID, ParameterData> data = new TwoWayMap<>(ParameterIdentifier::new);
+    protected final TwoWayMap<ParameterID, ParameterData> data;
+
+    public ParametersWrapper() {
+        this(new DenseTwoWayMap<>(ParameterIdentifier::new));
+    }
+
+    public ParametersWrapper(TwoWayMap<ParameterID, ParameterData> data) {
+        this.data = data;
+    }
 
     @Override
     public void toggleLock() {
@@ -60,6 +70,11 @@ public class ParametersWrapper implements Parameters {
         return JSONSerializable.of(this.data.getValues());
     }
 
+    @Override
+    public void writeTo(JsonWriter writer) throws IOException {
+        JSONSerializable.writeAll(writer, this.data.getValues());
+    }
+
     @Override
     public TwoWayMap<ParameterID, ParameterData> getTwoWayMap() {
         return data;
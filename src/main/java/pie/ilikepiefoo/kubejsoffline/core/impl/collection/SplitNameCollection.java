@@ -9,6 +9,7 @@ import pie.ilikepiefoo.kubejsoffline.core.api.collection.Names;
 import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.property.IndexedData;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.NameID;
 import pie.ilikepiefoo.kubejsoffline.core.impl.identifier.IdentifierBase;
+import pie.ilikepiefoo.kubejsoffline.core.util.Fingerprint;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -455,6 +456,14 @@ public class SplitNameCollection implements Names {
             return parts[0].left.name;
         }
 
+        /**
+         * The fingerprint of the full name, so it matches the fingerprint of the same name when it is not split.
+         */
+        @Override
+        public long getFingerprint() {
+            return Fingerprint.ofString(toString());
+        }
+
         @Override
         public int hashCode() {
             int result = Objects.hashCode(index);
@@ -2,36 +2,36 @@ package pie.ilikepiefoo.kubejsoffline.core.impl.collection;
 
 import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.property.IndexedData;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.Index;
-import pie.ilikepiefoo.kubejsoffline.core.util.ConcurrentNavigableMapIterator;
+import pie.ilikepiefoo.kubejsoffline.core.api.identifier.IndexGenerator;
+import pie.ilikepiefoo.kubejsoffline.core.impl.GenerationProfiler;
+import pie.ilikepiefoo.kubejsoffline.core.util.Fingerprint;
 
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.NavigableMap;
+import java.util.Queue;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Every change and lookup is synchronized on the map itself. Only the queue of unindexed values is read without it.
+ */
 public class TwoWayMap<INDEX extends Index, VALUE> implements Iterable<VALUE> {
     protected final NavigableMap<INDEX, VALUE> indexToValueMap = new TreeMap<>();
     protected final Map<VALUE, INDEX> valueToIndexMap = new HashMap<>();
-    protected final ConcurrentNavigableMapIterator<INDEX, VALUE> iterator = new ConcurrentNavigableMapIterator<>(
-            indexToValueMap,
-            StackWalker
-                    .getInstance()
-                    .walk(
-                            (s) -> s
-                                    .skip(1)
-                                    .findFirst()
-                                    .orElseThrow(
-                                            () -> new RuntimeException("Failed to get caller class for iterator")
-                                    )
-                    )
-                    .getClassName()
-                    .replace(
-                            this.getClass().getPackageName() + ".",
-                            ""
-                    )
-    );
+    /**
+     * Values that have been added but not yet indexed.
+     * Every value that implements {@link IndexGenerator} is queued exactly once, the first time {@link #add} sees it.
+     */
+    protected final Queue<VALUE> unindexed = new ConcurrentLinkedQueue<>();
+    /**
+     * The array index that will be handed to the next value passed to {@link #add}.
+     */
+    protected final AtomicInteger nextArrayIndex = new AtomicInteger();
     protected IndexFactory<INDEX> indexFactory;
     protected boolean locked = false;
 
@@ -40,8 +40,8 @@ public class TwoWayMap<INDEX extends Index, VALUE> implements Iterable<VALUE> {
     }
 
     @Override
-    public ConcurrentNavigableMapIterator<INDEX, VALUE> iterator() {
-        return iterator;
+    public Iterator<VALUE> iterator() {
+        return indexToValueMap.values().iterator();
     }
 
     public Collection<VALUE> getValues() {
@@ -82,8 +82,10 @@ public class TwoWayMap<INDEX extends Index, VALUE> implements Iterable<VALUE> {
             if (index.getArrayIndex() != i) {
                 index.setArrayIndex(i);
             }
-            put(index, value);
+            indexToValueMap.put(index, value);
+            valueToIndexMap.put(value, index);
         }
+        nextArrayIndex.set(newValues.size());
     }
 
     public synchronized void put(INDEX index, VALUE value) {
@@ -91,7 +93,15 @@ public class TwoWayMap<INDEX extends Index, VALUE> implements Iterable<VALUE> {
             throw new IllegalStateException("Cannot modify TwoWayMap while it is locked");
         }
         indexToValueMap.put(index, value);
-        valueToIndexMap.put(value, index);
+        INDEX previous = valueToIndexMap.put(value, index);
+        // Only a new value is fingerprinted, a value that is put again keeps the fingerprint it already has.
+        if (previous == null) {
+            GenerationProfiler.INSTANCE.onAdded(value);
+            index.setFingerprint(Fingerprint.ofValue(value));
+        } else if (previous != index) {
+            index.setFingerprint(previous.getFingerprint());
+        }
+        nextArrayIndex.accumulateAndGet(index.getArrayIndex() + 1, Math::max);
     }
 
     public Collection<INDEX> getIndexes() {
@@ -121,39 +131,60 @@ public class TwoWayMap<INDEX extends Index, VALUE> implements Iterable<VALUE> {
         if (valueToIndexMap.containsKey(value)) {
             return (INDEX) valueToIndexMap.get(value).getSelfWithReference();
         }
-        INDEX index = indexFactory.createIndex(indexToValueMap.size());
+        INDEX index = indexFactory.createIndex(nextArrayIndex.getAndIncrement());
+        index.setFingerprint(Fingerprint.ofValue(value));
         if (value instanceof IndexedData indexedData) {
             indexedData.setIndex(index);
         }
         indexToValueMap.put(index, value);
         valueToIndexMap.put(value, index);
+        GenerationProfiler.INSTANCE.onAdded(value);
+        if (value instanceof IndexGenerator) {
+            unindexed.add(value);
+        }
         return index;
     }
 
-    public boolean contains(VALUE value) {
+    /**
+     * Removes and returns the next value that has not been indexed yet.
+     *
+     * @return The next value waiting to be indexed, or null if there is none.
+     */
+    public VALUE pollUnindexed() {
+        return unindexed.poll();
+    }
+
+    public boolean hasUnindexed() {
+        return !unindexed.isEmpty();
+    }
+
+    public synchronized boolean contains(VALUE value) {
         return valueToIndexMap.containsKey(value);
     }
 
-    public boolean contains(INDEX index) {
+    public synchronized boolean contains(INDEX index) {
         return indexToValueMap.containsKey(index);
     }
 
-    public int size() {
+    public synchronized int size() {
         return indexToValueMap.size();
     }
 
-    public INDEX get(VALUE value) {
+    public synchronized INDEX get(VALUE value) {
         return (INDEX) valueToIndexMap.get(value).getSelfWithReference();
     }
 
-    public VALUE get(INDEX index) {
+    public synchronized VALUE get(INDEX index) {
         return indexToValueMap.get(index);
     }
 
-    public void clear() {
+    public synchronized void clear() {
         indexToValueMap.clear();
         valueToIndexMap.clear();
-        iterator.reset();
+        unindexed.clear();
+        nextArrayIndex.set(0);
+        // A cleared map starts over, so it must accept new values even if the previous run locked it.
+        locked = false;
     }
 
     public synchronized void toggleLock() {
@@ -2,6 +2,7 @@ package pie.ilikepiefoo.kubejsoffline.core.impl.collection;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
 import pie.ilikepiefoo.kubejsoffline.core.api.collection.Types;
 import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.ParameterizedTypeData;
 import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.RawClassData;
@@ -13,14 +14,17 @@ import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeOrTypeVariableID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeVariableID;
 import pie.ilikepiefoo.kubejsoffline.core.impl.TypeManager;
 import pie.ilikepiefoo.kubejsoffline.core.impl.identifier.ArrayIdentifier;
+import pie.ilikepiefoo.kubejsoffline.core.util.GenerationThrottle;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.Map;
+import java.util.List;
 import java.util.NavigableMap;
 import java.util.TreeMap;
 
 public class TypesWrapper implements Types {
-    protected TwoWayMap<TypeOrTypeVariableID, TypeData> data;
+    protected final TwoWayMap<TypeOrTypeVariableID, TypeData> data;
     protected NavigableMap<TypeID, RawClassData> rawTypes = new TreeMap<>();
     protected NavigableMap<TypeID, ParameterizedTypeData> parameterizedTypes = new TreeMap<>();
     protected NavigableMap<TypeID, WildcardTypeData> wildcardTypes = new TreeMap<>();
@@ -28,7 +32,11 @@ public class TypesWrapper implements Types {
 
 
     public TypesWrapper() {
-        this.data = new TwoWayMap<>(TypeIdentifier::new);
+        this(new DenseTwoWayMap<>(TypeIdentifier::new));
+    }
+
+    public TypesWrapper(TwoWayMap<TypeOrTypeVariableID, TypeData> data) {
+        this.data = data;
     }
 
     @Override
@@ -145,17 +153,35 @@ public class TypesWrapper implements Types {
     @Override
     public JsonElement toJSON() {
         var json = new JsonArray();
-        var entries = this.data
-                .getValues()
-                .stream()
-                .parallel()
-                .sorted()
-                .map((typeData) -> Map.entry(typeData, typeData.getIndex()))
-                .toList();
-        for (int i = 0; i < entries.size(); i++) {
-            var entry = entries.get(i);
-            var typeData = entry.getKey();
-            var index = entry.getValue();
+        for (var typeData : getOrderedValues()) {
+            GenerationThrottle.INSTANCE.checkpoint();
+            json.add(typeData.toJSON());
+        }
+        return json;
+    }
+
+    @Override
+    public void writeTo(JsonWriter writer) throws IOException {
+        writer.beginArray();
+        for (var typeData : getOrderedValues()) {
+            GenerationThrottle.INSTANCE.checkpoint();
+            typeData.writeTo(writer);
+        }
+        writer.endArray();
+    }
+
+    /**
+     * Values are stored in array index order, so they can be written out as they are.
+     *
+     * @return Every type whose index matches its position, in array index order.
+     */
+    @Override
+    public List<TypeData> getOrderedValues() {
+        var values = new ArrayList<>(this.data.getValues());
+        var ordered = new ArrayList<TypeData>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            var typeData = values.get(i);
+            var index = typeData == null ? null : typeData.getIndex();
             if (typeData == null || index == null) {
                 LOG.error("Type data or index is null at index: {}", i);
                 continue;
@@ -164,9 +190,9 @@ public class TypesWrapper implements Types {
                 LOG.error("Type data index mismatch at index: {}, expected: {}", i, index.getArrayIndex());
                 continue;
             }
-            json.add(typeData.toJSON());
+            ordered.add(typeData);
         }
-        return json;
+        return ordered;
     }
 
     @Override
@@ -6,9 +6,9 @@ import pie.ilikepiefoo.kubejsoffline.core.api.identifier.AnnotationID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.NameID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeID;
 import pie.ilikepiefoo.kubejsoffline.core.impl.CollectionGroup;
+import pie.ilikepiefoo.kubejsoffline.core.util.Fingerprint;
 
 import java.lang.annotation.Annotation;
-import java.util.Objects;
 import java.util.Optional;
 
 public class AnnotationWrapper implements AnnotationData {
@@ -18,6 +18,8 @@ public class AnnotationWrapper implements AnnotationData {
     protected CollectionGroup collectionGroup;
     protected AnnotationID index;
     protected NameID valueId;
+    protected String value;
+    protected volatile long fingerprint;
 
     public AnnotationWrapper(CollectionGroup collectionGroup, Annotation annotation) {
         this.annotation = annotation;
@@ -44,8 +46,12 @@ public class AnnotationWrapper implements AnnotationData {
     }
 
     @Override
-    public String getAnnotationValue() {
-        var value = annotation.toString();
+    public synchronized String getAnnotationValue() {
+        if (value != null) {
+            return value;
+        }
+        // Annotation.toString is expensive, so it is only called once.
+        value = annotation.toString();
 //        // Substring from first and last parenthesis.
 //        int start = value.indexOf('(');
 //        int end = value.lastIndexOf(')');
@@ -56,7 +62,7 @@ public class AnnotationWrapper implements AnnotationData {
     }
 
     @Override
-    public NameID getAnnotationValueId() {
+    public synchronized NameID getAnnotationValueId() {
         if (valueId != null) {
             return valueId;
         }
@@ -65,19 +71,27 @@ public class AnnotationWrapper implements AnnotationData {
     }
 
     @Override
-    public TypeID getAnnotationType() {
+    public synchronized TypeID getAnnotationType() {
         if (annotationType != null) {
             return annotationType;
         }
         return annotationType = collectionGroup.of(annotation.annotationType()).asType();
     }
 
+    @Override
+    public long getFingerprint() {
+        if (fingerprint != 0) {
+            return fingerprint;
+        }
+        return this.fingerprint = Fingerprint.of("annotation")
+                .add(annotation.annotationType())
+                .add(getAnnotationValue())
+                .get();
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(
-                getAnnotationType(),
-                getAnnotationValue()
-        );
+        return Long.hashCode(getFingerprint());
     }
 
     @Override
@@ -88,9 +102,10 @@ public class AnnotationWrapper implements AnnotationData {
         if (this == obj) {
             return true;
         }
-        if (obj instanceof AnnotationData other) {
-            return Objects.equals(this.getAnnotationType(), other.getAnnotationType()) &&
-                    Objects.equals(this.getAnnotationValue(), other.getAnnotationValue());
+        if (obj instanceof AnnotationWrapper other) {
+            return this.getFingerprint() == other.getFingerprint()
+                    && this.annotation.annotationType() == other.annotation.annotationType()
+                    && this.getAnnotationValue().equals(other.getAnnotationValue());
         }
         return false;
     }
@@ -8,15 +8,17 @@ import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.property.IndexedData
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.AnnotationID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.ConstructorID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.ParameterID;
+import pie.ilikepiefoo.kubejsoffline.core.api.identifier.ParameterListID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeVariableID;
 import pie.ilikepiefoo.kubejsoffline.core.impl.CollectionGroup;
+import pie.ilikepiefoo.kubejsoffline.core.util.Fingerprint;
+import pie.ilikepiefoo.kubejsoffline.core.util.ReflectionUtils;
 import pie.ilikepiefoo.kubejsoffline.core.util.SafeOperations;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Type;
 import java.util.List;
-import java.util.Objects;
 
 public class ConstructorWrapper implements ConstructorData {
     protected final CollectionGroup collectionGroup;
@@ -25,7 +27,9 @@ public class ConstructorWrapper implements ConstructorData {
     protected List<TypeVariableID> typeParameters;
     protected List<TypeID> exceptions;
     protected List<ParameterID> parameters;
+    protected ParameterListID parameterList;
     protected ConstructorID constructorID;
+    protected volatile long fingerprint;
 
     public ConstructorWrapper(CollectionGroup collectionGroup, Constructor<?> constructor) {
         this.collectionGroup = collectionGroup;
@@ -50,7 +54,7 @@ public class ConstructorWrapper implements ConstructorData {
                 JSONSerializable.of(getAnnotations()),
                 JSONSerializable.of(getExceptions()),
                 JSONSerializable.of(getTypeParameters()),
-                JSONSerializable.of(getParameters())
+                getParameterList() != null ? collectionGroup.parameterLists().getParameterList(getParameterList()).toReference() : null
         );
     }
 
@@ -60,7 +64,7 @@ public class ConstructorWrapper implements ConstructorData {
     }
 
     @Override
-    public List<AnnotationID> getAnnotations() {
+    public synchronized List<AnnotationID> getAnnotations() {
         if (annotations != null) {
             return annotations;
         }
@@ -68,7 +72,7 @@ public class ConstructorWrapper implements ConstructorData {
     }
 
     @Override
-    public List<TypeVariableID> getTypeParameters() {
+    public synchronized List<TypeVariableID> getTypeParameters() {
         if (typeParameters != null) {
             return typeParameters;
         }
@@ -76,7 +80,7 @@ public class ConstructorWrapper implements ConstructorData {
     }
 
     @Override
-    public List<TypeID> getExceptions() {
+    public synchronized List<TypeID> getExceptions() {
         if (exceptions != null) {
             return exceptions;
         }
@@ -84,22 +88,34 @@ public class ConstructorWrapper implements ConstructorData {
     }
 
     @Override
-    public List<ParameterID> getParameters() {
+    public synchronized List<ParameterID> getParameters() {
         if (parameters != null) {
             return parameters;
         }
-        return this.parameters = collectionGroup.of(constructor.getParameters(), SafeOperations.tryGet(constructor::getGenericParameterTypes).orElse(new Type[0]));
+        // Executables with the same parameters share a single list.
+        this.parameterList = collectionGroup.parameterListOf(collectionGroup.of(constructor.getParameters(), SafeOperations.tryGet(constructor::getGenericParameterTypes).orElse(new Type[0])));
+        return this.parameters = this.parameterList == null ? List.of() : collectionGroup.parameterLists().getParameterList(this.parameterList).getParameters();
+    }
+
+    @Override
+    public synchronized ParameterListID getParameterList() {
+        getParameters();
+        return parameterList;
+    }
+
+    @Override
+    public long getFingerprint() {
+        if (fingerprint != 0) {
+            return fingerprint;
+        }
+        return this.fingerprint = Fingerprint.of("constructor")
+                .add(constructor)
+                .get();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(
-                getModifiers(),
-                getAnnotations(),
-                getExceptions(),
-                getTypeParameters(),
-                getParameters()
-        );
+        return Long.hashCode(getFingerprint());
     }
 
     @Override
@@ -111,11 +127,7 @@ public class ConstructorWrapper implements ConstructorData {
             return true;
         }
         if (obj instanceof ConstructorWrapper other) {
-            return Objects.equals(this.getModifiers(), other.getModifiers())
-                    && Objects.equals(this.getAnnotations(), other.getAnnotations())
-                    && Objects.equals(this.getExceptions(), other.getExceptions())
-                    && Objects.equals(this.getTypeParameters(), other.getTypeParameters())
-                    && Objects.equals(this.getParameters(), other.getParameters());
+            return this.getFingerprint() == other.getFingerprint() && ReflectionUtils.isSameSignature(this.constructor, other.constructor);
         }
         return false;
     }
@@ -10,19 +10,25 @@ import pie.ilikepiefoo.kubejsoffline.core.api.identifier.FieldID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.NameID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeOrTypeVariableID;
 import pie.ilikepiefoo.kubejsoffline.core.impl.CollectionGroup;
+import pie.ilikepiefoo.kubejsoffline.core.util.Fingerprint;
+import pie.ilikepiefoo.kubejsoffline.core.util.ReflectionUtils;
 import pie.ilikepiefoo.kubejsoffline.core.util.SafeOperations;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
 
 public class FieldWrapper implements FieldData {
     protected final CollectionGroup collectionGroup;
     protected final Field field;
     protected TypeOrTypeVariableID type;
     protected NameID name;
+    protected volatile String remappedName;
     protected List<AnnotationID> annotations;
     protected FieldID fieldID;
+    protected volatile long fingerprint;
 
 
     public FieldWrapper(CollectionGroup collectionGroup, Field field) {
@@ -52,19 +58,34 @@ public class FieldWrapper implements FieldData {
     }
 
     @Override
-    public NameID getName() {
+    public synchronized NameID getName() {
         if (name != null) {
             return name;
         }
-        return this.name = collectionGroup.names().addName(SafeOperations.safeRemap(field));
+        return this.name = collectionGroup.names().addName(getRemappedName());
+    }
+
+    protected String getRemappedName() {
+        if (remappedName != null) {
+            return remappedName;
+        }
+        return this.remappedName = SafeOperations.safeRemap(field);
+    }
+
+    protected Type getReflectedType() {
+        return SafeOperations.tryGetFirst(field::getGenericType, field::getType).orElseThrow(NullPointerException::new);
+    }
+
+    protected Annotation[] getReflectedAnnotations() {
+        return SafeOperations.tryGet(field::getAnnotations).orElse(new Annotation[0]);
     }
 
     @Override
-    public TypeOrTypeVariableID getType() {
+    public synchronized TypeOrTypeVariableID getType() {
         if (type != null) {
             return type;
         }
-        return this.type = collectionGroup.of(SafeOperations.tryGetFirst(field::getGenericType, field::getType).orElseThrow(NullPointerException::new));
+        return this.type = collectionGroup.of(getReflectedType());
     }
 
     @Override
@@ -73,20 +94,29 @@ public class FieldWrapper implements FieldData {
     }
 
     @Override
-    public List<AnnotationID> getAnnotations() {
+    public synchronized List<AnnotationID> getAnnotations() {
         if (annotations != null) {
             return annotations;
         }
         return this.annotations = SafeOperations.tryGet(field::getAnnotations).map(collectionGroup::of).orElse(List.of());
     }
 
+    @Override
+    public long getFingerprint() {
+        if (fingerprint != 0) {
+            return fingerprint;
+        }
+        return this.fingerprint = Fingerprint.of("field")
+                .add(getRemappedName())
+                .add(getModifiers())
+                .add(getReflectedType())
+                .add(getReflectedAnnotations())
+                .get();
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(
-                getName(),
-                getModifiers(),
-                getType()
-        );
+        return Long.hashCode(getFingerprint());
     }
 
     @Override
@@ -97,10 +127,12 @@ public class FieldWrapper implements FieldData {
         if (this == obj) {
             return true;
         }
-        if (obj instanceof FieldData other) {
-            return Objects.equals(this.getName(), other.getName()) &&
-                    Objects.equals(this.getModifiers(), other.getModifiers()) &&
-                    Objects.equals(this.getType(), other.getType());
+        if (obj instanceof FieldWrapper other) {
+            return this.getFingerprint() == other.getFingerprint()
+                    && this.getModifiers() == other.getModifiers()
+                    && this.getRemappedName().equals(other.getRemappedName())
+                    && ReflectionUtils.isSameType(this.getReflectedType(), other.getReflectedType())
+                    && Arrays.equals(this.getReflectedAnnotations(), other.getReflectedAnnotations());
         }
         return false;
     }
@@ -9,16 +9,18 @@ import pie.ilikepiefoo.kubejsoffline.core.api.identifier.AnnotationID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.MethodID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.NameID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.ParameterID;
+import pie.ilikepiefoo.kubejsoffline.core.api.identifier.ParameterListID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeOrTypeVariableID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeVariableID;
 import pie.ilikepiefoo.kubejsoffline.core.impl.CollectionGroup;
+import pie.ilikepiefoo.kubejsoffline.core.util.Fingerprint;
+import pie.ilikepiefoo.kubejsoffline.core.util.ReflectionUtils;
 import pie.ilikepiefoo.kubejsoffline.core.util.SafeOperations;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.List;
-import java.util.Objects;
 
 public class MethodWrapper implements MethodData {
     protected final CollectionGroup collectionGroup;
@@ -27,9 +29,12 @@ public class MethodWrapper implements MethodData {
     protected List<TypeVariableID> typeParameters;
     protected List<TypeID> exceptions;
     protected List<ParameterID> parameters;
+    protected ParameterListID parameterList;
     protected TypeOrTypeVariableID type;
     protected NameID name;
+    protected volatile String remappedName;
     protected MethodID methodID;
+    protected volatile long fingerprint;
 
 
     public MethodWrapper(CollectionGroup collectionGroup, Method method) {
@@ -55,18 +60,25 @@ public class MethodWrapper implements MethodData {
                 getModifiers() != 0 ? new JsonPrimitive(getModifiers()) : null,
                 getType().toJSON(),
                 JSONSerializable.of(getAnnotations()),
-                JSONSerializable.of(getParameters()),
+                getParameterList() != null ? collectionGroup.parameterLists().getParameterList(getParameterList()).toReference() : null,
                 JSONSerializable.of(getTypeParameters()),
                 JSONSerializable.of(getExceptions())
         );
     }
 
     @Override
-    public NameID getName() {
+    public synchronized NameID getName() {
         if (name != null) {
             return name;
         }
-        return this.name = collectionGroup.names().addName(SafeOperations.safeRemap(method));
+        return this.name = collectionGroup.names().addName(getRemappedName());
+    }
+
+    protected String getRemappedName() {
+        if (remappedName != null) {
+            return remappedName;
+        }
+        return this.remappedName = SafeOperations.safeRemap(method);
     }
 
     @Override
@@ -75,7 +87,7 @@ public class MethodWrapper implements MethodData {
     }
 
     @Override
-    public TypeOrTypeVariableID getType() {
+    public synchronized TypeOrTypeVariableID getType() {
         if (type != null) {
             return type;
         }
@@ -83,7 +95,7 @@ public class MethodWrapper implements MethodData {
     }
 
     @Override
-    public List<AnnotationID> getAnnotations() {
+    public synchronized List<AnnotationID> getAnnotations() {
         if (annotations != null) {
             return annotations;
         }
@@ -91,7 +103,7 @@ public class MethodWrapper implements MethodData {
     }
 
     @Override
-    public List<TypeVariableID> getTypeParameters() {
+    public synchronized List<TypeVariableID> getTypeParameters() {
         if (typeParameters != null) {
             return typeParameters;
         }
@@ -99,7 +111,7 @@ public class MethodWrapper implements MethodData {
     }
 
     @Override
-    public List<TypeID> getExceptions() {
+    public synchronized List<TypeID> getExceptions() {
         if (exceptions != null) {
             return exceptions;
         }
@@ -107,24 +119,37 @@ public class MethodWrapper implements MethodData {
     }
 
     @Override
-    public List<ParameterID> getParameters() {
+    public synchronized List<ParameterID> getParameters() {
         if (parameters != null) {
             return parameters;
         }
-        return this.parameters = collectionGroup.of(method.getParameters(), SafeOperations.tryGet(method::getGenericParameterTypes).orElse(new Type[0]));
+        // Executables with the same parameters share a single list.
+        this.parameterList = collectionGroup.parameterListOf(collectionGroup.of(method.getParameters(), SafeOperations.tryGet(method::getGenericParameterTypes).orElse(new Type[0])));
+        return this.parameters = this.parameterList == null ? List.of() : collectionGroup.parameterLists().getParameterList(this.parameterList).getParameters();
+    }
+
+    @Override
+    public synchronized ParameterListID getParameterList() {
+        getParameters();
+        return parameterList;
+    }
+
+    @Override
+    public long getFingerprint() {
+        if (fingerprint != 0) {
+            return fingerprint;
+        }
+        // Made from the reflected method alone, so hashing a method does not resolve any of its properties.
+        return this.fingerprint = Fingerprint.of("method")
+                .add(getRemappedName())
+                .add(method.getGenericReturnType())
+                .add(method)
+                .get();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(
-                getName(),
-                getModifiers(),
-                getType(),
-                getAnnotations(),
-                getParameters(),
-                getTypeParameters(),
-                getExceptions()
-        );
+        return Long.hashCode(getFingerprint());
     }
 
     @Override
@@ -136,13 +161,10 @@ public class MethodWrapper implements MethodData {
             return true;
         }
         if (obj instanceof MethodWrapper other) {
-            return Objects.equals(this.getName(), other.getName())
-                    && Objects.equals(this.getModifiers(), other.getModifiers())
-                    && Objects.equals(this.getType(), other.getType())
-                    && Objects.equals(this.getAnnotations(), other.getAnnotations())
-                    && Objects.equals(this.getParameters(), other.getParameters())
-                    && Objects.equals(this.getTypeParameters(), other.getTypeParameters())
-                    && Objects.equals(this.getExceptions(), other.getExceptions());
+            return this.getFingerprint() == other.getFingerprint()
+                    && this.getRemappedName().equals(other.getRemappedName())
+                    && ReflectionUtils.isSameType(this.method.getGenericReturnType(), other.method.getGenericReturnType())
+                    && ReflectionUtils.isSameSignature(this.method, other.method);
         }
         return false;
     }
@@ -5,14 +5,17 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonPrimitive;
 import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.PackagePart;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.PackageID;
+import pie.ilikepiefoo.kubejsoffline.core.util.Fingerprint;
 
 import java.util.Objects;
 
+
 public class PackagePartWrapper implements PackagePart {
     protected PackageID index;
     protected String name;
 
     protected PackageID prefix;
+    protected volatile long fingerprint;
 
     public PackagePartWrapper(String name, PackageID index) {
         this(null, name, index);
@@ -55,12 +58,20 @@ public class PackagePartWrapper implements PackagePart {
         return this.prefix;
     }
 
+    @Override
+    public long getFingerprint() {
+        if (fingerprint != 0) {
+            return fingerprint;
+        }
+        return this.fingerprint = Fingerprint.of("package")
+                .add(getName())
+                .add(getPrefix())
+                .get();
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(
-                getName(),
-                getPrefix()
-        );
+        return Long.hashCode(getFingerprint());
     }
 
 
@@ -73,8 +84,9 @@ public class PackagePartWrapper implements PackagePart {
             return true;
         }
         if (obj instanceof PackagePart other) {
-            return Objects.equals(this.getName(), other.getName()) &&
-                    Objects.equals(this.getPrefix(), other.getPrefix());
+            return this.getFingerprint() == other.getFingerprint()
+                    && Objects.equals(this.getName(), other.getName())
+                    && Objects.equals(this.getPrefix(), other.getPrefix());
         }
         return false;
     }
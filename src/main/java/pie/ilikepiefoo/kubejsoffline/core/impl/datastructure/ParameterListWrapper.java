@@ -0,0 +1,82 @@
+package pie.ilikepiefoo.kubejsoffline.core.impl.datastructure;
+
+import com.google.gson.JsonElement;
+import pie.ilikepiefoo.kubejsoffline.core.api.JSONSerializable;
+import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.ParameterListData;
+import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.property.IndexedData;
+import pie.ilikepiefoo.kubejsoffline.core.api.identifier.ParameterID;
+import pie.ilikepiefoo.kubejsoffline.core.api.identifier.ParameterListID;
+import pie.ilikepiefoo.kubejsoffline.core.util.Fingerprint;
+
+import java.util.List;
+
+public class ParameterListWrapper implements ParameterListData {
+    protected final List<ParameterID> parameters;
+    protected ParameterListID parameterListID;
+    protected volatile int usages;
+    protected volatile long fingerprint;
+
+    public ParameterListWrapper(List<ParameterID> parameters) {
+        this.parameters = List.copyOf(parameters);
+    }
+
+    @Override
+    public ParameterListID getIndex() {
+        return parameterListID;
+    }
+
+    @Override
+    public IndexedData<ParameterListID> setIndex(ParameterListID index) {
+        this.parameterListID = index;
+        return this;
+    }
+
+    @Override
+    public List<ParameterID> getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public int getUsages() {
+        return usages;
+    }
+
+    @Override
+    public synchronized void addUsage() {
+        usages++;
+    }
+
+    @Override
+    public JsonElement toJSON() {
+        return JSONSerializable.of(getParameters());
+    }
+
+    @Override
+    public long getFingerprint() {
+        if (fingerprint != 0) {
+            return fingerprint;
+        }
+        return this.fingerprint = Fingerprint.of("parameters")
+                .add(parameters)
+                .get();
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(getFingerprint());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof ParameterListWrapper other) {
+            return this.getFingerprint() == other.getFingerprint() && this.parameters.equals(other.parameters);
+        }
+        return false;
+    }
+}
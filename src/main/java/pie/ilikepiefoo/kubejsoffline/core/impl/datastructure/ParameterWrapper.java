@@ -9,12 +9,15 @@ import pie.ilikepiefoo.kubejsoffline.core.api.identifier.NameID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.ParameterID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeOrTypeVariableID;
 import pie.ilikepiefoo.kubejsoffline.core.impl.CollectionGroup;
+import pie.ilikepiefoo.kubejsoffline.core.util.Fingerprint;
+import pie.ilikepiefoo.kubejsoffline.core.util.ReflectionUtils;
 import pie.ilikepiefoo.kubejsoffline.core.util.SafeOperations;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
 
 public class ParameterWrapper implements ParameterData {
     protected CollectionGroup collectionGroup;
@@ -24,6 +27,7 @@ public class ParameterWrapper implements ParameterData {
     protected List<AnnotationID> annotations;
     protected TypeOrTypeVariableID type;
     protected NameID name;
+    protected volatile long fingerprint;
 
     public ParameterWrapper(CollectionGroup collectionGroup, Parameter parameter, Type genericType) {
         this.collectionGroup = collectionGroup;
@@ -53,7 +57,7 @@ public class ParameterWrapper implements ParameterData {
     }
 
     @Override
-    public NameID getName() {
+    public synchronized NameID getName() {
         if (name != null) {
             return name;
         }
@@ -61,7 +65,7 @@ public class ParameterWrapper implements ParameterData {
     }
 
     @Override
-    public TypeOrTypeVariableID getType() {
+    public synchronized TypeOrTypeVariableID getType() {
         if (type != null) {
             return type;
         }
@@ -74,21 +78,33 @@ public class ParameterWrapper implements ParameterData {
     }
 
     @Override
-    public List<AnnotationID> getAnnotations() {
+    public synchronized List<AnnotationID> getAnnotations() {
         if (annotations != null) {
             return annotations;
         }
         return annotations = SafeOperations.tryGet(parameter::getAnnotations).map(collectionGroup::of).orElse(List.of());
     }
 
+    protected Annotation[] getReflectedAnnotations() {
+        return SafeOperations.tryGet(parameter::getAnnotations).orElse(new Annotation[0]);
+    }
+
+    @Override
+    public long getFingerprint() {
+        if (fingerprint != 0) {
+            return fingerprint;
+        }
+        return this.fingerprint = Fingerprint.of("parameter")
+                .add(parameter.getName())
+                .add(getModifiers())
+                .add(genericType)
+                .add(getReflectedAnnotations())
+                .get();
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(
-                getName(),
-                getModifiers(),
-                getType(),
-                getAnnotations()
-        );
+        return Long.hashCode(getFingerprint());
     }
 
     @Override
@@ -100,10 +116,11 @@ public class ParameterWrapper implements ParameterData {
             return true;
         }
         if (obj instanceof ParameterWrapper other) {
-            return Objects.equals(this.getName(), other.getName())
-                    && Objects.equals(this.getModifiers(), other.getModifiers())
-                    && Objects.equals(this.getType(), other.getType())
-                    && Objects.equals(this.getAnnotations(), other.getAnnotations());
+            return this.getFingerprint() == other.getFingerprint()
+                    && this.getModifiers() == other.getModifiers()
+                    && this.parameter.getName().equals(other.parameter.getName())
+                    && ReflectionUtils.isSameType(this.genericType, other.genericType)
+                    && Arrays.equals(this.getReflectedAnnotations(), other.getReflectedAnnotations());
         }
         return false;
     }
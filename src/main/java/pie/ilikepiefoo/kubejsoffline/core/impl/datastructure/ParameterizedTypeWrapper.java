@@ -7,6 +7,8 @@ import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.ParameterizedTypeDat
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeOrTypeVariableID;
 import pie.ilikepiefoo.kubejsoffline.core.impl.CollectionGroup;
+import pie.ilikepiefoo.kubejsoffline.core.impl.identifier.ArrayIdentifier;
+import pie.ilikepiefoo.kubejsoffline.core.util.Fingerprint;
 import pie.ilikepiefoo.kubejsoffline.core.util.json.JSONProperty;
 
 import java.lang.reflect.ParameterizedType;
@@ -15,6 +17,7 @@ import java.util.List;
 public class ParameterizedTypeWrapper implements ParameterizedTypeData {
     protected final CollectionGroup collectionGroup;
     protected final ParameterizedType parameterizedType;
+    protected volatile long fingerprint;
     protected TypeID index;
     protected List<TypeOrTypeVariableID> actualTypeArguments;
     protected TypeID ownerType;
@@ -25,6 +28,13 @@ public class ParameterizedTypeWrapper implements ParameterizedTypeData {
         this.parameterizedType = parameterizedType;
     }
 
+    public ParameterizedTypeWrapper(CollectionGroup collectionGroup, ParameterizedType parameterizedType, TypeID rawType, TypeID ownerType, List<TypeOrTypeVariableID> actualTypeArguments) {
+        this(collectionGroup, parameterizedType);
+        this.rawType = rawType;
+        this.ownerType = ownerType;
+        this.actualTypeArguments = actualTypeArguments;
+    }
+
     @Override
     public TypeID getIndex() {
         return index;
@@ -82,9 +92,21 @@ public class ParameterizedTypeWrapper implements ParameterizedTypeData {
         return this.ownerType = collectionGroup.of(parameterizedType.getOwnerType()).asType();
     }
 
+    @Override
+    public long getFingerprint() {
+        if (fingerprint != 0) {
+            return fingerprint;
+        }
+        return this.fingerprint = Fingerprint.of("parameterized")
+                .add(getRawType())
+                .add(getOwnerType())
+                .add(getActualTypeArguments())
+                .get();
+    }
+
     @Override
     public int hashCode() {
-        return parameterizedType.hashCode();
+        return Long.hashCode(getFingerprint());
     }
 
     @Override
@@ -96,7 +118,10 @@ public class ParameterizedTypeWrapper implements ParameterizedTypeData {
             return true;
         }
         if (obj instanceof ParameterizedTypeWrapper other) {
-            return this.parameterizedType.equals(other.parameterizedType);
+            return this.getFingerprint() == other.getFingerprint()
+                    && ArrayIdentifier.isSame(this.getRawType(), other.getRawType())
+                    && ArrayIdentifier.isSame(this.getOwnerType(), other.getOwnerType())
+                    && ArrayIdentifier.isSame(this.getActualTypeArguments(), other.getActualTypeArguments());
         }
         return false;
     }
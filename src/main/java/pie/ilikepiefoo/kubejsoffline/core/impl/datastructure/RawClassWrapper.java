@@ -2,6 +2,7 @@ package pie.ilikepiefoo.kubejsoffline.core.impl.datastructure;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import pie.ilikepiefoo.kubejsoffline.core.api.DocumentationStage;
 import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.RawClassData;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.AnnotationID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.ConstructorID;
@@ -13,16 +14,26 @@ import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeOrTypeVariableID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeVariableID;
 import pie.ilikepiefoo.kubejsoffline.core.impl.CollectionGroup;
+import pie.ilikepiefoo.kubejsoffline.core.util.ClassWatchdog;
+import pie.ilikepiefoo.kubejsoffline.core.util.Fingerprint;
 import pie.ilikepiefoo.kubejsoffline.core.util.SafeOperations;
 import pie.ilikepiefoo.kubejsoffline.core.util.json.JSONProperty;
 
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.StringJoiner;
 import java.util.function.Predicate;
 
 public class RawClassWrapper implements RawClassData {
     protected final Class<?> clazz;
+    protected volatile long fingerprint;
     protected final CollectionGroup collectionGroup;
     protected List<AnnotationID> annotations;
     protected NameID name;
@@ -54,6 +65,26 @@ public class RawClassWrapper implements RawClassData {
         return this;
     }
 
+    @Override
+    @SuppressWarnings("try")
+    public void index() {
+        if (ClassWatchdog.INSTANCE.isSkipped(clazz)) {
+            // Only the place of a skipped class in the hierarchy is documented, its members could hang all over again.
+            synchronized (this) {
+                this.annotations = List.of();
+                this.typeParameters = List.of();
+                this.interfaces = List.of();
+                this.innerClasses = List.of();
+                this.constructors = List.of();
+                this.fields = List.of();
+                this.methods = List.of();
+            }
+        }
+        try (var ignored = ClassWatchdog.INSTANCE.watch(clazz, DocumentationStage.INDEXING)) {
+            RawClassData.super.index();
+        }
+    }
+
     @Override
     public JsonElement toJSON() {
         var json = new JsonObject();
@@ -78,7 +109,7 @@ public class RawClassWrapper implements RawClassData {
     }
 
     @Override
-    public NameID getName() {
+    public synchronized NameID getName() {
         if (name != null) {
             return name;
         }
@@ -86,7 +117,7 @@ public class RawClassWrapper implements RawClassData {
     }
 
     @Override
-    public List<AnnotationID> getAnnotations() {
+    public synchronized List<AnnotationID> getAnnotations() {
         if (annotations != null) {
             return annotations;
         }
@@ -99,7 +130,7 @@ public class RawClassWrapper implements RawClassData {
     }
 
     @Override
-    public PackageID getPackage() {
+    public synchronized PackageID getPackage() {
         if (packageID != null) {
             return packageID;
         }
@@ -110,7 +141,7 @@ public class RawClassWrapper implements RawClassData {
     }
 
     @Override
-    public TypeID getSuperClass() {
+    public synchronized TypeID getSuperClass() {
         if (superClass != null) {
             return superClass;
         }
@@ -118,7 +149,7 @@ public class RawClassWrapper implements RawClassData {
     }
 
     @Override
-    public List<TypeID> getInterfaces() {
+    public synchronized List<TypeID> getInterfaces() {
         if (interfaces != null) {
             return interfaces;
         }
@@ -126,7 +157,7 @@ public class RawClassWrapper implements RawClassData {
     }
 
     @Override
-    public List<TypeID> getInnerClasses() {
+    public synchronized List<TypeID> getInnerClasses() {
         if (innerClasses != null) {
             return innerClasses;
         }
@@ -134,7 +165,7 @@ public class RawClassWrapper implements RawClassData {
     }
 
     @Override
-    public TypeID getEnclosingClass() {
+    public synchronized TypeID getEnclosingClass() {
         if (enclosingClass != null) {
             return enclosingClass;
         }
@@ -145,7 +176,7 @@ public class RawClassWrapper implements RawClassData {
     }
 
     @Override
-    public TypeID getDeclaringClass() {
+    public synchronized TypeID getDeclaringClass() {
         if (declaringClass != null) {
             return declaringClass;
         }
@@ -156,7 +187,7 @@ public class RawClassWrapper implements RawClassData {
     }
 
     @Override
-    public List<TypeVariableID> getTypeParameters() {
+    public synchronized List<TypeVariableID> getTypeParameters() {
         if (typeParameters != null) {
             return typeParameters;
         }
@@ -164,27 +195,55 @@ public class RawClassWrapper implements RawClassData {
     }
 
     @Override
-    public List<ConstructorID> getConstructors() {
+    public synchronized List<ConstructorID> getConstructors() {
         if (constructors != null) {
             return constructors;
         }
-        return this.constructors = SafeOperations.tryGet(() -> collectionGroup.of(clazz.getDeclaredConstructors())).orElse(List.of());
+        return this.constructors = SafeOperations.tryGet(() -> collectionGroup.of(inStableOrder(clazz.getDeclaredConstructors()))).orElse(List.of());
     }
 
     @Override
-    public List<FieldID> getFields() {
+    public synchronized List<FieldID> getFields() {
         if (fields != null) {
             return fields;
         }
-        return this.fields = SafeOperations.tryGet(() -> collectionGroup.of(clazz.getDeclaredFields())).orElse(List.of());
+        return this.fields = SafeOperations.tryGet(() -> collectionGroup.of(inStableOrder(clazz.getDeclaredFields()))).orElse(List.of());
     }
 
     @Override
-    public List<MethodID> getMethods() {
+    public synchronized List<MethodID> getMethods() {
         if (methods != null) {
             return methods;
         }
-        return this.methods = SafeOperations.tryGet(() -> collectionGroup.of(clazz.getDeclaredMethods())).orElse(List.of());
+        return this.methods = SafeOperations.tryGet(() -> collectionGroup.of(inStableOrder(clazz.getDeclaredMethods()))).orElse(List.of());
+    }
+
+    /**
+     * Reflection returns declared members in no particular order, which can change between runs.
+     * They are sorted by name, and overloads by their parameter and return types.
+     */
+    private static <T extends Member> T[] inStableOrder(T[] members) {
+        Arrays.sort(members, Comparator.comparing(Member::getName).thenComparing(RawClassWrapper::describe));
+        return members;
+    }
+
+    private static String describe(Member member) {
+        if (member instanceof Executable executable) {
+            StringJoiner descriptor = new StringJoiner(",", "(", ")");
+            for (Class<?> parameterType : executable.getParameterTypes()) {
+                descriptor.add(parameterType.getTypeName());
+            }
+            return executable instanceof Method method ? descriptor + method.getReturnType().getTypeName() : descriptor.toString();
+        }
+        return member instanceof Field field ? field.getType().getTypeName() : "";
+    }
+
+    @Override
+    public long getFingerprint() {
+        if (fingerprint != 0) {
+            return fingerprint;
+        }
+        return this.fingerprint = Fingerprint.ofType(clazz);
     }
 
     @Override
@@ -7,16 +7,18 @@ import pie.ilikepiefoo.kubejsoffline.core.api.identifier.NameID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeOrTypeVariableID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeVariableID;
 import pie.ilikepiefoo.kubejsoffline.core.impl.CollectionGroup;
+import pie.ilikepiefoo.kubejsoffline.core.util.Fingerprint;
+import pie.ilikepiefoo.kubejsoffline.core.util.ReflectionUtils;
 import pie.ilikepiefoo.kubejsoffline.core.util.json.JSONProperty;
 
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.List;
-import java.util.Objects;
 
 public class TypeVariableWrapper implements TypeVariableData {
     protected final CollectionGroup collectionGroup;
     protected final TypeVariable<?> typeVariable;
+    protected volatile long fingerprint;
     protected TypeVariableID index;
     protected NameID name;
     protected List<TypeOrTypeVariableID> bounds;
@@ -65,9 +67,18 @@ public class TypeVariableWrapper implements TypeVariableData {
         return this.bounds = collectionGroup.of(typeVariable.getBounds(), (Type type) -> type == Object.class);
     }
 
+    @Override
+    public long getFingerprint() {
+        if (fingerprint != 0) {
+            return fingerprint;
+        }
+        // The type variables of overloads with the same bounds are the same entity.
+        return this.fingerprint = Fingerprint.ofTypeVariable(typeVariable);
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(typeVariable);
+        return Long.hashCode(getFingerprint());
     }
 
     @Override
@@ -79,7 +90,7 @@ public class TypeVariableWrapper implements TypeVariableData {
             return true;
         }
         if (obj instanceof TypeVariableWrapper other) {
-            return (this.typeVariable.equals(other.typeVariable)) || (this.hashCode() == other.hashCode());
+            return this.getFingerprint() == other.getFingerprint() && ReflectionUtils.isSameType(this.typeVariable, other.typeVariable);
         }
 
         return false;
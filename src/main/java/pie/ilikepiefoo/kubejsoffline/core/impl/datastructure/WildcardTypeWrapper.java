@@ -6,16 +6,18 @@ import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.WildcardTypeData;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeID;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.TypeOrTypeVariableID;
 import pie.ilikepiefoo.kubejsoffline.core.impl.CollectionGroup;
+import pie.ilikepiefoo.kubejsoffline.core.impl.identifier.ArrayIdentifier;
+import pie.ilikepiefoo.kubejsoffline.core.util.Fingerprint;
 import pie.ilikepiefoo.kubejsoffline.core.util.json.JSONProperty;
 
 import java.lang.reflect.Type;
 import java.lang.reflect.WildcardType;
 import java.util.List;
-import java.util.Objects;
 
 public class WildcardTypeWrapper implements WildcardTypeData {
     protected final CollectionGroup collectionGroup;
     protected final WildcardType wildcardType;
+    protected volatile long fingerprint;
     protected TypeID index;
     protected List<TypeOrTypeVariableID> extendsBounds;
     protected List<TypeOrTypeVariableID> superBounds;
@@ -26,6 +28,12 @@ public class WildcardTypeWrapper implements WildcardTypeData {
         this.wildcardType = wildcardType;
     }
 
+    public WildcardTypeWrapper(CollectionGroup collectionGroup, WildcardType wildcardType, List<TypeOrTypeVariableID> extendsBounds, List<TypeOrTypeVariableID> superBounds) {
+        this(collectionGroup, wildcardType);
+        this.extendsBounds = extendsBounds;
+        this.superBounds = superBounds;
+    }
+
     @Override
     public TypeID getIndex() {
         return index;
@@ -61,9 +69,20 @@ public class WildcardTypeWrapper implements WildcardTypeData {
         return this.superBounds = collectionGroup.of(wildcardType.getLowerBounds(), (Type type) -> type == Object.class);
     }
 
+    @Override
+    public long getFingerprint() {
+        if (fingerprint != 0) {
+            return fingerprint;
+        }
+        return this.fingerprint = Fingerprint.of("wildcard")
+                .add(getExtends())
+                .add(getSuper())
+                .get();
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(wildcardType);
+        return Long.hashCode(getFingerprint());
     }
 
     @Override
@@ -75,7 +94,9 @@ public class WildcardTypeWrapper implements WildcardTypeData {
             return true;
         }
         if (obj instanceof WildcardTypeWrapper other) {
-            return this.wildcardType.equals(other.wildcardType);
+            return this.getFingerprint() == other.getFingerprint()
+                    && ArrayIdentifier.isSame(this.getExtends(), other.getExtends())
+                    && ArrayIdentifier.isSame(this.getSuper(), other.getSuper());
         }
         return false;
     }
@@ -3,24 +3,82 @@ package pie.ilikepiefoo.kubejsoffline.core.impl.identifier;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.ArrayBasedIndex;
+import pie.ilikepiefoo.kubejsoffline.core.api.identifier.Index;
+import pie.ilikepiefoo.kubejsoffline.core.util.Fingerprint;
 
-import java.util.function.Supplier;
+import java.util.List;
 
 public class ArrayIdentifier extends IdentifierBase implements ArrayBasedIndex {
     protected int arrayDepth;
+    /**
+     * The identifier of the component type, or null if this identifier owns its array index.
+     * Array identifiers follow their component, so they stay valid when the component is reorganized.
+     */
+    protected Index component;
 
     public ArrayIdentifier(int arrayIndex) {
         super(arrayIndex);
         this.arrayDepth = 0;
+        this.component = null;
     }
 
     public ArrayIdentifier(ArrayBasedIndex index, int arrayDepth) {
-        this(index::getArrayIndex, arrayDepth + index.getArrayDepth());
+        super(index.getArrayIndex());
+        this.arrayDepth = arrayDepth + index.getArrayDepth();
+        this.component = (index instanceof ArrayIdentifier other && other.component != null) ? other.component : index;
     }
 
-    public ArrayIdentifier(Supplier<Integer> arrayIndexSupplier, int arrayDepth) {
-        super(arrayIndexSupplier);
-        this.arrayDepth = arrayDepth;
+    /**
+     * Unlike {@link #equals(Object)}, which compares array indexes alone, this compares the entities identified and
+     * their array depth, so it stays correct while array indexes are handed out and reorganized.
+     *
+     * @return Whether both identifiers identify the same entity at the same array depth.
+     */
+    public static boolean isSame(Index a, Index b) {
+        return getIdentity(a) == getIdentity(b) && getArrayDepth(a) == getArrayDepth(b);
+    }
+
+    public static boolean isSame(List<? extends Index> a, List<? extends Index> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!isSame(a.get(i), b.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The identifier that owns the array index of the given identifier, which is the same instance for every
+     * identifier of the same entity, whatever its array depth.
+     */
+    public static Index getIdentity(Index index) {
+        return index instanceof ArrayIdentifier arrayIdentifier && arrayIdentifier.component != null ? arrayIdentifier.component : index;
+    }
+
+    public static int getArrayDepth(Index index) {
+        return index instanceof ArrayBasedIndex arrayBasedIndex ? arrayBasedIndex.getArrayDepth() : 0;
+    }
+
+    @Override
+    public int getArrayIndex() {
+        return component == null ? super.getArrayIndex() : component.getArrayIndex();
+    }
+
+    @Override
+    public void setArrayIndex(int arrayIndex) {
+        if (component != null) {
+            setFingerprint(component.getFingerprint());
+        }
+        this.component = null;
+        super.setArrayIndex(arrayIndex);
+    }
+
+    @Override
+    public long getFingerprint() {
+        return Fingerprint.ofArray(component == null ? super.getFingerprint() : component.getFingerprint(), arrayDepth);
     }
 
     @Override
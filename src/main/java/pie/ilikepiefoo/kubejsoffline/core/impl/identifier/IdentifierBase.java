@@ -4,34 +4,39 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonPrimitive;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.Index;
 
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.Supplier;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 
 public class IdentifierBase implements Index {
+    private static final VarHandle REFERENCE_COUNT;
 
-    protected Supplier<Integer> arrayIndexSupplier = null;
-    protected AtomicLong referenceCount = new AtomicLong(0);
-
-    public IdentifierBase(int arrayIndex) {
-        this.arrayIndexSupplier = () -> arrayIndex;
+    static {
+        try {
+            REFERENCE_COUNT = MethodHandles.lookup().findVarHandle(IdentifierBase.class, "referenceCount", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
     }
 
-    public IdentifierBase(Supplier<Integer> arrayIndexSupplier) {
-        if (arrayIndexSupplier == null) {
-            throw new IllegalArgumentException("Array index supplier cannot be null");
-        }
-        this.arrayIndexSupplier = arrayIndexSupplier;
+    protected volatile int arrayIndex;
+    /**
+     * Only ever updated through {@link #REFERENCE_COUNT}, so that every identifier does not need its own atomic wrapper.
+     */
+    private volatile long referenceCount;
+    protected volatile long fingerprint;
+
+    public IdentifierBase(int arrayIndex) {
+        this.arrayIndex = arrayIndex;
     }
 
     @Override
     public int hashCode() {
-        int arrayIndex = getArrayIndex();
-        return Integer.hashCode(arrayIndex);
+        return Integer.hashCode(getArrayIndex());
     }
 
     @Override
     public int getArrayIndex() {
-        return arrayIndexSupplier.get();
+        return arrayIndex;
     }
 
     @Override
@@ -71,7 +76,7 @@ public class IdentifierBase implements Index {
         return "%d".formatted(getArrayIndex());
     }    @Override
     public void setArrayIndex(int arrayIndex) {
-        this.arrayIndexSupplier = () -> arrayIndex;
+        this.arrayIndex = arrayIndex;
     }
 
     @Override
@@ -79,13 +84,23 @@ public class IdentifierBase implements Index {
         return new JsonPrimitive(getSelfWithReference().getArrayIndex());
     }    @Override
     public Index getSelfWithReference() {
-        referenceCount.incrementAndGet();
+        REFERENCE_COUNT.getAndAdd(this, 1L);
         return this;
     }
 
     @Override
     public long getReferenceCount() {
-        return referenceCount.get();
+        return referenceCount;
+    }
+
+    @Override
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    @Override
+    public void setFingerprint(long fingerprint) {
+        this.fingerprint = fingerprint;
     }
 
 
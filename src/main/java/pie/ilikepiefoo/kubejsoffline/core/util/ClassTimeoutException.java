@@ -0,0 +1,14 @@
+package pie.ilikepiefoo.kubejsoffline.core.util;
+
+import pie.ilikepiefoo.kubejsoffline.core.api.DocumentationStage;
+
+/**
+ * Thrown at a checkpoint once {@link ClassWatchdog} gave up on the class the current thread works on.
+ */
+public class ClassTimeoutException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public ClassTimeoutException(Class<?> clazz, DocumentationStage stage) {
+        super("Gave up on " + clazz.getName() + " during " + stage.getId());
+    }
+}
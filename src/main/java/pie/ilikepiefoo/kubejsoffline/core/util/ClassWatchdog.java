@@ -0,0 +1,242 @@
+package pie.ilikepiefoo.kubejsoffline.core.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import pie.ilikepiefoo.kubejsoffline.core.api.DocumentationBridge;
+import pie.ilikepiefoo.kubejsoffline.core.api.DocumentationStage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Tracks how much CPU time every class takes to reflect on, and gives up on classes that use more than a time limit.
+ * <p>
+ * Registering and indexing a class are watched separately. A watchdog thread looks at the classes being worked on, and
+ * once one uses more CPU time than the limit it is marked as failed: the worker stops at its next member with a
+ * {@link ClassTimeoutException}, and the members of the class are left out of the documentation. Time a worker spends
+ * paused by the throttle, waiting for a lock or descheduled by a busy server is not counted, so only classes that are
+ * expensive themselves are given up on. A single reflective call that spins cannot be stopped, but the class is still
+ * reported while the other workers carry on. Failed classes are written to a report that can be used as the list of
+ * excluded classes of the next run.
+ */
+public class ClassWatchdog {
+    public static final ClassWatchdog INSTANCE = new ClassWatchdog();
+    /**
+     * The number of classes that stayed within the limit to list in the report, slowest first.
+     */
+    public static final int SLOWEST_CLASSES = 20;
+    private static final Logger LOG = LogManager.getLogger();
+    private static final int STACK_DEPTH = 12;
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final Watch NONE = new Watch(null, null, null, 0);
+
+    private final Map<Thread, Watch> activeWatches = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Long> classNanos = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Offender> offenders = new ConcurrentHashMap<>();
+    private volatile Set<String> excludedClasses = Set.of();
+    private volatile long limitNanos;
+    private volatile boolean enabled;
+    private volatile boolean cpuTime;
+    private volatile DocumentationBridge bridge;
+    private Thread watchdogThread;
+
+    /**
+     * @param limitMillis     How much CPU time a class may use in a single stage before it is skipped. 0 or less only
+     *                        tracks the time classes take.
+     * @param excludedClasses The names of the classes that are never reflected on.
+     * @param bridge          The bridge to report skipped classes to.
+     */
+    public synchronized void enable(long limitMillis, Collection<String> excludedClasses, DocumentationBridge bridge) {
+        disable();
+        classNanos.clear();
+        offenders.clear();
+        this.limitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, limitMillis));
+        this.excludedClasses = Set.copyOf(excludedClasses);
+        this.bridge = bridge;
+        // Without CPU time, the wall time of each class is measured instead.
+        this.cpuTime = THREADS.isThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+        this.enabled = true;
+        if (limitMillis > 0) {
+            watchdogThread = new Thread(this::poll, "KubeJS-Offline-Watchdog");
+            watchdogThread.setDaemon(true);
+            watchdogThread.start();
+        }
+    }
+
+    /**
+     * Stops watching. The tracked times and failed classes are kept until the next time the watchdog is enabled.
+     */
+    public synchronized void disable() {
+        enabled = false;
+        if (watchdogThread != null) {
+            watchdogThread.interrupt();
+            watchdogThread = null;
+        }
+        activeWatches.clear();
+        bridge = null;
+    }
+
+    /**
+     * Starts watching the calling thread work on a class. Work on other classes started from inside the watch counts
+     * towards the class that is already watched.
+     *
+     * @return The watch to close once the class is done.
+     */
+    public Watch watch(Class<?> clazz, DocumentationStage stage) {
+        if (!enabled) {
+            return NONE;
+        }
+        Thread thread = Thread.currentThread();
+        if (activeWatches.containsKey(thread)) {
+            return NONE;
+        }
+        Watch watch = new Watch(clazz, stage, thread, workTime());
+        activeWatches.put(thread, watch);
+        return watch;
+    }
+
+    /**
+     * @throws ClassTimeoutException If the class the calling thread works on ran out of time.
+     */
+    public void checkpoint() {
+        if (!enabled) {
+            return;
+        }
+        Watch watch = activeWatches.get(Thread.currentThread());
+        if (watch != null && watch.timedOut) {
+            throw new ClassTimeoutException(watch.clazz, watch.stage);
+        }
+    }
+
+    public boolean isExcluded(Class<?> clazz) {
+        return excludedClasses.contains(clazz.getName());
+    }
+
+    /**
+     * @return True if the members of the class should not be reflected on, because it is excluded or already failed.
+     */
+    public boolean isSkipped(Class<?> clazz) {
+        return isExcluded(clazz) || offenders.containsKey(clazz);
+    }
+
+    public int getFailedClassCount() {
+        return offenders.size();
+    }
+
+    public static File getReportFile(File outputFile) {
+        return new File(outputFile.getParentFile(), outputFile.getName() + ".slow-classes.txt");
+    }
+
+    /**
+     * Writes every failed class, followed by the classes that took the longest without failing. Lines that are not
+     * comments are the names of the failed classes.
+     */
+    public void writeReport(File file) {
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(String.format("# Classes that used more than %,dms of CPU time to reflect on. Their members were left out of the documentation.%n", TimeUnit.NANOSECONDS.toMillis(limitNanos)));
+            writer.write(String.format("# Add them to the excluded classes to skip them from the start.%n"));
+            for (Offender offender : offenders.values().stream().sorted(Comparator.comparingLong(Offender::nanos).reversed()).toList()) {
+                writer.write(String.format("%s%n", offender.clazz().getName()));
+                writer.write(String.format("#   %,dms during %s, stuck at:%n", TimeUnit.NANOSECONDS.toMillis(offender.nanos()), offender.stage().getId()));
+                for (StackTraceElement element : offender.stackTrace()) {
+                    writer.write(String.format("#     at %s%n", element));
+                }
+            }
+            writer.write(String.format("# The slowest classes that were not skipped, with the time of every stage added up:%n"));
+            var slowest = classNanos.entrySet().stream()
+                    .filter((entry) -> !offenders.containsKey(entry.getKey()))
+                    .sorted(Map.Entry.<Class<?>, Long>comparingByValue().reversed())
+                    .limit(SLOWEST_CLASSES)
+                    .toList();
+            for (var entry : slowest) {
+                writer.write(String.format("#   %,8dms %s%n", TimeUnit.NANOSECONDS.toMillis(entry.getValue()), entry.getKey().getName()));
+            }
+        } catch (final IOException e) {
+            LOG.warn("Failed to write the slow class report {}", file, e);
+        }
+    }
+
+    private void poll() {
+        long pollNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(10), limitNanos / 4);
+        while (enabled && !Thread.currentThread().isInterrupted()) {
+            // Parked rather than slept, as sleeping initializes the JDK's sleep event and changes how its classes reflect.
+            LockSupport.parkNanos(pollNanos);
+            for (Watch watch : activeWatches.values()) {
+                if (watch.timedOut) {
+                    continue;
+                }
+                long elapsed = workTime(watch.thread) - watch.startNanos;
+                // The watch may have been closed since it was read, and its thread moved on to another class.
+                if (elapsed > limitNanos && activeWatches.get(watch.thread) == watch) {
+                    timeOut(watch, elapsed);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The work time of the calling thread so far, in nanoseconds.
+     */
+    private long workTime() {
+        return cpuTime ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    private long workTime(Thread thread) {
+        return cpuTime ? THREADS.getThreadCpuTime(thread.threadId()) : System.nanoTime();
+    }
+
+    private void timeOut(Watch watch, long elapsedNanos) {
+        watch.timedOut = true;
+        StackTraceElement[] stackTrace = watch.thread.getStackTrace();
+        offenders.put(watch.clazz, new Offender(watch.clazz, watch.stage, elapsedNanos, Arrays.copyOf(stackTrace, Math.min(STACK_DEPTH, stackTrace.length))));
+        LOG.warn("{} used more than {}ms of CPU time during {}, skipping it", watch.clazz.getName(), TimeUnit.NANOSECONDS.toMillis(limitNanos), watch.stage.getId());
+        var bridge = this.bridge;
+        if (bridge != null) {
+            bridge.sendMessage(String.format("[KJS Offline] %s used more than %,dms of CPU time to reflect on, its members will be left out.", watch.clazz.getName(), TimeUnit.NANOSECONDS.toMillis(limitNanos)));
+        }
+    }
+
+    public static class Watch implements AutoCloseable {
+        private final Class<?> clazz;
+        private final DocumentationStage stage;
+        private final Thread thread;
+        private final long startNanos;
+        private volatile boolean timedOut;
+
+        private Watch(Class<?> clazz, DocumentationStage stage, Thread thread, long startNanos) {
+            this.clazz = clazz;
+            this.stage = stage;
+            this.thread = thread;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void close() {
+            if (thread == null) {
+                return;
+            }
+            long elapsed = INSTANCE.workTime() - startNanos;
+            INSTANCE.activeWatches.remove(thread, this);
+            INSTANCE.classNanos.merge(clazz, elapsed, Long::sum);
+            if (timedOut) {
+                INSTANCE.offenders.computeIfPresent(clazz, (key, offender) -> new Offender(key, offender.stage(), elapsed, offender.stackTrace()));
+            }
+        }
+    }
+
+    private record Offender(Class<?> clazz, DocumentationStage stage, long nanos, StackTraceElement[] stackTrace) {
+    }
+}
@@ -0,0 +1,59 @@
+package pie.ilikepiefoo.kubejsoffline.core.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Worker pools for generating documentation, kept apart from the common pool that the game and other mods share.
+ * <p>
+ * Parallel streams, parallel sorts and other fork join tasks started from one of these workers run on its pool, so
+ * running the generation itself on the pool is enough to keep all of its work off the common pool.
+ */
+public final class DocumentationPool {
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+    private DocumentationPool() {
+    }
+
+    /**
+     * Creates a pool of low priority daemon threads. The workers use the context class loader of the calling thread, as
+     * mod loaders resolve classes through it, and are measured by {@link GenerationThreads}.
+     *
+     * @param parallelism The number of worker threads.
+     * @return The new pool, which the caller has to shut down.
+     */
+    public static ForkJoinPool create(int parallelism) {
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        final int pool = POOL_COUNT.incrementAndGet();
+        return new ForkJoinPool(Math.max(1, parallelism), (owner) -> {
+            ForkJoinWorkerThread thread = new ForkJoinWorkerThread(owner) {
+                @Override
+                protected void onStart() {
+                    super.onStart();
+                    GenerationThreads.register(this);
+                }
+
+                @Override
+                protected void onTermination(Throwable exception) {
+                    GenerationThreads.retire(this);
+                    super.onTermination(exception);
+                }
+            };
+            thread.setName("KubeJS-Offline-" + pool + "-Worker-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * @return The pool the current task runs on, or the common pool if it is not running on one.
+     */
+    public static ForkJoinPool current() {
+        ForkJoinPool pool = ForkJoinTask.getPool();
+        return pool == null ? ForkJoinPool.commonPool() : pool;
+    }
+}
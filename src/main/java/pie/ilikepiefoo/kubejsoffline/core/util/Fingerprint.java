@@ -0,0 +1,213 @@
+package pie.ilikepiefoo.kubejsoffline.core.util;
+
+import pie.ilikepiefoo.kubejsoffline.core.api.datastructure.property.IndexedData;
+import pie.ilikepiefoo.kubejsoffline.core.api.identifier.Index;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Executable;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Collection;
+import java.util.HexFormat;
+
+/**
+ * Builds a 64-bit structural fingerprint of an entity.
+ * <p>
+ * Fingerprints are made only from names, modifiers, reflected types and the fingerprints of the entities referred to,
+ * never from array indexes or identity hash codes, so the same entity has the same fingerprint in every run. Entities
+ * hash on their fingerprint and use it to reject unequal entities, only comparing their properties when the
+ * fingerprints match.
+ */
+public final class Fingerprint {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long hash;
+
+    private Fingerprint(String kind) {
+        this.hash = FNV_OFFSET;
+        add(kind);
+    }
+
+    /**
+     * @param kind The kind of entity, so entities of different kinds with the same properties do not collide.
+     */
+    public static Fingerprint of(String kind) {
+        return new Fingerprint(kind);
+    }
+
+    public Fingerprint add(long value) {
+        hash = (hash ^ value) * GOLDEN_GAMMA;
+        hash ^= hash >>> 29;
+        return this;
+    }
+
+    public Fingerprint add(String value) {
+        return add(value == null ? 0 : ofString(value));
+    }
+
+    public Fingerprint add(Index index) {
+        return add(index == null ? 0 : index.getFingerprint());
+    }
+
+    public Fingerprint add(Collection<? extends Index> indexes) {
+        add(indexes.size());
+        for (Index index : indexes) {
+            add(index);
+        }
+        return this;
+    }
+
+    public Fingerprint add(Type type) {
+        return add(type == null ? 0 : ofType(type));
+    }
+
+    public Fingerprint add(Type[] types) {
+        add(types.length);
+        for (Type type : types) {
+            add(type);
+        }
+        return this;
+    }
+
+    /**
+     * Annotations are added by their type and formatted values, as the hash codes of enum and class values differ
+     * between runs.
+     */
+    public Fingerprint add(Annotation[] annotations) {
+        add(annotations.length);
+        for (Annotation annotation : annotations) {
+            add(annotation.annotationType());
+            add(annotation.toString());
+        }
+        return this;
+    }
+
+    /**
+     * Adds everything an executable has besides its name and return type.
+     */
+    public Fingerprint add(Executable executable) {
+        add(executable.getModifiers());
+        add(SafeOperations.tryGet(executable::getAnnotations).orElse(new Annotation[0]));
+        TypeVariable<?>[] typeParameters = executable.getTypeParameters();
+        add(typeParameters.length);
+        for (TypeVariable<?> typeParameter : typeParameters) {
+            add(ofTypeVariable(typeParameter));
+        }
+        add(executable.getExceptionTypes());
+        Parameter[] parameters = executable.getParameters();
+        add(parameters.length);
+        for (Parameter parameter : parameters) {
+            add(parameter.getName());
+            add(parameter.getModifiers());
+            add(SafeOperations.tryGet(parameter::getAnnotations).orElse(new Annotation[0]));
+        }
+        return add(SafeOperations.tryGet(executable::getGenericParameterTypes).orElse(new Type[0]));
+    }
+
+    public long get() {
+        // The finalizer of MurmurHash3, so every input bit affects every output bit.
+        long result = hash;
+        result ^= result >>> 33;
+        result *= 0xff51afd7ed558ccdL;
+        result ^= result >>> 33;
+        result *= 0xc4ceb9fe1a85ec53L;
+        result ^= result >>> 33;
+        return result;
+    }
+
+    /**
+     * @return The 64-bit FNV-1a hash of the characters of the string.
+     */
+    public static long ofString(String value) {
+        long result = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            result = (result ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return result;
+    }
+
+    /**
+     * Type variables are fingerprinted by their name and the member that declares them rather than their bounds, so
+     * recursive bounds such as {@code E extends Enum<E>} terminate. Overloads of a method share their type variables.
+     *
+     * @return The fingerprint of a reflected type.
+     */
+    public static long ofType(Type type) {
+        if (type instanceof GenericArrayType || (type instanceof Class<?> arrayClass && arrayClass.isArray())) {
+            // Arrays are written as their component and depth, the same as array identifiers are fingerprinted.
+            int arrayDepth = 0;
+            var component = type;
+            while (true) {
+                if (component instanceof Class<?> clazz && clazz.isArray()) {
+                    component = clazz.getComponentType();
+                } else if (component instanceof GenericArrayType genericArrayType) {
+                    component = genericArrayType.getGenericComponentType();
+                } else {
+                    break;
+                }
+                arrayDepth++;
+            }
+            return ofArray(ofType(component), arrayDepth);
+        }
+        if (type instanceof Class<?> clazz) {
+            return of("class").add(clazz.getName()).get();
+        }
+        if (type instanceof ParameterizedType parameterizedType) {
+            var fingerprint = of("parameterized")
+                    .add(ofType(parameterizedType.getRawType()))
+                    .add(parameterizedType.getOwnerType() == null ? 0 : ofType(parameterizedType.getOwnerType()));
+            return fingerprint.add(parameterizedType.getActualTypeArguments()).get();
+        }
+        if (type instanceof WildcardType wildcardType) {
+            return of("wildcard").add(wildcardType.getUpperBounds()).add(wildcardType.getLowerBounds()).get();
+        }
+        if (type instanceof TypeVariable<?> typeVariable) {
+            var declaration = typeVariable.getGenericDeclaration();
+            return of("variable")
+                    .add(typeVariable.getName())
+                    .add(declaration instanceof Class<?> clazz ? clazz.getName() : declaration instanceof Executable executable ? executable.getDeclaringClass().getName() + "#" + executable.getName() : String.valueOf(declaration))
+                    .get();
+        }
+        return of("type").add(type.getTypeName()).get();
+    }
+
+    /**
+     * Unlike {@link #ofType(Type)}, the bounds of the type variable are added, so overloads that only differ in the
+     * bounds of their type variables have different fingerprints.
+     *
+     * @return The fingerprint of the declaration of a type variable.
+     */
+    public static long ofTypeVariable(TypeVariable<?> typeVariable) {
+        var fingerprint = of("variable").add(ofType(typeVariable));
+        for (Type bound : SafeOperations.tryGet(typeVariable::getBounds).orElse(new Type[0])) {
+            if (bound != Object.class) {
+                fingerprint.add(ofType(bound));
+            }
+        }
+        return fingerprint.get();
+    }
+
+    public static long ofArray(long component, int arrayDepth) {
+        return arrayDepth == 0 ? component : of("array").add(component).add(arrayDepth).get();
+    }
+
+    /**
+     * @return The fingerprint of a value stored in a collection, which is either an entity or a plain name.
+     */
+    public static long ofValue(Object value) {
+        if (value instanceof IndexedData<?> data) {
+            return data.getFingerprint();
+        }
+        return ofString(String.valueOf(value));
+    }
+
+    public static String toHex(long fingerprint) {
+        return HexFormat.of().toHexDigits(fingerprint);
+    }
+}
@@ -0,0 +1,105 @@
+package pie.ilikepiefoo.kubejsoffline.core.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps track of the threads that generate documentation, so the cost of generation can be measured apart from the
+ * server, the network threads and every other mod in the same process.
+ * <p>
+ * The workers of every {@link DocumentationPool} register themselves when they start. When a worker exits, the CPU
+ * time and allocations it used are moved to a running total, so workers that exit in the middle of a stage are not
+ * lost.
+ */
+public final class GenerationThreads {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final Set<Thread> WORKERS = new LinkedHashSet<>();
+    private static long retiredCpuNanos;
+    private static long retiredAllocatedBytes;
+
+    private GenerationThreads() {
+    }
+
+    /**
+     * Starts measuring a worker. Called by the worker itself when it starts.
+     */
+    static synchronized void register(Thread worker) {
+        WORKERS.add(worker);
+    }
+
+    /**
+     * Stops measuring a worker and keeps what it used. Called by the worker itself right before it exits.
+     */
+    static synchronized void retire(Thread worker) {
+        if (!WORKERS.remove(worker)) {
+            return;
+        }
+        long cpuNanos = getCpuTime(worker.threadId());
+        if (cpuNanos > 0) {
+            retiredCpuNanos += cpuNanos;
+        }
+        long allocatedBytes = getAllocatedBytes(worker.threadId());
+        if (allocatedBytes > 0) {
+            retiredAllocatedBytes += allocatedBytes;
+        }
+    }
+
+    /**
+     * @return The CPU time used by every generation worker so far and the calling thread, or -1 if it cannot be measured.
+     */
+    public static synchronized long getCpuTime() {
+        if (!THREADS.isThreadCpuTimeSupported() || !THREADS.isThreadCpuTimeEnabled()) {
+            return -1;
+        }
+        long total = retiredCpuNanos;
+        for (long threadId : getMeasuredThreadIds()) {
+            total += Math.max(0, getCpuTime(threadId));
+        }
+        return total;
+    }
+
+    /**
+     * @return The bytes allocated by every generation worker so far and the calling thread, or -1 if they cannot be
+     * measured.
+     */
+    public static synchronized long getAllocatedBytes() {
+        if (!(THREADS instanceof com.sun.management.ThreadMXBean sunBean) || !sunBean.isThreadAllocatedMemorySupported() || !sunBean.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        long total = retiredAllocatedBytes;
+        for (long allocatedBytes : sunBean.getThreadAllocatedBytes(getMeasuredThreadIds())) {
+            total += Math.max(0, allocatedBytes);
+        }
+        return total;
+    }
+
+    /**
+     * The calling thread is measured as well, as generation started from a provided pool or a plain thread runs its
+     * stages on it.
+     */
+    private static long[] getMeasuredThreadIds() {
+        List<Thread> threads = new ArrayList<>(WORKERS);
+        if (!WORKERS.contains(Thread.currentThread())) {
+            threads.add(Thread.currentThread());
+        }
+        return threads.stream().mapToLong(Thread::threadId).toArray();
+    }
+
+    private static long getCpuTime(long threadId) {
+        if (!THREADS.isThreadCpuTimeSupported() || !THREADS.isThreadCpuTimeEnabled()) {
+            return -1;
+        }
+        return THREADS.getThreadCpuTime(threadId);
+    }
+
+    private static long getAllocatedBytes(long threadId) {
+        if (!(THREADS instanceof com.sun.management.ThreadMXBean sunBean) || !sunBean.isThreadAllocatedMemorySupported() || !sunBean.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        return sunBean.getThreadAllocatedBytes(threadId);
+    }
+}
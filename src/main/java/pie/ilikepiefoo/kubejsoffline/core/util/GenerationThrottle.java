@@ -0,0 +1,138 @@
+package pie.ilikepiefoo.kubejsoffline.core.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Limits how much CPU time indexing and writing take, so generation can run while a server is ticking.
+ * <p>
+ * Long running loops call {@link #checkpoint()} between entities. Every checkpoint charges the CPU time its thread used
+ * since its last checkpoint to a budget shared by all generation threads. Once the budget of the current period is used
+ * up, every thread that reaches a checkpoint pauses until the next period, and while the busy signal is raised they wait
+ * until it is lowered again. Time a thread spends idle between checkpoints is not charged, and work past the budget is
+ * paid back by the following periods.
+ * Throttling only ever delays work, so the output is the same as without it. Checkpoints are also where generation
+ * stops once {@link HeapGuard} runs out of heap.
+ */
+public class GenerationThrottle {
+    public static final GenerationThrottle INSTANCE = new GenerationThrottle();
+    /**
+     * How often the busy signal is polled while generation is paused.
+     */
+    public static final long BUSY_POLL_MILLIS = 10;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    /**
+     * The work time of the calling thread at its last checkpoint, and the run it was taken in.
+     */
+    private final ThreadLocal<long[]> lastCheckpoint = ThreadLocal.withInitial(() -> new long[2]);
+    private volatile boolean enabled;
+    private volatile long run;
+    private volatile boolean cpuTime;
+    private volatile long workNanos;
+    private volatile long periodNanos;
+    private volatile BooleanSupplier busySignal = () -> false;
+    private long periodStart;
+    private long usedNanos;
+
+    /**
+     * @param workMillis   The CPU time all generation threads together may use in every period.
+     * @param periodMillis The length of a period.
+     * @param busySignal   Raised while generation should pause entirely. It is polled at every checkpoint, so it has
+     *                     to be cheap.
+     */
+    public void enable(long workMillis, long periodMillis, BooleanSupplier busySignal) {
+        if (workMillis <= 0 || periodMillis <= workMillis) {
+            throw new IllegalArgumentException("The work budget must be positive and shorter than the period, but was " + workMillis + "ms per " + periodMillis + "ms");
+        }
+        this.workNanos = TimeUnit.MILLISECONDS.toNanos(workMillis);
+        this.periodNanos = TimeUnit.MILLISECONDS.toNanos(periodMillis);
+        this.busySignal = busySignal == null ? () -> false : busySignal;
+        // Without CPU time, the wall time between checkpoints is charged instead.
+        this.cpuTime = THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+        synchronized (this) {
+            this.periodStart = System.nanoTime();
+            this.usedNanos = 0;
+        }
+        // Checkpoints taken in an earlier run are not charged to this one.
+        this.run++;
+        this.enabled = true;
+    }
+
+    public void disable() {
+        this.enabled = false;
+        this.busySignal = () -> false;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Pauses the calling thread if generation has used up its budget for the current period, or while the busy signal
+     * is raised.
+     *
+     * @throws HeapPressureException If generation has to stop because the heap is almost full.
+     */
+    public void checkpoint() {
+        HeapGuard.INSTANCE.checkpoint();
+        if (!enabled) {
+            return;
+        }
+        long[] last = lastCheckpoint.get();
+        if (busySignal.getAsBoolean()) {
+            do {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(BUSY_POLL_MILLIS));
+            } while (enabled && busySignal.getAsBoolean() && !Thread.currentThread().isInterrupted());
+            restart(last);
+            return;
+        }
+        long now = workTime();
+        if (last[1] != run) {
+            restart(last);
+            return;
+        }
+        long worked = now - last[0];
+        last[0] = now;
+        long wait = charge(worked);
+        if (wait <= 0) {
+            return;
+        }
+        while (wait > 0 && enabled && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(wait);
+            wait = charge(0);
+        }
+        // The pause itself is not work.
+        restart(last);
+    }
+
+    /**
+     * Charges work to the shared budget.
+     *
+     * @return How long to pause for before the budget allows more work, or 0 to keep working.
+     */
+    private synchronized long charge(long worked) {
+        long now = System.nanoTime();
+        long periods = (now - periodStart) / periodNanos;
+        if (periods > 0) {
+            // Work past the budget is paid back by the following periods, unused budget is not saved up.
+            usedNanos = Math.max(0, usedNanos - periods * workNanos);
+            periodStart += periods * periodNanos;
+        }
+        usedNanos += worked;
+        return usedNanos < workNanos ? 0 : periodStart + periodNanos - now;
+    }
+
+    private void restart(long[] last) {
+        last[0] = workTime();
+        last[1] = run;
+    }
+
+    private long workTime() {
+        return cpuTime ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+}
@@ -0,0 +1,212 @@
+package pie.ilikepiefoo.kubejsoffline.core.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import pie.ilikepiefoo.kubejsoffline.core.api.DocumentationBridge;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Watches the heap while documentation is generated, so generating next to a running server cannot run it out of
+ * memory.
+ * <p>
+ * The guard sets a collection usage threshold on every tenured heap pool, so the JVM reports whenever the memory still
+ * in use after a garbage collection crosses it. Pressure only rises during a run. From {@link Pressure#ELEVATED} the
+ * registered pools shrink to a single worker, from {@link Pressure#HIGH} the indexed entities are moved off the heap
+ * as soon as indexing finishes, and at {@link Pressure#CRITICAL} the next checkpoint aborts generation.
+ */
+public class HeapGuard implements NotificationListener {
+    public static final HeapGuard INSTANCE = new HeapGuard();
+    private static final Logger LOG = LogManager.getLogger();
+
+    private final Map<String, MemoryPoolMXBean> guardedPools = new LinkedHashMap<>();
+    private final Map<String, Long> previousThresholds = new LinkedHashMap<>();
+    private final Set<ForkJoinPool> workerPools = ConcurrentHashMap.newKeySet();
+    private volatile Pressure pressure = Pressure.NORMAL;
+    private volatile double usedRatio;
+    private double threshold;
+    private DocumentationBridge bridge;
+    private boolean listening;
+
+    /**
+     * @param threshold The share of a heap pool that may stay in use after a collection before generation adapts.
+     * @param bridge    The bridge to report changes in pressure to.
+     */
+    public synchronized void enable(double threshold, DocumentationBridge bridge) {
+        if (threshold <= 0 || threshold >= 1) {
+            throw new IllegalArgumentException("The heap pressure threshold must be between 0 and 1, but was " + threshold);
+        }
+        disable();
+        this.threshold = threshold;
+        this.bridge = bridge;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            // Only tenured pools support usage thresholds, and only they tell how much of the heap is really live.
+            if (pool.getType() != MemoryType.HEAP || !pool.isUsageThresholdSupported() || !pool.isCollectionUsageThresholdSupported() || pool.getUsage().getMax() <= 0) {
+                continue;
+            }
+            guardedPools.put(pool.getName(), pool);
+            previousThresholds.put(pool.getName(), pool.getCollectionUsageThreshold());
+            pool.setCollectionUsageThreshold(Pressure.ELEVATED.getThresholdBytes(threshold, pool.getUsage().getMax()));
+        }
+        if (guardedPools.isEmpty()) {
+            LOG.info("No heap memory pool supports collection usage thresholds, generation will not adapt to heap pressure.");
+            return;
+        }
+        ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).addNotificationListener(this, null, null);
+        listening = true;
+    }
+
+    /**
+     * Stops watching the heap, and restores the thresholds the pools had before.
+     */
+    public synchronized void disable() {
+        if (listening) {
+            try {
+                ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).removeNotificationListener(this);
+            } catch (final ListenerNotFoundException e) {
+                LOG.debug("The heap guard was not listening for memory notifications", e);
+            }
+            listening = false;
+        }
+        for (var entry : previousThresholds.entrySet()) {
+            guardedPools.get(entry.getKey()).setCollectionUsageThreshold(entry.getValue());
+        }
+        guardedPools.clear();
+        previousThresholds.clear();
+        workerPools.clear();
+        bridge = null;
+        pressure = Pressure.NORMAL;
+        usedRatio = 0;
+    }
+
+    /**
+     * Registers a pool that generation runs on, so it can be shrunk once the heap comes under pressure.
+     * Pools that are not owned by generation should not be registered.
+     */
+    public void register(ForkJoinPool pool) {
+        workerPools.add(pool);
+        if (pressure.compareTo(Pressure.ELEVATED) >= 0) {
+            shrink(pool);
+        }
+    }
+
+    public void unregister(ForkJoinPool pool) {
+        workerPools.remove(pool);
+    }
+
+    public Pressure getPressure() {
+        return pressure;
+    }
+
+    /**
+     * @return The share of the fullest guarded pool that was in use after the last reported collection.
+     */
+    public double getUsedRatio() {
+        return usedRatio;
+    }
+
+    /**
+     * Aborts generation once the heap is critically full. Called between entities through
+     * {@link GenerationThrottle#checkpoint()}.
+     *
+     * @throws HeapPressureException If generation has to stop.
+     */
+    public void checkpoint() {
+        if (pressure == Pressure.CRITICAL) {
+            throw new HeapPressureException(usedRatio);
+        }
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType())) {
+            return;
+        }
+        var info = MemoryNotificationInfo.from((CompositeData) notification.getUserData());
+        update(info.getPoolName(), info.getUsage());
+    }
+
+    private synchronized void update(String poolName, MemoryUsage usage) {
+        MemoryPoolMXBean pool = guardedPools.get(poolName);
+        // Other tools may set thresholds on the same pools, and notifications can arrive after the guard was disabled.
+        if (pool == null || usage.getMax() <= 0) {
+            return;
+        }
+        double ratio = (double) usage.getUsed() / usage.getMax();
+        Pressure reached = Pressure.of(threshold, ratio);
+        if (reached.compareTo(pressure) <= 0) {
+            return;
+        }
+        usedRatio = ratio;
+        pressure = reached;
+        if (reached != Pressure.CRITICAL) {
+            Pressure next = Pressure.values()[reached.ordinal() + 1];
+            pool.setCollectionUsageThreshold(next.getThresholdBytes(threshold, usage.getMax()));
+        }
+        LOG.warn("{} is {}% full after a collection, heap pressure is now {}", poolName, Math.round(ratio * 100), reached);
+        switch (reached) {
+            case ELEVATED -> sendMessage(String.format("[KJS Offline] The heap is %.0f%% full, the documentation will be generated on a single thread from now on.", ratio * 100));
+            case HIGH -> sendMessage(String.format("[KJS Offline] The heap is %.0f%% full, indexed entities will be moved off the heap as soon as indexing finishes.", ratio * 100));
+            case CRITICAL -> sendMessage(String.format("[KJS Offline] The heap is %.0f%% full, documentation generation is stopping to keep the server running.", ratio * 100));
+        }
+        for (ForkJoinPool workerPool : workerPools) {
+            shrink(workerPool);
+        }
+    }
+
+    private void sendMessage(String message) {
+        if (bridge != null) {
+            bridge.sendMessage(message);
+        }
+    }
+
+    private static void shrink(ForkJoinPool pool) {
+        // Fewer workers allocate less at once, which leaves the collector room to keep up.
+        if (!pool.isShutdown() && pool.getParallelism() > 1) {
+            pool.setParallelism(1);
+        }
+    }
+
+    public enum Pressure {
+        NORMAL,
+        ELEVATED,
+        HIGH,
+        CRITICAL;
+
+        /**
+         * Each level above the threshold halves the room that is left, so a threshold of 0.8 adapts at 80%, sheds work
+         * at 90% and aborts at 95%.
+         */
+        public double getThresholdRatio(double threshold) {
+            return this == NORMAL ? 0 : 1 - (1 - threshold) / (1 << (ordinal() - 1));
+        }
+
+        public long getThresholdBytes(double threshold, long max) {
+            return (long) (getThresholdRatio(threshold) * max);
+        }
+
+        public static Pressure of(double threshold, double ratio) {
+            Pressure[] values = values();
+            for (int i = values.length - 1; i > 0; i--) {
+                if (ratio >= values[i].getThresholdRatio(threshold)) {
+                    return values[i];
+                }
+            }
+            return NORMAL;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package pie.ilikepiefoo.kubejsoffline.core.util;
+
+/**
+ * Thrown at a checkpoint once {@link HeapGuard} decides generation has to stop before the heap runs out.
+ */
+public class HeapPressureException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public HeapPressureException(double usedRatio) {
+        super(String.format("Documentation generation was stopped because the heap was %.0f%% full after a garbage collection.", usedRatio * 100));
+    }
+}
@@ -1,11 +1,16 @@
 package pie.ilikepiefoo.kubejsoffline.core.util;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Executable;
 import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.GenericDeclaration;
+import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
 import java.util.Arrays;
+import java.util.Objects;
 import java.util.StringJoiner;
 
 public class ReflectionUtils {
@@ -56,4 +61,94 @@ public class ReflectionUtils {
         }
         return type.getTypeName();
     }
+
+    /**
+     * Compares two reflected types by their structure, and is never looser than {@link Fingerprint#ofType(Type)}, so
+     * the same types always have the same fingerprint. Classes are compared by identity, and type variables by their
+     * name, the member that declares them and their bounds.
+     */
+    public static boolean isSameType(Type a, Type b) {
+        return isSameType(a, b, true);
+    }
+
+    public static boolean isSameTypes(Type[] a, Type[] b) {
+        return isSameTypes(a, b, true);
+    }
+
+    /**
+     * Compares everything {@link Fingerprint#add(Executable)} adds for two executables.
+     */
+    public static boolean isSameSignature(Executable a, Executable b) {
+        if (a.getModifiers() != b.getModifiers()
+                || !Arrays.equals(a.getExceptionTypes(), b.getExceptionTypes())
+                || !isSameTypes(a.getTypeParameters(), b.getTypeParameters())
+                || !isSameTypes(SafeOperations.tryGet(a::getGenericParameterTypes).orElse(new Type[0]), SafeOperations.tryGet(b::getGenericParameterTypes).orElse(new Type[0]))
+                || !Arrays.equals(SafeOperations.tryGet(a::getAnnotations).orElse(new Annotation[0]), SafeOperations.tryGet(b::getAnnotations).orElse(new Annotation[0]))) {
+            return false;
+        }
+        Parameter[] parameters = a.getParameters();
+        Parameter[] otherParameters = b.getParameters();
+        if (parameters.length != otherParameters.length) {
+            return false;
+        }
+        for (int i = 0; i < parameters.length; i++) {
+            if (!parameters[i].getName().equals(otherParameters[i].getName())
+                    || parameters[i].getModifiers() != otherParameters[i].getModifiers()
+                    || !Arrays.equals(SafeOperations.tryGet(parameters[i]::getAnnotations).orElse(new Annotation[0]), SafeOperations.tryGet(otherParameters[i]::getAnnotations).orElse(new Annotation[0]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSameTypes(Type[] a, Type[] b, boolean compareBounds) {
+        if (a.length != b.length) {
+            return false;
+        }
+        for (int i = 0; i < a.length; i++) {
+            if (!isSameType(a[i], b[i], compareBounds)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSameType(Type a, Type b, boolean compareBounds) {
+        if (a == b) {
+            return true;
+        }
+        if (a == null || b == null || a instanceof Class<?> || b instanceof Class<?>) {
+            return false;
+        }
+        if (a instanceof ParameterizedType parameterizedType && b instanceof ParameterizedType other) {
+            return isSameType(parameterizedType.getRawType(), other.getRawType(), compareBounds)
+                    && isSameType(parameterizedType.getOwnerType(), other.getOwnerType(), compareBounds)
+                    && isSameTypes(parameterizedType.getActualTypeArguments(), other.getActualTypeArguments(), compareBounds);
+        }
+        if (a instanceof WildcardType wildcardType && b instanceof WildcardType other) {
+            return isSameTypes(wildcardType.getUpperBounds(), other.getUpperBounds(), compareBounds)
+                    && isSameTypes(wildcardType.getLowerBounds(), other.getLowerBounds(), compareBounds);
+        }
+        if (a instanceof GenericArrayType arrayType && b instanceof GenericArrayType other) {
+            return isSameType(arrayType.getGenericComponentType(), other.getGenericComponentType(), compareBounds);
+        }
+        if (a instanceof TypeVariable<?> variable && b instanceof TypeVariable<?> other) {
+            if (!variable.getName().equals(other.getName()) || !isSameDeclaration(variable.getGenericDeclaration(), other.getGenericDeclaration())) {
+                return false;
+            }
+            // Bounds may refer back to the variable, so type variables inside them are compared without their bounds.
+            return !compareBounds || isSameTypes(SafeOperations.getAllNonObjects(variable.getBounds()), SafeOperations.getAllNonObjects(other.getBounds()), false);
+        }
+        return a.equals(b);
+    }
+
+    /**
+     * Overloads of a method are the same declaration, as their type variables are merged.
+     */
+    private static boolean isSameDeclaration(GenericDeclaration a, GenericDeclaration b) {
+        if (a instanceof Executable executable && b instanceof Executable other) {
+            return executable.getDeclaringClass() == other.getDeclaringClass() && executable.getName().equals(other.getName());
+        }
+        return Objects.equals(a, b);
+    }
 }
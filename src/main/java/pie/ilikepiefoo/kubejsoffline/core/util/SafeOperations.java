@@ -4,6 +4,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import pie.ilikepiefoo.kubejsoffline.core.api.TypeNameMapper;
 import pie.ilikepiefoo.kubejsoffline.core.api.identifier.IndexGenerator;
+import pie.ilikepiefoo.kubejsoffline.core.util.jfr.IndexFailureEvent;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
@@ -21,18 +22,68 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
 
 public class SafeOperations {
     protected static final ThreadLocal<Set<Type>> TYPES_PROCESSING = ThreadLocal.withInitial(HashSet::new);
     private static final Logger LOG = LogManager.getLogger();
+    /**
+     * Verdicts of {@link #isTypeNotLoaded} for classes, only valid while their epoch matches {@link #VERDICT_EPOCH}.
+     */
+    private static final ClassValue<ClassVerdict> CLASS_VERDICTS = new ClassValue<>() {
+        @Override
+        protected ClassVerdict computeValue(Class<?> type) {
+            return new ClassVerdict();
+        }
+    };
+    private static final Map<Type, Boolean> GENERIC_VERDICTS = new ConcurrentHashMap<>();
+    private static final AtomicInteger VERDICT_EPOCH = new AtomicInteger();
+    private static final LongAdder SAVED_VERIFICATIONS = new LongAdder();
     private static TypeNameMapper mapper;
 
     public static void setTypeMapper(TypeNameMapper mapper) {
         SafeOperations.mapper = mapper;
+        // Verdicts depend on the mapper, so they cannot outlive it.
+        clearVerdicts();
+    }
+
+    /**
+     * Forgets every cached type verdict, and resets the count of saved verifications.
+     */
+    public static void clearVerdicts() {
+        VERDICT_EPOCH.incrementAndGet();
+        GENERIC_VERDICTS.clear();
+        SAVED_VERIFICATIONS.reset();
+    }
+
+    /**
+     * @return How many type verifications were answered by the verdict cache since it was last cleared.
+     */
+    public static long getSavedVerifications() {
+        return SAVED_VERIFICATIONS.sum();
+    }
+
+    private static Boolean getVerdict(Type type) {
+        if (type instanceof Class<?> clazz) {
+            var verdict = CLASS_VERDICTS.get(clazz).verdict;
+            return verdict != null && verdict.epoch() == VERDICT_EPOCH.get() ? verdict.present() : null;
+        }
+        return GENERIC_VERDICTS.get(type);
+    }
+
+    private static void setVerdict(Type type, boolean present) {
+        if (type instanceof Class<?> clazz) {
+            CLASS_VERDICTS.get(clazz).verdict = new Verdict(VERDICT_EPOCH.get(), present);
+        } else {
+            GENERIC_VERDICTS.put(type, present);
+        }
     }
 
     private static boolean isClassPresent(Class<?> type) {
@@ -72,8 +123,14 @@ public class SafeOperations {
     }
 
     public static boolean isTypeNotLoaded(Type type) {
+        var processing = TYPES_PROCESSING.get();
+        // Verdicts reached while other types are being processed assume those types are present, so they are not final.
+        var isFinalVerdict = processing.isEmpty();
         var isTypePresent = isTypePresent(type);
-        TYPES_PROCESSING.get().clear();
+        processing.clear();
+        if (isFinalVerdict && type != null) {
+            setVerdict(type, isTypePresent);
+        }
         return !isTypePresent;
     }
 
@@ -90,6 +147,13 @@ public class SafeOperations {
                 return true;
             }
 
+            // A cached presence holds under any assumptions, while a cached absence is only final at the top level.
+            var verdict = getVerdict(type);
+            if (verdict != null && (verdict || TYPES_PROCESSING.get().isEmpty())) {
+                SAVED_VERIFICATIONS.increment();
+                return verdict;
+            }
+
             if (type.hashCode() == Integer.MAX_VALUE) {
                 LOG.warn("Type has suspicious hashCode(): {}", type);
                 return false;
@@ -484,11 +548,14 @@ public class SafeOperations {
         if (null == data) {
             return Optional.empty();
         }
+        // Outside the try, so a class that ran out of time stops at its next member.
+        ClassWatchdog.INSTANCE.checkpoint();
         try {
             data.index();
             return Optional.of(data);
         } catch (final Throwable e) {
             LOG.warn("An error occurred while executing the index", e);
+            IndexFailureEvent.emit(data, e);
             return Optional.empty();
         }
     }
@@ -518,4 +585,11 @@ public class SafeOperations {
         T get() throws Exception;
     }
 
+
+    private static final class ClassVerdict {
+        private volatile Verdict verdict;
+    }
+
+    private record Verdict(int epoch, boolean present) {
+    }
 }
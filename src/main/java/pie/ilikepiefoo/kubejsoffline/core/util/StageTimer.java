@@ -0,0 +1,56 @@
+package pie.ilikepiefoo.kubejsoffline.core.util;
+
+import pie.ilikepiefoo.kubejsoffline.core.api.DocumentationStage;
+import pie.ilikepiefoo.kubejsoffline.core.api.StageMetrics;
+import pie.ilikepiefoo.kubejsoffline.core.util.jfr.StageEvent;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Measures the wall time, CPU time and allocations of a stage of the documentation generation.
+ * <p>
+ * CPU time and allocations are only those of the generation threads tracked by {@link GenerationThreads}, so they do
+ * not depend on how busy the rest of the server is. Both fall back to -1 when the JVM does not support measuring them.
+ * Every stage is also recorded as a {@link StageEvent} for flight recordings.
+ */
+public class StageTimer {
+    private final long startMillis;
+    private final long startCpuNanos;
+    private final long startAllocatedBytes;
+    private final StageEvent event = new StageEvent();
+
+    private StageTimer() {
+        this.event.begin();
+        this.startMillis = System.currentTimeMillis();
+        this.startCpuNanos = GenerationThreads.getCpuTime();
+        this.startAllocatedBytes = GenerationThreads.getAllocatedBytes();
+    }
+
+    public static StageTimer start() {
+        return new StageTimer();
+    }
+
+    public long getElapsedMillis() {
+        return System.currentTimeMillis() - startMillis;
+    }
+
+    public StageMetrics finish(DocumentationStage stage, int step, int totalSteps, Map<String, Integer> entityCounts, long outputBytes) {
+        long wallTimeMillis = getElapsedMillis();
+        long endCpuNanos = GenerationThreads.getCpuTime();
+        long endAllocatedBytes = GenerationThreads.getAllocatedBytes();
+        long cpuTimeNanos = startCpuNanos < 0 || endCpuNanos < 0 ? -1 : endCpuNanos - startCpuNanos;
+        long allocatedBytes = startAllocatedBytes < 0 || endAllocatedBytes < 0 ? -1 : endAllocatedBytes - startAllocatedBytes;
+        event.end();
+        if (event.shouldCommit()) {
+            event.stage = stage.getId();
+            event.step = step;
+            event.types = entityCounts.getOrDefault("types", 0);
+            event.allocatedBytes = allocatedBytes;
+            event.outputBytes = outputBytes;
+            event.commit();
+        }
+        return new StageMetrics(stage, step, totalSteps, wallTimeMillis, cpuTimeNanos, allocatedBytes, Collections.unmodifiableMap(new LinkedHashMap<>(entityCounts)), outputBytes);
+    }
+}
@@ -0,0 +1,44 @@
+package pie.ilikepiefoo.kubejsoffline.core.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Recorded when an entity could not be indexed and was dropped from the documentation.
+ * Disabled by default, enable it with {@code -XX:StartFlightRecording:+kubejsoffline.IndexFailure#enabled=true}.
+ */
+@Name("kubejsoffline.IndexFailure")
+@Label("Index Failure")
+@Description("An entity that failed to index and was dropped")
+@Category({"KubeJS Offline"})
+@Enabled(false)
+@StackTrace(false)
+public class IndexFailureEvent extends jdk.jfr.Event {
+    @Label("Entity Type")
+    public Class<?> entityType;
+
+    @Label("Entity")
+    public String entity;
+
+    @Label("Exception")
+    public Class<?> exceptionType;
+
+    @Label("Message")
+    public String message;
+
+    public static void emit(Object entity, Throwable exception) {
+        var event = new IndexFailureEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.entityType = entity.getClass();
+        event.entity = String.valueOf(entity);
+        event.exceptionType = exception.getClass();
+        event.message = exception.getMessage();
+        event.commit();
+    }
+}
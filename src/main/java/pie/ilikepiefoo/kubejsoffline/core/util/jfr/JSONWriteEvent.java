@@ -0,0 +1,25 @@
+package pie.ilikepiefoo.kubejsoffline.core.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Recorded when writing one of the JSON constants of the documentation page takes longer than the threshold.
+ * Disabled by default, enable it with {@code -XX:StartFlightRecording:+kubejsoffline.JSONWrite#enabled=true}.
+ */
+@Name("kubejsoffline.JSONWrite")
+@Label("JSON Constant Write")
+@Description("A JSON constant that took long to write to the documentation page")
+@Category({"KubeJS Offline"})
+@Enabled(false)
+@Threshold("10 ms")
+@StackTrace(false)
+public class JSONWriteEvent extends jdk.jfr.Event {
+    @Label("Variable")
+    public String variableName;
+}
@@ -0,0 +1,36 @@
+package pie.ilikepiefoo.kubejsoffline.core.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Recorded for every stage of the documentation generation, so that it shows up next to the rest of the server in
+ * a flight recording.
+ */
+@Name("kubejsoffline.Stage")
+@Label("Documentation Stage")
+@Description("A stage of the documentation generation")
+@Category({"KubeJS Offline"})
+@StackTrace(false)
+public class StageEvent extends jdk.jfr.Event {
+    @Label("Stage")
+    public String stage;
+
+    @Label("Step")
+    public int step;
+
+    @Label("Types")
+    public int types;
+
+    @Label("Allocated")
+    @DataAmount
+    public long allocatedBytes;
+
+    @Label("Output Size")
+    @DataAmount
+    public long outputBytes;
+}
@@ -0,0 +1,25 @@
+package pie.ilikepiefoo.kubejsoffline.core.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Recorded when verifying and registering a type that was not cached yet takes longer than the threshold.
+ * Disabled by default, enable it with {@code -XX:StartFlightRecording:+kubejsoffline.TypeLookup#enabled=true}.
+ */
+@Name("kubejsoffline.TypeLookup")
+@Label("Slow Type Lookup")
+@Description("A type that took long to verify and register")
+@Category({"KubeJS Offline"})
+@Enabled(false)
+@Threshold("20 ms")
+@StackTrace(false)
+public class TypeLookupEvent extends jdk.jfr.Event {
+    @Label("Type")
+    public String typeName;
+}
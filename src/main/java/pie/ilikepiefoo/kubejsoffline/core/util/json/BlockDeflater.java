@@ -0,0 +1,148 @@
+package pie.ilikepiefoo.kubejsoffline.core.util.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Compresses everything written to it in independent blocks, and writes each block to the page as a quoted base64
+ * string, separated by commas.
+ * <p>
+ * Every block is a complete zlib stream, so the blocks are compressed in parallel and the page can inflate them in
+ * parallel with {@code DecompressionStream("deflate")}. Blocks are written in order, and only a bounded number of them
+ * are compressed at once so the uncompressed payload never has to be held in full.
+ */
+public class BlockDeflater extends OutputStream {
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+
+    private final Writer writer;
+    private final Executor executor;
+    private final int maxPendingBlocks;
+    private final Deque<CompletableFuture<String>> pendingBlocks = new ArrayDeque<>();
+    private byte[] block;
+    private int blockLength;
+    private int firstByte = -1;
+    private int writtenBlocks;
+    private long uncompressedBytes;
+    private long compressedBytes;
+
+    public BlockDeflater(Writer writer, Executor executor, int parallelism) {
+        this(writer, executor, parallelism, DEFAULT_BLOCK_SIZE);
+    }
+
+    public BlockDeflater(Writer writer, Executor executor, int parallelism, int blockSize) {
+        this.writer = writer;
+        this.executor = executor;
+        this.maxPendingBlocks = Math.max(1, parallelism) * 2;
+        this.block = new byte[blockSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        if (firstByte < 0 && length > 0) {
+            firstByte = bytes[offset] & 0xFF;
+        }
+        uncompressedBytes += length;
+        while (length > 0) {
+            int copied = Math.min(length, block.length - blockLength);
+            System.arraycopy(bytes, offset, block, blockLength, copied);
+            blockLength += copied;
+            offset += copied;
+            length -= copied;
+            if (blockLength == block.length) {
+                submitBlock();
+            }
+        }
+    }
+
+    /**
+     * Compresses the remaining bytes and writes every pending block. The page writer is left open.
+     *
+     * @throws IOException If the page writer fails.
+     */
+    public void finish() throws IOException {
+        if (blockLength > 0) {
+            submitBlock();
+        }
+        while (!pendingBlocks.isEmpty()) {
+            writeNextBlock();
+        }
+    }
+
+    /**
+     * @return The first byte written, or -1 if nothing was written.
+     */
+    public int getFirstByte() {
+        return firstByte;
+    }
+
+    public long getUncompressedBytes() {
+        return uncompressedBytes;
+    }
+
+    /**
+     * @return The number of characters the blocks took up in the page, including quotes and separators.
+     */
+    public long getCompressedBytes() {
+        return compressedBytes;
+    }
+
+    private void submitBlock() throws IOException {
+        final byte[] bytes = block;
+        final int length = blockLength;
+        pendingBlocks.add(CompletableFuture.supplyAsync(() -> deflate(bytes, length), executor));
+        block = new byte[bytes.length];
+        blockLength = 0;
+        while (pendingBlocks.size() > maxPendingBlocks) {
+            writeNextBlock();
+        }
+    }
+
+    private void writeNextBlock() throws IOException {
+        String encoded;
+        try {
+            encoded = pendingBlocks.removeFirst().join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        }
+        if (writtenBlocks++ > 0) {
+            writer.write(',');
+            compressedBytes++;
+        }
+        writer.write('"');
+        writer.write(encoded);
+        writer.write('"');
+        compressedBytes += encoded.length() + 2;
+    }
+
+    private static String deflate(byte[] bytes, int length) {
+        var compressed = new ByteArrayOutputStream(length / 4);
+        var deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (var output = new DeflaterOutputStream(compressed, deflater)) {
+            output.write(bytes, 0, length);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        return Base64.getEncoder().encodeToString(compressed.toByteArray());
+    }
+}
@@ -1,6 +1,7 @@
 package pie.ilikepiefoo.kubejsoffline.core.util.json;
 
 import com.google.gson.JsonElement;
+import pie.ilikepiefoo.kubejsoffline.core.api.JSONSerializable;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -10,7 +11,7 @@ import java.util.stream.Collectors;
 public class GlobalConstants {
     public static final GlobalConstants INSTANCE = new GlobalConstants();
 
-    private final Map<String, Supplier<JsonElement>> constantSupplier;
+    private final Map<String, JSONSerializable> constantSupplier;
 
     private GlobalConstants() {
         // Private constructor to prevent instantiation
@@ -24,6 +25,19 @@ public class GlobalConstants {
     }
 
     public void setConstant(String key, Supplier<JsonElement> value) {
+        synchronized (constantSupplier) {
+            constantSupplier.put(key, value::get);
+        }
+    }
+
+    /**
+     * Sets a constant that will be written with {@link JSONSerializable#writeTo}, so it can be streamed to the page
+     * instead of being converted into a JSON tree first.
+     *
+     * @param key   The name of the constant.
+     * @param value The value of the constant.
+     */
+    public void setSerializableConstant(String key, JSONSerializable value) {
         synchronized (constantSupplier) {
             constantSupplier.put(key, value);
         }
@@ -31,7 +45,7 @@ public class GlobalConstants {
 
     public JsonElement getConstant(String key) {
         synchronized (constantSupplier) {
-            return constantSupplier.get(key).get();
+            return constantSupplier.get(key).toJSON();
         }
     }
 
@@ -41,7 +55,14 @@ public class GlobalConstants {
             return constantSupplier
                     .entrySet()
                     .stream()
-                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+                    .collect(Collectors.toMap(Map.Entry::getKey, (entry) -> entry.getValue()::toJSON));
+        }
+    }
+
+    public Map<String, JSONSerializable> getSerializableConstants() {
+        synchronized (constantSupplier) {
+            // Return a copy of the map to prevent external modification
+            return new LinkedHashMap<>(constantSupplier);
         }
     }
 
@@ -3,6 +3,7 @@ package pie.ilikepiefoo.kubejsoffline;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
 
 import java.awt.Desktop;
 import java.io.File;
@@ -30,4 +31,17 @@ public class DocumentationGeneratorTest {
             }
         }
     }
+
+    /**
+     * Documents a large corpus, run with {@code -Pkubejsoffline.corpus=<size|java.base>}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "kubejsoffline.corpus", matches = ".+")
+    public void generateCorpusPage() {
+        File output = DocumentationTestFixtures.generateCorpusDocumentation(new File("build/corpus-output.html"), System.getProperty("kubejsoffline.corpus"));
+
+        assertNotNull(output);
+        assertTrue(output.isFile(), () -> "Expected documentation at " + output.getAbsolutePath());
+        assertTrue(output.length() > 0, "Documentation file should not be empty");
+    }
 }
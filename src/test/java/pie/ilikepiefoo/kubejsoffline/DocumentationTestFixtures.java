@@ -21,10 +21,14 @@ import pie.ilikepiefoo.kubejsoffline.testclasses.ZClass;
 
 import java.awt.MultipleGradientPaint;
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Shared documentation HTML used by {@link DocumentationGeneratorTest} and browser E2E tests.
@@ -37,6 +41,14 @@ public final class DocumentationTestFixtures {
     }
 
     public static File generateSampleDocumentation(File outputFile) {
+        return generateSampleDocumentation(outputFile, (builder) -> {
+        });
+    }
+
+    /**
+     * @param options Sets the options under test on top of the sample classes and bindings.
+     */
+    public static File generateSampleDocumentation(File outputFile, Consumer<SimpleDocumentationProvider.Builder> options) {
         SimpleDocumentationProvider.Builder builder = new SimpleDocumentationProvider.Builder();
         builder.setReflectionHelper(
                 new DefaultReflectionHelper(
@@ -81,6 +93,39 @@ public final class DocumentationTestFixtures {
         bindings.add(SimpleBinding.Builder.from("ZClass", ZClass.class).build());
 
         builder.setBindingsProvider(BindingsProvider.of(bindings));
+        options.accept(builder);
+        DocumentationProvider documentationProvider = builder.build();
+        return documentationProvider.generateDocumentation(outputFile);
+    }
+
+    /**
+     * @return The JSON of a constant written to a documentation page, such as {@code DATA}.
+     */
+    public static String readConstant(File page, String name) {
+        String html;
+        try {
+            html = Files.readString(page.toPath());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String prefix = "const " + name + " = ";
+        int start = html.indexOf(prefix);
+        if (start < 0) {
+            throw new IllegalArgumentException("No constant " + name + " in " + page);
+        }
+        start += prefix.length();
+        return html.substring(start, html.indexOf(";</script>", start));
+    }
+
+    /**
+     * Documents a large corpus instead of the sample classes.
+     *
+     * @param corpus Either {@value SyntheticCorpus#JAVA_BASE}, or the number of synthetic classes to generate.
+     * @see SyntheticCorpus
+     */
+    public static File generateCorpusDocumentation(File outputFile, String corpus) {
+        SimpleDocumentationProvider.Builder builder = new SimpleDocumentationProvider.Builder();
+        builder.setReflectionHelper(SyntheticCorpus.reflectionHelper(SyntheticCorpus.load(corpus)));
         DocumentationProvider documentationProvider = builder.build();
         return documentationProvider.generateDocumentation(outputFile);
     }
@@ -0,0 +1,329 @@
+package pie.ilikepiefoo.kubejsoffline;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import pie.ilikepiefoo.kubejsoffline.core.api.ReflectionHelper;
+import pie.ilikepiefoo.kubejsoffline.core.util.SafeOperations;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Modifier;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Large class corpora for scale testing the documentation generation.
+ * <p>
+ * The synthetic corpus is generated as Java source and compiled with the system compiler the first time a size is
+ * requested. Every class is generic, annotated, part of a hierarchy up to {@value #HIERARCHY_DEPTH} classes deep,
+ * implements a generic interface and declares a static nested class, an inner class and a nested enum. The compiled
+ * classes are kept in {@code build/synthetic-corpus}, so later runs only have to load them.
+ * <p>
+ * The {@code java.base} preset is every public top-level class in the {@code java} packages of {@code java.base}.
+ */
+public final class SyntheticCorpus {
+    public static final Logger LOG = LogManager.getLogger();
+    public static final String JAVA_BASE = "java.base";
+    public static final File DEFAULT_DIRECTORY = new File("build/synthetic-corpus");
+    private static final int VERSION = 1;
+    private static final int BATCH_SIZE = 500;
+    private static final int HIERARCHY_DEPTH = 25;
+    private static final int INTERFACES_PER_BATCH = 5;
+    private static final String[] WORDS = {
+            "Block", "Item", "Entity", "Recipe", "Fluid", "Level", "Chunk", "Biome", "Sound", "Particle",
+            "Render", "Model", "Texture", "Packet", "Network", "Registry", "Event", "Handler", "Manager", "Provider"
+    };
+    private static final String MARKER = """
+            package synthetic;
+
+            import java.lang.annotation.ElementType;
+            import java.lang.annotation.Retention;
+            import java.lang.annotation.RetentionPolicy;
+            import java.lang.annotation.Target;
+
+            @Retention(RetentionPolicy.RUNTIME)
+            @Target({ElementType.TYPE, ElementType.METHOD, ElementType.FIELD, ElementType.PARAMETER, ElementType.CONSTRUCTOR})
+            public @interface Marker {
+                int value();
+
+                String name() default "";
+            }
+            """;
+
+    private static final String BASE = """
+            package synthetic;
+
+            public abstract class SyntheticBase<T extends Comparable<T>, U> {
+                protected T key;
+
+                public abstract U resolve(T key);
+
+                public T getKey() {
+                    return key;
+                }
+            }
+            """;
+    private static final Map<Integer, List<Class<?>>> SYNTHETIC = new ConcurrentHashMap<>();
+    private static List<Class<?>> javaBase;
+
+    private SyntheticCorpus() {
+    }
+
+    /**
+     * @param corpus Either {@value #JAVA_BASE}, or the number of synthetic classes to generate.
+     * @return The top-level classes of the corpus.
+     */
+    public static List<Class<?>> load(String corpus) {
+        if (JAVA_BASE.equals(corpus)) {
+            return javaBase();
+        }
+        return synthetic(Integer.parseInt(corpus));
+    }
+
+    /**
+     * @param classes The classes to document.
+     * @return A reflection helper that finds exactly the given classes, and no event classes.
+     */
+    public static ReflectionHelper reflectionHelper(List<Class<?>> classes) {
+        return new ReflectionHelper() {
+            @Override
+            public Class[] getClasses() {
+                return classes.toArray(new Class[0]);
+            }
+
+            @Override
+            public Class[] getEventClasses() {
+                return new Class[0];
+            }
+        };
+    }
+
+    /**
+     * @return Every public top-level class in the {@code java} packages of the {@code java.base} module.
+     */
+    public static synchronized List<Class<?>> javaBase() {
+        if (javaBase != null) {
+            return javaBase;
+        }
+        Path root = FileSystems.getFileSystem(URI.create("jrt:/")).getPath("modules", JAVA_BASE);
+        try (Stream<Path> files = Files.walk(root)) {
+            javaBase = files
+                    .map((file) -> root.relativize(file).toString())
+                    .filter((name) -> name.startsWith("java/") && name.endsWith(".class") && !name.contains("$"))
+                    .map((name) -> name.substring(0, name.length() - ".class".length()).replace('/', '.'))
+                    .sorted()
+                    .map((name) -> SafeOperations.tryGet(() -> Class.forName(name, false, null)))
+                    .flatMap(Optional::stream)
+                    .filter((clazz) -> Modifier.isPublic(clazz.getModifiers()))
+                    .<Class<?>>map((clazz) -> clazz)
+                    .toList();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to list the java.base module", e);
+        }
+        return javaBase;
+    }
+
+    /**
+     * @param size The number of top-level classes to generate.
+     * @return The generated top-level classes, always in the same order.
+     */
+    public static List<Class<?>> synthetic(int size) {
+        return SYNTHETIC.computeIfAbsent(size, (ignored) -> generate(new File(DEFAULT_DIRECTORY, "v" + VERSION + "-" + size), size));
+    }
+
+    private static List<Class<?>> generate(File directory, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("A synthetic corpus needs at least one class, got " + size);
+        }
+        Path classesDirectory = directory.toPath().resolve("classes");
+        Path manifest = directory.toPath().resolve("classes.txt");
+        List<String> classNames = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            classNames.add(getPackageName(i / BATCH_SIZE) + "." + getClassName(i));
+        }
+        try {
+            if (!Files.isRegularFile(manifest)) {
+                long start = System.currentTimeMillis();
+                compile(directory.toPath().resolve("sources"), classesDirectory, size);
+                Files.write(manifest, classNames, StandardCharsets.UTF_8);
+                LOG.info("Generated a synthetic corpus of {} classes in {}ms", size, System.currentTimeMillis() - start);
+            }
+            URLClassLoader loader = new URLClassLoader(new URL[]{classesDirectory.toUri().toURL()}, SyntheticCorpus.class.getClassLoader());
+            List<Class<?>> classes = new ArrayList<>(size);
+            for (String className : classNames) {
+                classes.add(Class.forName(className, false, loader));
+            }
+            return classes;
+        } catch (final MalformedURLException | ClassNotFoundException e) {
+            throw new IllegalStateException("Failed to load the synthetic corpus in " + directory, e);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to generate the synthetic corpus in " + directory, e);
+        }
+    }
+
+    private static void compile(Path sources, Path classes, int size) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("The synthetic corpus can only be generated when running on a JDK");
+        }
+        Files.createDirectories(classes);
+        compileBatch(compiler, classes, writeSources(sources.resolve("common"), List.of(
+                new Source("Marker", MARKER),
+                new Source("SyntheticBase", BASE)
+        )));
+        // Batches only depend on the common classes, so they can be compiled at the same time.
+        IntStream.range(0, (size + BATCH_SIZE - 1) / BATCH_SIZE).parallel().forEach((batch) -> {
+            String packageName = getPackageName(batch);
+            List<Source> batchSources = new ArrayList<>();
+            for (int i = 0; i < INTERFACES_PER_BATCH; i++) {
+                batchSources.add(new Source("Service" + i, createInterface(packageName, i)));
+            }
+            for (int i = batch * BATCH_SIZE; i < Math.min(size, (batch + 1) * BATCH_SIZE); i++) {
+                batchSources.add(new Source(getClassName(i), createClass(packageName, i)));
+            }
+            try {
+                compileBatch(compiler, classes, writeSources(sources.resolve(packageName), batchSources));
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static List<String> writeSources(Path directory, List<Source> sources) throws IOException {
+        Files.createDirectories(directory);
+        List<String> files = new ArrayList<>();
+        for (Source source : sources) {
+            Path file = directory.resolve(source.simpleName() + ".java");
+            Files.writeString(file, source.content(), StandardCharsets.UTF_8);
+            files.add(file.toString());
+        }
+        return files;
+    }
+
+    private static void compileBatch(JavaCompiler compiler, Path classes, List<String> files) {
+        List<String> arguments = new ArrayList<>(List.of("-nowarn", "-proc:none", "-parameters", "-classpath", classes.toString(), "-d", classes.toString()));
+        arguments.addAll(files);
+        if (compiler.run(null, null, System.err, arguments.toArray(new String[0])) != 0) {
+            throw new IllegalStateException("Failed to compile the synthetic corpus, see the compiler output above");
+        }
+    }
+
+    private static String getPackageName(int batch) {
+        return "synthetic.b" + batch;
+    }
+
+    private static String getClassName(int index) {
+        return WORDS[index % WORDS.length] + WORDS[(index / WORDS.length) % WORDS.length] + index;
+    }
+
+    private static String createInterface(String packageName, int index) {
+        return """
+                package %1$s;
+
+                import java.util.List;
+
+                public interface Service%2$d<T> {
+                    T serve(T input);
+
+                    default List<T> serveAll%2$d(List<T> inputs) {
+                        return inputs.stream().map(this::serve).toList();
+                    }
+                }
+                """.formatted(packageName, index);
+    }
+
+    private static String createClass(String packageName, int index) {
+        String name = getClassName(index);
+        // Each hierarchy starts at the shared base class and stays within its batch.
+        String parent = index % HIERARCHY_DEPTH == 0 || index % BATCH_SIZE == 0 ? "SyntheticBase" : getClassName(index - 1);
+        return """
+                package %1$s;
+
+                import synthetic.Marker;
+                import synthetic.SyntheticBase;
+
+                import java.util.ArrayList;
+                import java.util.Collection;
+                import java.util.List;
+                import java.util.Map;
+                import java.util.Optional;
+                import java.util.function.Function;
+                import java.util.function.Supplier;
+
+                @Marker(value = %3$d, name = "%2$s")
+                public class %2$s<T extends Comparable<T>, U> extends %4$s<T, U> implements Service%5$d<T> {
+                    public static final int ID = %3$d;
+                    protected List<T> items%3$d = new ArrayList<>();
+                    public Map<String, List<? extends U>> lookup%3$d;
+                    public U[] values%3$d;
+
+                    @Marker(%3$d)
+                    public %2$s() {
+                    }
+
+                    public %2$s(T key, @Marker(%3$d) Collection<? super T> seed) {
+                        this.key = key;
+                        seed.add(key);
+                    }
+
+                    @SafeVarargs
+                    public final <R extends Number & Comparable<R>> R convert%3$d(Function<? super T, ? extends R> mapper, U... values) {
+                        return mapper.apply(key);
+                    }
+
+                    @Marker(%3$d)
+                    public Optional<%2$s<T, U>> self%3$d() {
+                        return Optional.of(this);
+                    }
+
+                    @Override
+                    public U resolve(T key) {
+                        return null;
+                    }
+
+                    @Override
+                    public T serve(T input) {
+                        return input.compareTo(key) > 0 ? input : key;
+                    }
+
+                    public static class Builder<B extends %2$s<?, ?>> {
+                        public B build(Supplier<B> factory) {
+                            return factory.get();
+                        }
+                    }
+
+                    public class Node {
+                        public T value;
+                        public Node next;
+
+                        public U payload() {
+                            return resolve(value);
+                        }
+                    }
+
+                    public enum Kind {
+                        ALPHA, BETA, GAMMA
+                    }
+                }
+                """.formatted(packageName, name, index, parent, index % INTERFACES_PER_BATCH);
+    }
+
+    private record Source(String simpleName, String content) {
+    }
+}
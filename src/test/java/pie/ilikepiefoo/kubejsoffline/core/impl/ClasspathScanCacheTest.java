@@ -0,0 +1,100 @@
+package pie.ilikepiefoo.kubejsoffline.core.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ClasspathScanCacheTest {
+    private static final Path DIRECTORY = Path.of("build/classpath-scan-cache-test");
+
+    @Test
+    public void cachedJarMatchesFreshScan() throws IOException {
+        Path jar = writeJar("cached.jar", "a/B.class", "a/C.class", "a/package-info.class", "module-info.class", "META-INF/versions/9/a/B.class", "a/resource.txt");
+        Path cacheFile = DIRECTORY.resolve("cached.json");
+        Files.deleteIfExists(cacheFile);
+
+        List<String> fresh = scan(cacheFile, jar);
+        assertEquals(List.of("a.B", "a.C"), fresh);
+        assertTrue(Files.readString(cacheFile).contains("\"a.C\""), "The jar was not cached");
+        assertEquals(fresh, scan(cacheFile, jar));
+    }
+
+    @Test
+    public void changedJarIsScannedAgain() throws IOException {
+        Path jar = writeJar("changed.jar", "a/B.class");
+        Path cacheFile = DIRECTORY.resolve("changed.json");
+        Files.deleteIfExists(cacheFile);
+        assertEquals(List.of("a.B"), scan(cacheFile, jar));
+
+        writeJar("changed.jar", "a/B.class", "a/D.class");
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(Files.getLastModifiedTime(jar).toMillis() + 60_000));
+        assertEquals(List.of("a.B", "a.D"), scan(cacheFile, jar));
+    }
+
+    @Test
+    public void unreadableCacheIsIgnored() throws IOException {
+        Path jar = writeJar("unreadable.jar", "a/B.class");
+        Path cacheFile = DIRECTORY.resolve("unreadable.json");
+        Files.writeString(cacheFile, "{not json");
+        assertEquals(List.of("a.B"), scan(cacheFile, jar));
+    }
+
+    @Test
+    public void directoryIsListedLikeAJar() throws IOException {
+        Path classes = DIRECTORY.resolve("classes");
+        Files.createDirectories(classes.resolve("a"));
+        Files.write(classes.resolve("a/B.class"), new byte[0]);
+        Files.write(classes.resolve("a/resource.txt"), new byte[0]);
+        ClasspathScanCache cache = new ClasspathScanCache(DIRECTORY.resolve("directory.json"));
+        assertEquals(List.of("a.B"), cache.getClassNames(toURL(classes)));
+    }
+
+    @Test
+    public void nonLocalRootIsNotListed() throws MalformedURLException {
+        ClasspathScanCache cache = new ClasspathScanCache(DIRECTORY.resolve("remote.json"));
+        assertNull(cache.getClassNames(new URL("https://example.com/library.jar")));
+    }
+
+    private static List<String> scan(Path cacheFile, Path jar) {
+        ClasspathScanCache cache = new ClasspathScanCache(cacheFile);
+        cache.load();
+        List<String> classNames = cache.getClassNames(toURL(jar));
+        cache.save();
+        return classNames;
+    }
+
+    private static Path writeJar(String name, String... entries) throws IOException {
+        Files.createDirectories(DIRECTORY);
+        Path jar = DIRECTORY.resolve(name);
+        try (OutputStream file = Files.newOutputStream(jar); ZipOutputStream zip = new ZipOutputStream(file)) {
+            for (String entry : entries) {
+                zip.putNextEntry(new ZipEntry(entry));
+                zip.write(entry.getBytes());
+                zip.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    private static URL toURL(Path path) {
+        try {
+            return path.toUri().toURL();
+        } catch (final MalformedURLException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package pie.ilikepiefoo.kubejsoffline.core.impl;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import org.junit.jupiter.api.Test;
+import pie.ilikepiefoo.kubejsoffline.DocumentationTestFixtures;
+import pie.ilikepiefoo.kubejsoffline.testclasses.BaseGenericType;
+import pie.ilikepiefoo.kubejsoffline.testclasses.EventExample;
+import pie.ilikepiefoo.kubejsoffline.testclasses.TestData;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CollectionGroupTest {
+
+    @Test
+    public void parallelIndexingMatchesSerialIndexing() {
+        File serial = DocumentationTestFixtures.generateSampleDocumentation(new File("build/serial-output.html"), (builder) -> builder.setIndexingParallelism(1));
+        String expected = DocumentationTestFixtures.readConstant(serial, "DATA");
+        // Scheduling differs from run to run, so a single matching run could be luck.
+        for (int run = 0; run < 3; run++) {
+            File parallel = DocumentationTestFixtures.generateSampleDocumentation(new File("build/parallel-output.html"), (builder) -> builder.setIndexingParallelism(4).setGenerationParallelism(4));
+            assertEquals(expected, DocumentationTestFixtures.readConstant(parallel, "DATA"), "Parallel indexing run " + run + " differs from serial indexing");
+        }
+    }
+
+    @Test
+    public void streamedJsonMatchesJsonTree() throws IOException {
+        CollectionGroup.INSTANCE.clear();
+        try {
+            TypeManager.INSTANCE.getID(TestData.class);
+            TypeManager.INSTANCE.getID(BaseGenericType.class);
+            TypeManager.INSTANCE.getID(EventExample.class);
+            CollectionGroup.INSTANCE.index();
+
+            Gson gson = new Gson();
+            StringWriter streamed = new StringWriter();
+            JsonWriter writer = gson.newJsonWriter(streamed);
+            writer.setLenient(true);
+            CollectionGroup.INSTANCE.writeTo(writer);
+            writer.flush();
+            assertEquals(gson.toJson(CollectionGroup.INSTANCE.toJSON()), streamed.toString());
+        } finally {
+            CollectionGroup.INSTANCE.clear();
+        }
+    }
+}
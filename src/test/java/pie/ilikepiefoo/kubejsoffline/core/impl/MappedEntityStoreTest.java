@@ -0,0 +1,52 @@
+package pie.ilikepiefoo.kubejsoffline.core.impl;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+import pie.ilikepiefoo.kubejsoffline.DocumentationTestFixtures;
+import pie.ilikepiefoo.kubejsoffline.testclasses.BaseGenericType;
+import pie.ilikepiefoo.kubejsoffline.testclasses.TestData;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MappedEntityStoreTest {
+
+    @Test
+    public void offHeapPageMatchesDefaultPage() {
+        File onHeap = DocumentationTestFixtures.generateSampleDocumentation(new File("build/on-heap-output.html"));
+        File offHeap = DocumentationTestFixtures.generateSampleDocumentation(new File("build/off-heap-output.html"), (builder) -> builder.setOffHeapEntityStore(true));
+        assertEquals(DocumentationTestFixtures.readConstant(onHeap, "DATA"), DocumentationTestFixtures.readConstant(offHeap, "DATA"));
+        assertFalse(MappedEntityStore.getStoreFile(offHeap).exists(), "The entity store was not deleted once the page was written");
+    }
+
+    @Test
+    public void spilledEntitiesMatchIndexedEntities() throws IOException {
+        Gson gson = new Gson();
+        Path file = Path.of("build/mapped-entity-store-test.entities");
+        CollectionGroup.INSTANCE.clear();
+        try {
+            TypeManager.INSTANCE.getID(TestData.class);
+            TypeManager.INSTANCE.getID(BaseGenericType.class);
+            CollectionGroup.INSTANCE.index();
+            String expected = gson.toJson(CollectionGroup.INSTANCE.toJSON());
+
+            MappedEntityStore store = MappedEntityStore.spill(CollectionGroup.INSTANCE, gson, file);
+            try {
+                assertTrue(store.getSize() > 0, "No entities were written to the store");
+                assertEquals(0, CollectionGroup.INSTANCE.methods().getTwoWayMap().size());
+                assertEquals(expected, gson.toJson(store.toJSON()));
+            } finally {
+                store.close();
+            }
+            assertFalse(Files.exists(file), "The entity store was not deleted when it was closed");
+        } finally {
+            CollectionGroup.INSTANCE.clear();
+        }
+    }
+}
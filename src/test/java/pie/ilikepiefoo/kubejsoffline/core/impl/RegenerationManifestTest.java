@@ -0,0 +1,70 @@
+package pie.ilikepiefoo.kubejsoffline.core.impl;
+
+import org.junit.jupiter.api.Test;
+import pie.ilikepiefoo.kubejsoffline.DocumentationTestFixtures;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RegenerationManifestTest {
+    // Marks the page, so a page that was written again can be told apart from one that was reused.
+    private static final long REUSED = 1_000_000L;
+
+    @Test
+    public void unchangedPageIsReused() {
+        File page = mark(generate(new File("build/incremental-reused-output.html"), 0, false));
+        assertEquals(REUSED, generate(page, 0, false).lastModified());
+    }
+
+    @Test
+    public void changedOutputSettingsWriteThePageAgain() {
+        File page = mark(generate(new File("build/incremental-settings-output.html"), 0, false));
+        assertTrue(generate(page, 0, true).lastModified() != REUSED, "The page was reused after it was set to be compressed");
+    }
+
+    @Test
+    public void changedClassTimeLimitWritesThePageAgain() {
+        File page = mark(generate(new File("build/incremental-time-limit-output.html"), 0, false));
+        File output = DocumentationTestFixtures.generateSampleDocumentation(page, (builder) -> builder
+                .setIncrementalRegeneration(true)
+                .setClassTimeLimitMillis(60_000));
+        assertTrue(output.lastModified() != REUSED, "The page was reused after the class time limit changed");
+    }
+
+    @Test
+    public void missingShardsWriteThePageAgain() throws IOException {
+        File page = mark(generate(new File("build/incremental-shards-output.html"), 100, false));
+        assertEquals(REUSED, generate(page, 100, false).lastModified());
+
+        deleteRecursively(ShardedEntityCollections.getShardDirectory(page).toPath());
+        assertTrue(generate(page, 100, false).lastModified() != REUSED, "The page was reused after its data shards were deleted");
+        assertTrue(ShardedEntityCollections.getShardDirectory(page).isDirectory(), "The data shards were not written again");
+    }
+
+    private static File generate(File page, int shardSize, boolean compressed) {
+        return DocumentationTestFixtures.generateSampleDocumentation(page, (builder) -> builder
+                .setIncrementalRegeneration(true)
+                .setDataShardSize(shardSize)
+                .setCompressedOutput(compressed));
+    }
+
+    private static File mark(File page) {
+        assertTrue(page.setLastModified(REUSED), "Failed to mark " + page);
+        return page;
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
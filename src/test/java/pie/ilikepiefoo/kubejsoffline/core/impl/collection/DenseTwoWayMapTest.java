@@ -0,0 +1,118 @@
+package pie.ilikepiefoo.kubejsoffline.core.impl.collection;
+
+import org.junit.jupiter.api.Test;
+import pie.ilikepiefoo.kubejsoffline.core.api.identifier.Index;
+import pie.ilikepiefoo.kubejsoffline.core.api.identifier.NameID;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DenseTwoWayMapTest {
+
+    private static List<String> sampleValues() {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            // Every value is added a few times, so duplicates have to be found again.
+            values.add("value" + (i * 7919 % 211));
+        }
+        return values;
+    }
+
+    private static List<String> describe(TwoWayMap<NameID, String> map) {
+        List<String> entries = new ArrayList<>();
+        for (Map.Entry<NameID, String> entry : map.getIndexToValueMap().entrySet()) {
+            entries.add(entry.getKey().getArrayIndex() + "=" + entry.getValue() + "x" + entry.getKey().getReferenceCount());
+        }
+        return entries;
+    }
+
+    @Test
+    public void behavesLikeTwoWayMap() {
+        TwoWayMap<NameID, String> expected = new TwoWayMap<>(NamesWrapper.NameIdentifier::new);
+        TwoWayMap<NameID, String> dense = new DenseTwoWayMap<>(NamesWrapper.NameIdentifier::new);
+        for (String value : sampleValues()) {
+            assertEquals(expected.add(value).getArrayIndex(), dense.add(value).getArrayIndex(), "Index of " + value);
+        }
+        assertEquals(expected.size(), dense.size());
+        assertEquals(describe(expected), describe(dense));
+        assertEquals(new ArrayList<>(expected.getValues()), new ArrayList<>(dense.getValues()));
+        assertTrue(dense.contains("value3"));
+        assertFalse(dense.contains("missing"));
+        assertEquals(expected.get("value3").getArrayIndex(), dense.get("value3").getArrayIndex());
+
+        Comparator<String> comparator = Comparator.comparing(String::length).thenComparing(Comparator.reverseOrder());
+        expected.reorganize(comparator);
+        dense.reorganize(comparator);
+        assertEquals(describe(expected), describe(dense));
+        assertEquals(new ArrayList<>(expected.getIndexes()).toString(), new ArrayList<>(dense.getIndexes()).toString());
+        NameID first = dense.getFirstIndex();
+        NameID last = dense.getLastIndex();
+        assertEquals(expected.getFirstIndex().getArrayIndex(), first.getArrayIndex());
+        assertEquals(expected.getNextIndex(expected.getFirstIndex()).getArrayIndex(), dense.getNextIndex(first).getArrayIndex());
+        assertEquals(expected.getLastIndex().getArrayIndex(), last.getArrayIndex());
+        assertEquals(expected.get(expected.getLastIndex()), dense.get(last));
+        assertEquals(new ArrayList<>(expected.getValuesBetween(expected.getFirstIndex(), expected.getNextIndex(expected.getFirstIndex()))), new ArrayList<>(dense.getValuesBetween(first, dense.getNextIndex(first))));
+        assertEquals(expected.getValueToIndexMap().get("value42").getArrayIndex(), dense.getValueToIndexMap().get("value42").getArrayIndex());
+    }
+
+    @Test
+    public void navigatesLikeTreeMap() {
+        TwoWayMap<NameID, String> expected = new TwoWayMap<>(NamesWrapper.NameIdentifier::new);
+        TwoWayMap<NameID, String> dense = new DenseTwoWayMap<>(NamesWrapper.NameIdentifier::new);
+        sampleValues().forEach(expected::add);
+        sampleValues().forEach(dense::add);
+        NavigableMap<NameID, String> tree = expected.getIndexToValueMap();
+        NavigableMap<NameID, String> view = dense.getIndexToValueMap();
+        NameID key = new NamesWrapper.NameIdentifier(100);
+        NameID other = new NamesWrapper.NameIdentifier(150);
+        assertEquals(tree.firstKey().getArrayIndex(), view.firstKey().getArrayIndex());
+        assertEquals(tree.lastKey().getArrayIndex(), view.lastKey().getArrayIndex());
+        assertEquals(tree.higherKey(key).getArrayIndex(), view.higherKey(key).getArrayIndex());
+        assertEquals(tree.lowerKey(key).getArrayIndex(), view.lowerKey(key).getArrayIndex());
+        assertEquals(tree.get(key), view.get(key));
+        assertEquals(new ArrayList<>(tree.subMap(key, true, other, false).values()), new ArrayList<>(view.subMap(key, true, other, false).values()));
+        assertEquals(new ArrayList<>(tree.headMap(key).values()), new ArrayList<>(view.headMap(key).values()));
+        assertEquals(new ArrayList<>(tree.tailMap(other, false).values()), new ArrayList<>(view.tailMap(other, false).values()));
+        assertEquals(new ArrayList<>(tree.descendingMap().values()), new ArrayList<>(view.descendingMap().values()));
+        assertEquals(new ArrayList<>(tree.descendingMap().headMap(other, true).values()), new ArrayList<>(view.descendingMap().headMap(other, true).values()));
+        assertEquals(tree.descendingMap().higherKey(key).getArrayIndex(), view.descendingMap().higherKey(key).getArrayIndex());
+        assertEquals(tree.subMap(key, true, other, true).size(), view.subMap(key, true, other, true).size());
+    }
+
+    @Test
+    public void viewsShowLaterChanges() {
+        TwoWayMap<NameID, String> dense = new DenseTwoWayMap<>(NamesWrapper.NameIdentifier::new);
+        dense.add("first");
+        var values = dense.getValues();
+        var indexes = dense.getIndexToValueMap();
+        var valueToIndex = dense.getValueToIndexMap();
+        dense.add("second");
+        assertEquals(List.of("first", "second"), new ArrayList<>(values));
+        assertEquals(2, indexes.size());
+        assertEquals(1, valueToIndex.get("second").getArrayIndex());
+    }
+
+    @Test
+    public void sizeCountsOnlyStoredValues() {
+        TwoWayMap<NameID, String> dense = new DenseTwoWayMap<>(NamesWrapper.NameIdentifier::new);
+        dense.add("moved");
+        dense.add("kept");
+        // Putting a value at a new position leaves its old position empty.
+        dense.put(new NamesWrapper.NameIdentifier(5), "moved");
+        assertEquals(2, dense.size());
+        assertEquals(List.of("kept", "moved"), new ArrayList<>(dense.getValues()));
+        assertEquals(List.of(1, 5), dense.getIndexes().stream().map(Index::getArrayIndex).toList());
+
+        dense.reorganize(Comparator.naturalOrder());
+        assertEquals(2, dense.size());
+        assertEquals(List.of("kept", "moved"), new ArrayList<>(dense.getValues()));
+        assertEquals(1, dense.get("moved").getArrayIndex());
+    }
+}
@@ -0,0 +1,82 @@
+package pie.ilikepiefoo.kubejsoffline.core.util;
+
+import org.junit.jupiter.api.Test;
+import pie.ilikepiefoo.kubejsoffline.core.api.DocumentationStage;
+import pie.ilikepiefoo.kubejsoffline.core.impl.SimpleDocumentationProvider;
+import pie.ilikepiefoo.kubejsoffline.testclasses.AClass;
+import pie.ilikepiefoo.kubejsoffline.testclasses.FirstClass;
+import pie.ilikepiefoo.kubejsoffline.testclasses.ZClass;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ClassWatchdogTest {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    @Test
+    public void classesAreNeverSkippedByDefault() {
+        assertEquals(0, new SimpleDocumentationProvider.Builder().build().getClassTimeLimitMillis());
+    }
+
+    @Test
+    public void slowClassIsReportedAndNormalClassIsUntouched() throws IOException {
+        ClassWatchdog.INSTANCE.enable(50, Set.of(), null);
+        try {
+            try (var ignored = ClassWatchdog.INSTANCE.watch(AClass.class, DocumentationStage.INDEXING)) {
+                // A normal class finishes long before the limit.
+                ClassWatchdog.INSTANCE.checkpoint();
+            }
+            assertThrows(ClassTimeoutException.class, () -> {
+                try (var ignored = ClassWatchdog.INSTANCE.watch(ZClass.class, DocumentationStage.INDEXING)) {
+                    long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                    while (System.nanoTime() < end) {
+                        work(TimeUnit.MILLISECONDS.toNanos(5));
+                        ClassWatchdog.INSTANCE.checkpoint();
+                    }
+                }
+            });
+        } finally {
+            ClassWatchdog.INSTANCE.disable();
+        }
+        assertEquals(1, ClassWatchdog.INSTANCE.getFailedClassCount());
+        assertTrue(ClassWatchdog.INSTANCE.isSkipped(ZClass.class), "The slow class was not skipped");
+        assertFalse(ClassWatchdog.INSTANCE.isSkipped(AClass.class), "The normal class was skipped");
+
+        File report = new File("build/class-watchdog-test.slow-classes.txt");
+        ClassWatchdog.INSTANCE.writeReport(report);
+        assertTrue(Files.readAllLines(report.toPath()).contains(ZClass.class.getName()), "The slow class is not in the report");
+    }
+
+    @Test
+    public void idleClassIsNotSkipped() {
+        ClassWatchdog.INSTANCE.enable(50, Set.of(), null);
+        try {
+            try (var ignored = ClassWatchdog.INSTANCE.watch(FirstClass.class, DocumentationStage.REGISTRATION)) {
+                // Waiting uses no CPU time, so it does not count towards the limit.
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(300));
+                ClassWatchdog.INSTANCE.checkpoint();
+            }
+        } finally {
+            ClassWatchdog.INSTANCE.disable();
+        }
+        assertFalse(ClassWatchdog.INSTANCE.isSkipped(FirstClass.class), "A class was skipped for time it spent waiting");
+    }
+
+    private static void work(long cpuNanos) {
+        long end = THREADS.getCurrentThreadCpuTime() + cpuNanos;
+        while (THREADS.getCurrentThreadCpuTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+}
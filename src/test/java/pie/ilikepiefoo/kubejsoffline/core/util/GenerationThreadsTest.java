@@ -0,0 +1,48 @@
+package pie.ilikepiefoo.kubejsoffline.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GenerationThreadsTest {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final long WORK_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    @Test
+    public void workersAreMeasuredAfterTheyExit() throws InterruptedException {
+        long start = GenerationThreads.getCpuTime();
+        ForkJoinPool pool = DocumentationPool.create(2);
+        pool.submit(GenerationThreadsTest::work).join();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS), "The pool did not shut down");
+        // Worker threads are still finishing up shortly after the pool reports termination.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (GenerationThreads.getCpuTime() - start < WORK_NANOS && System.nanoTime() < deadline) {
+            // Parked, as the calling thread is measured as well.
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        assertTrue(GenerationThreads.getCpuTime() - start >= WORK_NANOS, "The work of an exited worker was lost");
+    }
+
+    @Test
+    public void otherThreadsAreNotMeasured() throws InterruptedException {
+        long start = GenerationThreads.getCpuTime();
+        Thread other = new Thread(GenerationThreadsTest::work);
+        other.start();
+        other.join();
+        assertTrue(GenerationThreads.getCpuTime() - start < WORK_NANOS / 2, "The work of an unrelated thread was measured");
+    }
+
+    private static void work() {
+        long end = THREADS.getCurrentThreadCpuTime() + WORK_NANOS;
+        while (THREADS.getCurrentThreadCpuTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+}
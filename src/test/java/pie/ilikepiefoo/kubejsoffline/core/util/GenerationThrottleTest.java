@@ -0,0 +1,79 @@
+package pie.ilikepiefoo.kubejsoffline.core.util;
+
+import org.junit.jupiter.api.Test;
+import pie.ilikepiefoo.kubejsoffline.DocumentationTestFixtures;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GenerationThrottleTest {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    @Test
+    public void throttledOutputMatchesUnthrottledOutput() {
+        File unthrottled = DocumentationTestFixtures.generateSampleDocumentation(new File("build/unthrottled-output.html"));
+        File throttled = DocumentationTestFixtures.generateSampleDocumentation(new File("build/throttled-output.html"), (builder) -> builder
+                .setThrottleWorkMillis(5)
+                .setThrottlePeriodMillis(10));
+        assertEquals(DocumentationTestFixtures.readConstant(unthrottled, "DATA"), DocumentationTestFixtures.readConstant(throttled, "DATA"));
+    }
+
+    @Test
+    public void idleTimeIsNotCharged() {
+        GenerationThrottle throttle = new GenerationThrottle();
+        throttle.enable(5, 200, null);
+        try {
+            throttle.checkpoint();
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(300));
+            assertTrue(timeCheckpoint(throttle) < TimeUnit.MILLISECONDS.toNanos(50), "A checkpoint after an idle gap paused");
+        } finally {
+            throttle.disable();
+        }
+    }
+
+    @Test
+    public void budgetIsSharedByAllThreads() throws InterruptedException {
+        GenerationThrottle throttle = new GenerationThrottle();
+        throttle.enable(2, 1000, null);
+        try {
+            // Each thread stays within the budget on its own, but not together.
+            long first = workOnThread(throttle);
+            long second = workOnThread(throttle);
+            assertTrue(first < TimeUnit.MILLISECONDS.toNanos(50), "The first thread paused within the budget");
+            assertTrue(second >= TimeUnit.MILLISECONDS.toNanos(100), "The second thread did not pause once the shared budget was used up");
+        } finally {
+            throttle.disable();
+        }
+    }
+
+    private static long workOnThread(GenerationThrottle throttle) throws InterruptedException {
+        long[] pause = new long[1];
+        Thread thread = new Thread(() -> {
+            throttle.checkpoint();
+            work(TimeUnit.MICROSECONDS.toNanos(1200));
+            pause[0] = timeCheckpoint(throttle);
+        });
+        thread.start();
+        thread.join();
+        return pause[0];
+    }
+
+    private static long timeCheckpoint(GenerationThrottle throttle) {
+        long start = System.nanoTime();
+        throttle.checkpoint();
+        return System.nanoTime() - start;
+    }
+
+    private static void work(long cpuNanos) {
+        long end = THREADS.getCurrentThreadCpuTime() + cpuNanos;
+        while (THREADS.getCurrentThreadCpuTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package pie.ilikepiefoo.kubejsoffline.core.util;
+
+import org.junit.jupiter.api.Test;
+import pie.ilikepiefoo.kubejsoffline.DocumentationTestFixtures;
+import pie.ilikepiefoo.kubejsoffline.core.impl.SimpleDocumentationProvider;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class HeapGuardTest {
+
+    @Test
+    public void guardIsOffByDefault() {
+        assertEquals(0.0, new SimpleDocumentationProvider.Builder().build().getHeapPressureThreshold());
+    }
+
+    @Test
+    public void invalidThresholdLeavesNothingEnabled() {
+        assertThrows(IllegalArgumentException.class, () -> DocumentationTestFixtures.generateSampleDocumentation(new File("build/invalid-threshold-output.html"), (builder) -> builder
+                .setThrottleWorkMillis(5)
+                .setThrottlePeriodMillis(10)
+                .setHeapPressureThreshold(1.5)));
+        assertFalse(GenerationThrottle.INSTANCE.isEnabled(), "The throttle stayed enabled after generation failed to start");
+    }
+}
@@ -0,0 +1,96 @@
+package pie.ilikepiefoo.kubejsoffline.core.util.json;
+
+import org.junit.jupiter.api.Test;
+import pie.ilikepiefoo.kubejsoffline.DocumentationTestFixtures;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BlockDeflaterTest {
+
+    @Test
+    public void blocksInflateToTheWrittenBytes() throws IOException {
+        byte[] input = new byte[10_000];
+        Random random = new Random(42);
+        for (int i = 0; i < input.length; i++) {
+            // Few distinct values, so the blocks actually compress.
+            input[i] = (byte) ('a' + random.nextInt(8));
+        }
+        StringWriter page = new StringWriter();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            BlockDeflater deflater = new BlockDeflater(page, pool, 4, 1024);
+            // Uneven writes, so some of them span several blocks.
+            for (int offset = 0; offset < input.length; offset += 777) {
+                deflater.write(input, offset, Math.min(777, input.length - offset));
+            }
+            deflater.finish();
+            assertEquals(input[0], (byte) deflater.getFirstByte());
+            assertEquals(input.length, deflater.getUncompressedBytes());
+            assertEquals(page.toString().length(), deflater.getCompressedBytes());
+        } finally {
+            pool.shutdown();
+        }
+        String[] blocks = page.toString().split(",");
+        assertEquals(10, blocks.length);
+        assertTrue(Arrays.equals(input, inflate(blocks)), "Inflated blocks differ from the written bytes");
+    }
+
+    @Test
+    public void nothingWrittenWritesNoBlocks() throws IOException {
+        StringWriter page = new StringWriter();
+        BlockDeflater deflater = new BlockDeflater(page, Runnable::run, 1);
+        deflater.finish();
+        assertEquals("", page.toString());
+        assertEquals(-1, deflater.getFirstByte());
+    }
+
+    @Test
+    public void compressedPageInflatesToTheDefaultPage() {
+        File plain = DocumentationTestFixtures.generateSampleDocumentation(new File("build/uncompressed-output.html"));
+        File compressed = DocumentationTestFixtures.generateSampleDocumentation(new File("build/compressed-output.html"), (builder) -> builder.setCompressedOutput(true));
+        String constant = DocumentationTestFixtures.readConstant(compressed, "DATA");
+        String prefix = "inflateConstant([";
+        assertTrue(constant.startsWith(prefix), "DATA is not compressed: " + constant.substring(0, Math.min(40, constant.length())));
+        String blocks = constant.substring(prefix.length(), constant.lastIndexOf("], "));
+        String inflated = new String(inflate(blocks.split(",")), StandardCharsets.UTF_8);
+        assertEquals(DocumentationTestFixtures.readConstant(plain, "DATA"), inflated);
+    }
+
+    private static byte[] inflate(String[] blocks) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        for (String block : blocks) {
+            assertTrue(block.startsWith("\"") && block.endsWith("\""), "Block is not a quoted string: " + block);
+            Inflater inflater = new Inflater();
+            try {
+                // Every block is a complete zlib stream on its own.
+                inflater.setInput(Base64.getDecoder().decode(block.substring(1, block.length() - 1)));
+                while (!inflater.finished()) {
+                    int length = inflater.inflate(buffer);
+                    if (length == 0 && inflater.needsInput()) {
+                        throw new AssertionError("Block ended before its zlib stream did: " + block);
+                    }
+                    output.write(buffer, 0, length);
+                }
+            } catch (final DataFormatException e) {
+                throw new AssertionError("Block is not a zlib stream: " + block, e);
+            } finally {
+                inflater.end();
+            }
+        }
+        return output.toByteArray();
+    }
+}